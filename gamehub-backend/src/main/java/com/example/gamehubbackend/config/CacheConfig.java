@@ -1,22 +1,98 @@
 package com.example.gamehubbackend.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Configuration
+@EnableConfigurationProperties(CacheSpecProperties.class)
 public class CacheConfig {
 
+    // Caches used by the application; they are always registered, even without explicit settings
+    private static final List<String> CACHE_NAMES = List.of("games", "gameDetail", "gameDetailMissing", "userIdentities");
+    private static final long DEFAULT_MAXIMUM_SIZE = 1000;
+    private static final CacheSpecProperties.Spec EMPTY_SPEC = new CacheSpecProperties.Spec(null, null, null, null, null, null);
+
     /**
      * Configure the CacheManager bean.
+     * Every cache is a bounded Caffeine cache whose size/weight limit, TTLs and statistics
+     * are taken from the "gamehub.cache.caches[name].*" properties.
      *
-     * @return a CacheManager instance configured with "games" and "gameDetail" caches
+     * @param properties  the per-cache settings
+     * @param cacheLoader loader used by caches that refresh their entries after write
+     * @return a CacheManager instance configured with "games", "gameDetail", "gameDetailMissing" and "userIdentities" caches
      */
     @Bean
-    public CacheManager cacheManager() {
-        // ConcurrentMapCacheManager provides a simple in-memory cache implementation.
-        // This setup will create and manage caches named "games" and "gameDetail".
-        return new ConcurrentMapCacheManager("games", "gameDetail");
+    public CacheManager cacheManager(CacheSpecProperties properties, ObjectProvider<CacheLoader<Object, Object>> cacheLoader) {
+        long defaultMaximumSize = properties.defaultMaximumSize() != null ? properties.defaultMaximumSize() : DEFAULT_MAXIMUM_SIZE;
+
+        // Caches that are requested but not configured fall back to a size-bounded default
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(defaultMaximumSize)
+                .recordStats());
+
+        Map<String, CacheSpecProperties.Spec> specs = new HashMap<>();
+        CACHE_NAMES.forEach(name -> specs.put(name, EMPTY_SPEC));
+        if (properties.caches() != null) {
+            specs.putAll(properties.caches());
+        }
+
+        specs.forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, buildCache(name, spec, defaultMaximumSize, cacheLoader)));
+
+        return cacheManager;
+    }
+
+    /**
+     * Build a single Caffeine cache from its spec.
+     *
+     * @param name               the cache name, used for error messages
+     * @param spec               the cache settings
+     * @param defaultMaximumSize size limit used when the spec has neither a size nor a weight limit
+     * @param cacheLoader        loader used when refresh-after-write is configured
+     * @return the configured Caffeine cache
+     */
+    private Cache<Object, Object> buildCache(String name, CacheSpecProperties.Spec spec, long defaultMaximumSize,
+                                             ObjectProvider<CacheLoader<Object, Object>> cacheLoader) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+
+        // Weight bound takes precedence over the entry count bound
+        if (spec.maximumWeight() != null) {
+            builder = builder.maximumWeight(spec.maximumWeight()).weigher(new CacheEntryWeigher());
+        } else {
+            builder = builder.maximumSize(spec.maximumSize() != null ? spec.maximumSize() : defaultMaximumSize);
+        }
+
+        if (spec.expireAfterWrite() != null) {
+            builder = builder.expireAfterWrite(spec.expireAfterWrite());
+        }
+        if (spec.expireAfterAccess() != null) {
+            builder = builder.expireAfterAccess(spec.expireAfterAccess());
+        }
+        if (!Boolean.FALSE.equals(spec.recordStats())) {
+            builder = builder.recordStats();
+        }
+
+        if (spec.refreshAfterWrite() != null) {
+            // Caffeine can only refresh entries it knows how to load
+            CacheLoader<Object, Object> loader = cacheLoader.getIfAvailable();
+            if (loader == null) {
+                throw new IllegalStateException("Cache '" + name + "' has refresh-after-write configured but no CacheLoader is available");
+            }
+            return builder.refreshAfterWrite(spec.refreshAfterWrite()).build(loader);
+        }
+
+        return builder.build();
     }
-}
\ No newline at end of file
+}
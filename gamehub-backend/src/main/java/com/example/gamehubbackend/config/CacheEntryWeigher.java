@@ -0,0 +1,23 @@
+package com.example.gamehubbackend.config;
+
+import com.example.gamehubbackend.models.rawg.RawgGameDetail;
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+/**
+ * Estimates the weight of a cache entry so weight-bounded caches evict by payload size
+ * instead of entry count. A list weighs one unit per game, a detail one unit per KB of description.
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    @Override
+    public int weigh(Object key, Object value) {
+        if (value instanceof RawgGameList list && list.games() != null) {
+            return 1 + list.games().size();
+        }
+        if (value instanceof RawgGameDetail detail && detail.description() != null) {
+            return 1 + detail.description().length() / 1024;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.gamehubbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-cache settings for the Caffeine cache tier, bound from "gamehub.cache.*".
+ *
+ * @param defaultMaximumSize size limit for caches that have no explicit spec
+ * @param caches             cache name to spec, e.g. gamehub.cache.caches[games].maximum-weight=20000
+ */
+@ConfigurationProperties(prefix = "gamehub.cache")
+public record CacheSpecProperties(
+        Long defaultMaximumSize,
+        Map<String, Spec> caches
+) {
+
+    /**
+     * Settings of a single cache.
+     * Either maximumSize (entry count) or maximumWeight (estimated payload weight) bounds the cache;
+     * the time based settings are optional and can be combined with either bound.
+     *
+     * @param maximumSize       maximum number of entries
+     * @param maximumWeight     maximum summed weight of all entries, see CacheEntryWeigher
+     * @param expireAfterWrite  entries are removed this long after they were written (hard TTL)
+     * @param expireAfterAccess entries are removed this long after their last read
+     * @param refreshAfterWrite entries are reloaded in the background this long after they were written (soft TTL)
+     * @param recordStats       whether hit/miss/eviction statistics are recorded (defaults to true)
+     */
+    public record Spec(
+            Long maximumSize,
+            Long maximumWeight,
+            Duration expireAfterWrite,
+            Duration expireAfterAccess,
+            Duration refreshAfterWrite,
+            Boolean recordStats
+    ) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.gamehubbackend.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IdProperties.class)
+public class IdConfig {
+}
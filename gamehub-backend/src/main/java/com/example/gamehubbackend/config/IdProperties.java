@@ -0,0 +1,36 @@
+package com.example.gamehubbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the IDs generated for new documents, bound from "gamehub.id.*".
+ *
+ * @param strategy how IDs are generated, see Strategy
+ */
+@ConfigurationProperties(prefix = "gamehub.id")
+public record IdProperties(
+        @DefaultValue("random") Strategy strategy
+) {
+
+    /**
+     * Available ID strategies. Existing documents keep their IDs, so the strategy can be changed at any time.
+     */
+    public enum Strategy {
+        /**
+         * Random UUIDs (version 4). New _ids land anywhere in the _id index, so inserts touch pages
+         * all over it once it no longer fits in the cache.
+         */
+        RANDOM,
+        /**
+         * Time-ordered UUIDs (version 7): a millisecond timestamp, a counter and 62 random bits.
+         * New _ids are appended to the right edge of the _id index.
+         */
+        UUID_V7,
+        /**
+         * MongoDB ObjectIds, 12 bytes with a second timestamp, stored as ObjectId rather than as a string.
+         * Smaller than UUIDs; they sort after all string IDs, so older documents come first in _id order.
+         */
+        OBJECT_ID
+    }
+}
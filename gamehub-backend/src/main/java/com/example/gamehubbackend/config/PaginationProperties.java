@@ -0,0 +1,17 @@
+package com.example.gamehubbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Page sizes of the cursor paginated listings, bound from "gamehub.pagination.*".
+ *
+ * @param defaultPageSize page size when the request does not ask for one
+ * @param maxPageSize     larger requested page sizes are capped to this
+ */
+@ConfigurationProperties(prefix = "gamehub.pagination")
+public record PaginationProperties(
+        @DefaultValue("20") int defaultPageSize,
+        @DefaultValue("100") int maxPageSize
+) {
+}
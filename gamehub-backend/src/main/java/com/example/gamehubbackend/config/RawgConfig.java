@@ -0,0 +1,233 @@
+package com.example.gamehubbackend.config;
+
+import com.example.gamehubbackend.services.rawg.RawgRateLimiter;
+import com.example.gamehubbackend.services.rawg.RawgResponseStore;
+import com.example.gamehubbackend.services.rawg.RawgUsageService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRateLimiterMetrics;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties({RawgHttpProperties.class, RawgResilienceProperties.class, RawgRateLimitProperties.class})
+public class RawgConfig {
+
+    /**
+     * Configure the persistent RAWG response store.
+     * The file is opened lazily on first use, a disabled store never touches the disk.
+     *
+     * @param enabled   whether responses are persisted at all
+     * @param path      location of the append-only cache file
+     * @param maxSize   file size that triggers a compaction
+     * @param retention records older than this are dropped on compaction
+     * @return the RawgResponseStore instance
+     */
+    @Bean(destroyMethod = "close")
+    public RawgResponseStore rawgResponseStore(
+            @Value("${rawg.disk-cache.enabled:false}") boolean enabled,
+            @Value("${rawg.disk-cache.path:data/rawg-cache.log}") Path path,
+            @Value("${rawg.disk-cache.max-size:64MB}") DataSize maxSize,
+            @Value("${rawg.disk-cache.retention:7d}") Duration retention) {
+        return new RawgResponseStore(path, maxSize.toBytes(), retention, enabled, Clock.systemUTC());
+    }
+
+    /**
+     * Configure the RestClient used for all RAWG calls.
+     *
+     * @param basicUrl           the RAWG base URL
+     * @param properties         the HTTP client settings
+     * @param rawgRequestFactory the underlying HTTP client
+     * @return the RestClient instance
+     */
+    @Bean
+    public RestClient rawgRestClient(@Value("${basic.url}") String basicUrl,
+                                     RawgHttpProperties properties,
+                                     ClientHttpRequestFactory rawgRequestFactory) {
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl(basicUrl)  // Sets the base URL for the REST client
+                .requestFactory(rawgRequestFactory);
+
+        // Apache HttpClient negotiates and decodes compression itself
+        if (properties.compression() && properties.client() == RawgHttpProperties.Client.JDK) {
+            builder.requestInterceptor(new GzipDecodingInterceptor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Configure the HTTP client used for RAWG calls, see RawgHttpProperties.Client.
+     * The Apache connection pool is exposed as httpcomponents.httpclient.pool.* metrics tagged httpclient=rawg.
+     *
+     * @param properties    the HTTP client settings
+     * @param meterRegistry the registry for the connection pool metrics
+     * @return the request factory, closed with the application context
+     */
+    @Bean
+    public ClientHttpRequestFactory rawgRequestFactory(RawgHttpProperties properties, MeterRegistry meterRegistry) {
+        return switch (properties.client()) {
+            case APACHE -> apacheRequestFactory(properties, meterRegistry);
+            case JDK -> jdkRequestFactory(properties);
+        };
+    }
+
+    /**
+     * Configure the circuit breaker around RAWG calls.
+     * Only failures of RAWG itself count (I/O errors and timeouts, 5xx, 429); a 404 for an unknown game does not.
+     * The state is exposed as resilience4j.circuitbreaker.* metrics tagged name=rawg.
+     *
+     * @param properties    the circuit breaker settings
+     * @param meterRegistry the registry for the circuit breaker metrics
+     * @return the CircuitBreaker instance
+     */
+    @Bean
+    public CircuitBreaker rawgCircuitBreaker(RawgResilienceProperties properties, MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.failureRateThreshold())
+                .slowCallRateThreshold(properties.slowCallRateThreshold())
+                .slowCallDurationThreshold(properties.slowCallDurationThreshold())
+                .slidingWindowSize(properties.slidingWindowSize())
+                .minimumNumberOfCalls(properties.minimumNumberOfCalls())
+                .waitDurationInOpenState(properties.waitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.permittedCallsInHalfOpenState())
+                .recordException(RawgConfig::isRawgFailure)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker("rawg");
+    }
+
+    /**
+     * Configure the bulkhead limiting concurrent RAWG calls, so a slow RAWG cannot block every servlet thread.
+     * Exposed as resilience4j.bulkhead.* metrics tagged name=rawg.
+     *
+     * @param properties    the bulkhead settings
+     * @param meterRegistry the registry for the bulkhead metrics
+     * @return the Bulkhead instance
+     */
+    @Bean
+    public Bulkhead rawgBulkhead(RawgResilienceProperties properties, MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.maxConcurrentCalls())
+                .maxWaitDuration(properties.maxWaitDuration())
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead("rawg");
+    }
+
+    /**
+     * Configure the client side rate limiter for the RAWG API key.
+     * The remaining budgets are exposed as resilience4j.ratelimiter.available.permissions
+     * tagged name=rawg-per-second and name=rawg-per-day.
+     * The calls are counted in MongoDB, the daily budget starts without the calls of the last 24 hours.
+     *
+     * @param properties    the per-second and per-day budgets
+     * @param meterRegistry the registry for the rate limiter metrics
+     * @param usageService  the persistent count of RAWG calls
+     * @return the RawgRateLimiter instance
+     */
+    @Bean
+    public RawgRateLimiter rawgRateLimiter(RawgRateLimitProperties properties, MeterRegistry meterRegistry,
+                                           RawgUsageService usageService) {
+        RateLimiterRegistry registry = RateLimiterRegistry.ofDefaults();
+        TaggedRateLimiterMetrics.ofRateLimiterRegistry(registry).bindTo(meterRegistry);
+
+        return new RawgRateLimiter(
+                registry.rateLimiter("rawg-per-second", RateLimiterConfig.custom()
+                        .limitForPeriod(properties.perSecond())
+                        .limitRefreshPeriod(Duration.ofSeconds(1))
+                        .timeoutDuration(properties.maxWait())
+                        .build()),
+                registry.rateLimiter("rawg-per-day", RateLimiterConfig.custom()
+                        .limitForPeriod(properties.perDay())
+                        .limitRefreshPeriod(Duration.ofDays(1))
+                        .timeoutDuration(Duration.ZERO)
+                        .build()),
+                usageService);
+    }
+
+    /**
+     * Whether an exception is a failure of RAWG, as opposed to a regular client error such as an unknown game.
+     */
+    static boolean isRawgFailure(Throwable e) {
+        return e instanceof ResourceAccessException
+                || e instanceof HttpServerErrorException
+                || e instanceof HttpClientErrorException.TooManyRequests;
+    }
+
+    private HttpComponentsClientHttpRequestFactory apacheRequestFactory(RawgHttpProperties properties, MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.maxConnections())
+                .setMaxConnPerRoute(properties.maxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(properties.connectTimeout()))
+                        .setSocketTimeout(timeout(properties.responseTimeout()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(properties.connectionTimeToLive().toMillis()))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "rawg").bindTo(meterRegistry);
+
+        HttpClientBuilder httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(properties.connectionRequestTimeout()))
+                        .setResponseTimeout(timeout(properties.responseTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.idleTimeout().toMillis()));
+
+        if (!properties.compression()) {
+            httpClient.disableContentCompression();
+        }
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient.build());
+    }
+
+    private JdkClientHttpRequestFactory jdkRequestFactory(RawgHttpProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)  // Falls back to HTTP/1.1 if the server does not support it
+                .connectTimeout(properties.connectTimeout())
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.responseTimeout());
+        return requestFactory;
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.gamehubbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the HTTP client used for RAWG calls, bound from "rawg.http.*".
+ *
+ * @param client                   the client implementation, see Client
+ * @param maxConnections           maximum number of pooled connections (apache only)
+ * @param maxConnectionsPerRoute   maximum number of pooled connections to one host (apache only)
+ * @param connectTimeout           timeout for establishing a connection
+ * @param connectionRequestTimeout timeout for leasing a connection from the pool (apache only)
+ * @param responseTimeout          timeout for waiting on response data
+ * @param idleTimeout              pooled connections idle for longer are closed (apache only)
+ * @param connectionTimeToLive     pooled connections are never reused after this age (apache only)
+ * @param compression              whether compressed responses are requested and decoded transparently
+ */
+@ConfigurationProperties(prefix = "rawg.http")
+public record RawgHttpProperties(
+        @DefaultValue("apache") Client client,
+        @DefaultValue("20") int maxConnections,
+        @DefaultValue("20") int maxConnectionsPerRoute,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("1s") Duration connectionRequestTimeout,
+        @DefaultValue("10s") Duration responseTimeout,
+        @DefaultValue("30s") Duration idleTimeout,
+        @DefaultValue("5m") Duration connectionTimeToLive,
+        @DefaultValue("true") boolean compression
+) {
+
+    /**
+     * Available client implementations.
+     */
+    public enum Client {
+        /**
+         * Apache HttpClient 5 over HTTP/1.1 with keep-alive: pooled connections with pool metrics,
+         * gzip/deflate decoding and brotli decoding (org.brotli:dec is on the classpath).
+         */
+        APACHE,
+        /**
+         * The JDK HttpClient preferring HTTP/2, which multiplexes all requests over one connection per host;
+         * gzip decoding is done by GzipDecodingInterceptor.
+         */
+        JDK
+    }
+}
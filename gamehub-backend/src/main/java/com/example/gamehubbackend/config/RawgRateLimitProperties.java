@@ -0,0 +1,22 @@
+package com.example.gamehubbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Client side budgets of the RAWG API key, bound from "rawg.rate-limit.*".
+ *
+ * @param perSecond requests per second
+ * @param perDay    requests per day, counted in 24 hour periods from startup that start without the calls
+ *                  of the last 24 hours, see RawgUsageService
+ * @param maxWait   how long a request waits for the per-second budget before it is rejected
+ */
+@ConfigurationProperties(prefix = "rawg.rate-limit")
+public record RawgRateLimitProperties(
+        @DefaultValue("10") int perSecond,
+        @DefaultValue("20000") int perDay,
+        @DefaultValue("2s") Duration maxWait
+) {
+}
@@ -0,0 +1,33 @@
+package com.example.gamehubbackend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the circuit breaker and bulkhead around RAWG calls, bound from "rawg.resilience.*".
+ *
+ * @param failureRateThreshold           failure rate in percent that opens the circuit
+ * @param slowCallRateThreshold          rate of slow calls in percent that opens the circuit
+ * @param slowCallDurationThreshold      calls taking longer count as slow
+ * @param slidingWindowSize              number of recent calls the rates are computed over
+ * @param minimumNumberOfCalls           calls needed before the rates are evaluated at all
+ * @param waitDurationInOpenState        how long the circuit stays open before probing RAWG again
+ * @param permittedCallsInHalfOpenState  number of probe calls while half-open
+ * @param maxConcurrentCalls             RAWG calls running at the same time
+ * @param maxWaitDuration                how long further calls wait for a free slot before being rejected
+ */
+@ConfigurationProperties(prefix = "rawg.resilience")
+public record RawgResilienceProperties(
+        @DefaultValue("50") float failureRateThreshold,
+        @DefaultValue("80") float slowCallRateThreshold,
+        @DefaultValue("5s") Duration slowCallDurationThreshold,
+        @DefaultValue("20") int slidingWindowSize,
+        @DefaultValue("10") int minimumNumberOfCalls,
+        @DefaultValue("30s") Duration waitDurationInOpenState,
+        @DefaultValue("3") int permittedCallsInHalfOpenState,
+        @DefaultValue("10") int maxConcurrentCalls,
+        @DefaultValue("500ms") Duration maxWaitDuration
+) {
+}
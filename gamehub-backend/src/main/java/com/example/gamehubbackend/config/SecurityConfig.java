@@ -2,12 +2,12 @@ package com.example.gamehubbackend.config;
 
 import com.example.gamehubbackend.exceptions.UserNotFoundException;
 import com.example.gamehubbackend.dto.UserDTO;
-import com.example.gamehubbackend.models.UserResponse;
 import com.example.gamehubbackend.services.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -51,6 +51,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(a -> a
                         .requestMatchers("/api/games/**").authenticated()  // Require authentication for game-related endpoints
                         .requestMatchers("/api/auth/me").authenticated()  // Require authentication for user info endpoint
+                        .requestMatchers("/api/export/**").authenticated()  // Exports only contain the caller's own data
+                        .requestMatchers(HttpMethod.POST, "/api/notes/import", "/api/reviews/import").authenticated()  // Imports are stored as the caller's
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()  // Health checks stay open for the platform probes
+                        .requestMatchers("/actuator/**").authenticated()  // Metrics and caches (which can also be cleared) need a login
                         .anyRequest().permitAll()  // Allow all other requests without authentication
                 )
                 .httpBasic(httpSecurityHttpBasicConfigurer ->
@@ -74,12 +78,12 @@ public class SecurityConfig {
 
         return request -> {
             OAuth2User user = delegate.loadUser(request);  // Load user details from the OAuth2 provider
-            UserResponse gitHubUser;
+            String role;
             try {
-                gitHubUser = userService.getUserByGitHubId(user.getName());  // Fetch existing user from database
+                role = userService.getIdentityByGitHubId(user.getName()).role();  // Fetch the existing user's role from the database
             } catch (UserNotFoundException e) {
                 // If user not found, create and save a new user
-                gitHubUser = userService.saveUser(new UserDTO(
+                role = userService.saveUser(new UserDTO(
                         user.getAttributes().get("login").toString(),
                         "",
                         user.getName(),
@@ -88,12 +92,12 @@ public class SecurityConfig {
                         new ArrayList<>(),
                         LocalDateTime.now(),
                         LocalDateTime.now()
-                ));
+                )).role();
             }
 
             // Create and return a DefaultOAuth2User with user attributes and authorities
             return new DefaultOAuth2User(List.of(
-                    new SimpleGrantedAuthority(gitHubUser.role())),  // Set user role authority
+                    new SimpleGrantedAuthority(role)),  // Set user role authority
                     user.getAttributes(),
                     "id"  // Key attribute for user principal
             );
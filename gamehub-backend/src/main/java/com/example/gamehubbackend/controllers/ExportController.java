@@ -0,0 +1,112 @@
+package com.example.gamehubbackend.controllers;
+
+import com.example.gamehubbackend.services.ExportService;
+import com.example.gamehubbackend.services.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.AccessDeniedException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk exports as newline-delimited JSON, streamed to the client while they are read from the database.
+ * Only for logged-in users, and each export only contains the caller's own documents.
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportService exportService;
+    private final UserService userService;
+
+    /**
+     * Export the caller's notes.
+     *
+     * @param userId the caller's ID, optional; the ID of another user is rejected
+     * @param gameId only notes on this game
+     * @param gzip   whether to compress the response (Content-Encoding: gzip)
+     * @return one note per line
+     * @throws AccessDeniedException if userId is not the caller's
+     */
+    @GetMapping("/notes")
+    public ResponseEntity<StreamingResponseBody> exportNotes(@RequestParam(required = false) String userId,
+                                                             @RequestParam(required = false) String gameId,
+                                                             @RequestParam(defaultValue = "false") boolean gzip) throws AccessDeniedException {
+        String ownerId = ownUserId(userId);
+        return ndjson("notes", gzip, out -> exportService.exportNotes(ownerId, gameId, out));
+    }
+
+    /**
+     * Export the caller's reviews.
+     *
+     * @param userId the caller's ID, optional; the ID of another user is rejected
+     * @param gameId only reviews of this game
+     * @param gzip   whether to compress the response (Content-Encoding: gzip)
+     * @return one review per line
+     * @throws AccessDeniedException if userId is not the caller's
+     */
+    @GetMapping("/reviews")
+    public ResponseEntity<StreamingResponseBody> exportReviews(@RequestParam(required = false) String userId,
+                                                               @RequestParam(required = false) String gameId,
+                                                               @RequestParam(defaultValue = "false") boolean gzip) throws AccessDeniedException {
+        String ownerId = ownUserId(userId);
+        return ndjson("reviews", gzip, out -> exportService.exportReviews(ownerId, gameId, out));
+    }
+
+    /**
+     * Export the caller's game library entries.
+     *
+     * @param userId the caller's ID, optional; the ID of another user is rejected
+     * @param gameId only entries of this game
+     * @param gzip   whether to compress the response (Content-Encoding: gzip)
+     * @return one library entry per line
+     * @throws AccessDeniedException if userId is not the caller's
+     */
+    @GetMapping("/library")
+    public ResponseEntity<StreamingResponseBody> exportLibraries(@RequestParam(required = false) String userId,
+                                                                 @RequestParam(required = false) String gameId,
+                                                                 @RequestParam(defaultValue = "false") boolean gzip) throws AccessDeniedException {
+        String ownerId = ownUserId(userId);
+        return ndjson("library", gzip, out -> exportService.exportLibraries(ownerId, gameId, out));
+    }
+
+    /**
+     * The ID of the logged-in user, resolved on the request thread: the export itself is written
+     * later, on an async thread without the security context.
+     */
+    private String ownUserId(String userId) throws AccessDeniedException {
+        String currentUserId = userService.getCurrentIdentity().id();
+        if (userId != null && !userId.equals(currentUserId)) {
+            throw new AccessDeniedException("Only your own data can be exported.");
+        }
+        return currentUserId;
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ndjson(String name, boolean gzip, StreamingResponseBody export) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(name + ".ndjson").build().toString());
+        if (!gzip) {
+            return response.body(export);
+        }
+
+        return response
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                    export.writeTo(compressed);
+                    compressed.finish();
+                });
+    }
+}
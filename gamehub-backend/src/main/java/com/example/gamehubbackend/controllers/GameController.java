@@ -1,9 +1,11 @@
 package com.example.gamehubbackend.controllers;
 
+import com.example.gamehubbackend.dto.CursorPage;
 import com.example.gamehubbackend.models.Game;
 import com.example.gamehubbackend.models.rawg.RawgGameDetail;
 import com.example.gamehubbackend.models.rawg.RawgGameList;
 import com.example.gamehubbackend.services.GameService;
+import com.example.gamehubbackend.services.rawg.RawgPrefetcher;
 import com.example.gamehubbackend.services.rawg.RawgService;
 import lombok.RequiredArgsConstructor;
 import com.example.gamehubbackend.dto.GameDTO;
@@ -19,6 +21,7 @@ public class GameController {
 
     private final GameService gameService;
     private final RawgService rawgService;
+    private final RawgPrefetcher rawgPrefetcher;
 
     /**
      * Retrieve a list of all games from the database.
@@ -30,6 +33,19 @@ public class GameController {
         return gameService.getAllGames();
     }
 
+    /**
+     * Retrieve a page of games from the database.
+     *
+     * @param cursor the nextCursor of the previous page, omitted for the first page
+     * @param size   the page size, capped at the configured maximum
+     * @return the games of the page and the cursor of the next one
+     */
+    @GetMapping("/page")
+    public CursorPage<Game> getGamesPage(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
+        return gameService.getGamesPage(cursor, size);
+    }
+
     /**
      * Retrieve a specific game by its ID.
      *
@@ -89,7 +105,10 @@ public class GameController {
     public RawgGameList loadAllGames(
             @RequestParam(required = false) String page,
             @RequestParam(required = false) String search) {
-        return rawgService.loadAllGames(page, search);
+        RawgGameList games = rawgService.loadAllGames(page, search);
+        // Warm the cache for the next page, most users page forward
+        rawgPrefetcher.pageServed(page, search, games);
+        return games;
     }
 
     /**
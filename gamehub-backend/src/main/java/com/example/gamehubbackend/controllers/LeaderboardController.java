@@ -0,0 +1,44 @@
+package com.example.gamehubbackend.controllers;
+
+import com.example.gamehubbackend.dto.Leaderboard;
+import com.example.gamehubbackend.dto.LeaderboardWindow;
+import com.example.gamehubbackend.services.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/leaderboards")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;  // In-memory leaderboards fed by review writes
+
+    /**
+     * Get the games with the best average rating.
+     *
+     * @param window 24h, 7d (default) or all
+     * @param limit  the number of games, capped at the configured board size
+     * @return the board, best first
+     */
+    @GetMapping("/top-rated")
+    public Leaderboard getTopRated(@RequestParam(required = false) String window,
+                                   @RequestParam(required = false) Integer limit) {
+        return leaderboardService.topRated(LeaderboardWindow.of(window), limit);
+    }
+
+    /**
+     * Get the games with the most reviews.
+     *
+     * @param window 24h, 7d (default) or all
+     * @param limit  the number of games, capped at the configured board size
+     * @return the board, most reviewed first
+     */
+    @GetMapping("/most-reviewed")
+    public Leaderboard getMostReviewed(@RequestParam(required = false) String window,
+                                       @RequestParam(required = false) Integer limit) {
+        return leaderboardService.mostReviewed(LeaderboardWindow.of(window), limit);
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.gamehubbackend.controllers;
 
+import com.example.gamehubbackend.dto.CursorPage;
+import com.example.gamehubbackend.dto.ImportReport;
 import com.example.gamehubbackend.models.Note;
 import com.example.gamehubbackend.dto.NoteDTO;
 import com.example.gamehubbackend.services.NoteService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 
@@ -27,6 +32,23 @@ public class NoteController {
         return noteService.getAllNotes();
     }
 
+    /**
+     * Get a page of notes, optionally only those of one user or game.
+     *
+     * @param userId only notes of this user
+     * @param gameId only notes on this game
+     * @param cursor the nextCursor of the previous page, omitted for the first page
+     * @param size   the page size, capped at the configured maximum
+     * @return the notes of the page and the cursor of the next one
+     */
+    @GetMapping("/page")
+    public CursorPage<Note> getNotesPage(@RequestParam(required = false) String userId,
+                                         @RequestParam(required = false) String gameId,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
+        return noteService.getNotesPage(userId, gameId, cursor, size);
+    }
+
     /**
      * Get a note by its ID.
      *
@@ -49,6 +71,18 @@ public class NoteController {
         return noteService.getNoteByUser(id);
     }
 
+    /**
+     * Import many notes of the logged-in user at once, e.g. from another tracker.
+     * Notes with the userId of someone else are reported as failed.
+     *
+     * @param body the notes as a JSON array or newline-delimited JSON, read while they are stored
+     * @return the result of every note, with the IDs of the stored ones
+     */
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ImportReport importNotes(InputStream body) throws IOException {
+        return noteService.importNotes(body);
+    }
+
     /**
      * Create a new note.
      *
@@ -1,12 +1,19 @@
 package com.example.gamehubbackend.controllers;
 
+import com.example.gamehubbackend.dto.CursorPage;
+import com.example.gamehubbackend.dto.ImportReport;
+import com.example.gamehubbackend.models.GameRatingStats;
 import com.example.gamehubbackend.models.Review;
 import com.example.gamehubbackend.dto.ReviewDTO;
+import com.example.gamehubbackend.services.GameRatingStatsService;
 import com.example.gamehubbackend.services.ReviewService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 
@@ -16,6 +23,7 @@ import java.util.List;
 public class ReviewController {
 
     private final ReviewService reviewService;  // Service for handling review operations
+    private final GameRatingStatsService ratingStatsService;  // Per-game rating aggregates
 
     /**
      * Get all reviews.
@@ -27,6 +35,23 @@ public class ReviewController {
         return reviewService.getAllReviews();
     }
 
+    /**
+     * Get a page of reviews, optionally only those of one user or game.
+     *
+     * @param userId only reviews by this user
+     * @param gameId only reviews of this game
+     * @param cursor the nextCursor of the previous page, omitted for the first page
+     * @param size   the page size, capped at the configured maximum
+     * @return the reviews of the page and the cursor of the next one
+     */
+    @GetMapping("/page")
+    public CursorPage<Review> getReviewsPage(@RequestParam(required = false) String userId,
+                                             @RequestParam(required = false) String gameId,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size) {
+        return reviewService.getReviewsPage(userId, gameId, cursor, size);
+    }
+
     /**
      * Get reviews by game ID.
      *
@@ -38,6 +63,17 @@ public class ReviewController {
         return reviewService.getReviewsByGameId(gameId);
     }
 
+    /**
+     * Get the rating stats of a game: review count, average rating, rating histogram and last review date.
+     *
+     * @param gameId the ID of the game
+     * @return the stats, with a count of 0 if the game has no reviews
+     */
+    @GetMapping("/stats/{gameId}")
+    public GameRatingStats getRatingStats(@PathVariable String gameId) {
+        return ratingStatsService.getStats(gameId);
+    }
+
     /**
      * Get reviews by user ID.
      *
@@ -49,6 +85,18 @@ public class ReviewController {
         return reviewService.getReviewsByUserId(userId);
     }
 
+    /**
+     * Import many reviews of the logged-in user at once, e.g. from another tracker.
+     * Reviews with the userId of someone else are reported as failed.
+     *
+     * @param body the reviews as a JSON array or newline-delimited JSON, read while they are stored
+     * @return the result of every review, with the IDs of the stored ones
+     */
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ImportReport importReviews(InputStream body) throws IOException {
+        return reviewService.importReviews(body);
+    }
+
     /**
      * Add a new review.
      *
@@ -1,8 +1,13 @@
 package com.example.gamehubbackend.controllers;
 
 import com.example.gamehubbackend.dto.AddGameDTO;
+import com.example.gamehubbackend.dto.CursorPage;
+import com.example.gamehubbackend.dto.LibraryGameDTO;
+import com.example.gamehubbackend.dto.LibraryPage;
+import com.example.gamehubbackend.dto.LibraryView;
 import com.example.gamehubbackend.dto.UserDTO;
 import com.example.gamehubbackend.models.UserResponse;
+import com.example.gamehubbackend.services.LibraryService;
 import com.example.gamehubbackend.services.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,37 +21,86 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;  // Service for handling user operations
+    private final LibraryService libraryService;  // Service for reading user game libraries
 
     /**
      * Retrieve a list of all users.
      *
+     * @param library how much of the libraries to include: full (default), summary (only the size) or none
      * @return a list of User objects
      */
     @GetMapping
-    public List<UserResponse> getAllUsers() {
-        return userService.getAllUser();
+    public List<UserResponse> getAllUsers(@RequestParam(required = false) String library) {
+        return userService.getAllUser(LibraryView.of(library));
+    }
+
+    /**
+     * Retrieve a page of users.
+     *
+     * @param cursor  the nextCursor of the previous page, omitted for the first page
+     * @param size    the page size, capped at the configured maximum
+     * @param library how much of the libraries to include: full (default), summary (only the size) or none
+     * @return the users of the page and the cursor of the next one
+     */
+    @GetMapping("/page")
+    public CursorPage<UserResponse> getUsersPage(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer size,
+                                                 @RequestParam(required = false) String library) {
+        return userService.getUsersPage(cursor, size, LibraryView.of(library));
     }
 
     /**
      * Retrieve a specific user by their ID.
      *
      * @param id the ID of the user
+     * @param library how much of the library to include: full (default), summary (only the size) or none
      * @return the User object with the specified ID
      */
     @GetMapping("/{id}")
-    public UserResponse getUserById(@PathVariable String id) {
-        return userService.getUserById(id);
+    public UserResponse getUserById(@PathVariable String id, @RequestParam(required = false) String library) {
+        return userService.getUserById(id, LibraryView.of(library));
+    }
+
+    /**
+     * Retrieve a page of a user's game library by page number.
+     *
+     * @param id the ID of the user
+     * @param page the zero-based page number
+     * @param size the page size, capped at the configured maximum
+     * @return the games of the page with the total number of games and pages
+     */
+    @GetMapping("/{id}/library")
+    public LibraryPage getLibraryPage(@PathVariable String id,
+                                      @RequestParam(defaultValue = "0") int page,
+                                      @RequestParam(defaultValue = "20") int size) {
+        return libraryService.getLibraryPage(id, page, size);
+    }
+
+    /**
+     * Retrieve a page of a user's game library after a cursor, for scrolling through large libraries.
+     *
+     * @param id the ID of the user
+     * @param cursor the nextCursor of the previous page, left out for the first page
+     * @param size the page size, capped at the configured maximum
+     * @return the games of the page and the cursor of the next one
+     */
+    @GetMapping("/{id}/library/cursor")
+    public CursorPage<LibraryGameDTO> getLibraryAfter(@PathVariable String id,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "20") int size) {
+        return libraryService.getLibraryAfter(id, cursor, size);
     }
 
     /**
      * Retrieve a user by their GitHub ID.
      *
      * @param gitHubId the GitHub ID of the user
+     * @param library how much of the library to include: full (default), summary (only the size) or none
      * @return the UserResponse object containing user details
      */
     @GetMapping("/g/{gitHubId}")
-    public UserResponse getUserByGitHubId(@PathVariable String gitHubId) {
-        return userService.getUserByGitHubId(gitHubId);
+    public UserResponse getUserByGitHubId(@PathVariable String gitHubId, @RequestParam(required = false) String library) {
+        return userService.getUserByGitHubId(gitHubId, LibraryView.of(library));
     }
 
     /**
@@ -76,10 +130,10 @@ public class UserController {
      * Add a game to a user's library.
      *
      * @param gameToAdd the AddGameDTO object containing user ID and game details
-     * @return the updated User object with the game added
+     * @return the game as stored in the library
      */
     @PutMapping("/addGame")
-    public UserResponse addGameToLibrary(@RequestBody AddGameDTO gameToAdd) {
+    public LibraryGameDTO addGameToLibrary(@RequestBody AddGameDTO gameToAdd) {
         return userService.addGameToLibrary(gameToAdd.userId(), gameToAdd.game());
     }
 
@@ -87,11 +141,13 @@ public class UserController {
      * Remove a game from a user's library.
      *
      * @param gameToDelete the AddGameDTO object containing user ID and game details
-     * @return the updated User object with the game removed
+     * @return the removed game as it was stored in the library, or no content and 204 if it was not in it
      */
     @PutMapping("/deleteGame")
-    public UserResponse deleteGameFromLibrary(@RequestBody AddGameDTO gameToDelete) {
-        return userService.removeGameFromLibrary(gameToDelete.userId(), gameToDelete.game());
+    public ResponseEntity<LibraryGameDTO> deleteGameFromLibrary(@RequestBody AddGameDTO gameToDelete) {
+        return userService.removeGameFromLibrary(gameToDelete.userId(), gameToDelete.game())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
     }
 
     /**
@@ -0,0 +1,8 @@
+package com.example.gamehubbackend.dto;
+
+public record CatalogSyncResult(
+        String mode,
+        int pages,
+        int games,
+        boolean completed
+) {}
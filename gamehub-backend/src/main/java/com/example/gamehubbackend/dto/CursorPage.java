@@ -0,0 +1,8 @@
+package com.example.gamehubbackend.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor  // Opaque, passed back to get the next page; null on the last page
+) {}
@@ -0,0 +1,21 @@
+package com.example.gamehubbackend.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * @param imported The number of stored records.
+ * @param failed   The number of rejected records.
+ * @param results  One result per record, in the order of the import.
+ */
+public record ImportReport(
+        int imported,
+        int failed,
+        List<ImportResult> results
+) {
+    public static ImportReport of(List<ImportResult> results) {
+        int imported = (int) results.stream().filter(ImportResult::succeeded).count();
+        return new ImportReport(imported, results.size() - imported, results);
+    }
+}
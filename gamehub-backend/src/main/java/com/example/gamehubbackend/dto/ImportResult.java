@@ -0,0 +1,29 @@
+package com.example.gamehubbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one imported record.
+ *
+ * @param index The zero-based position of the record in the import.
+ * @param id    The ID the record was stored under, null if it failed.
+ * @param error Why the record failed, null if it was stored.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportResult(
+        int index,
+        String id,
+        String error
+) {
+    public static ImportResult imported(int index, String id) {
+        return new ImportResult(index, id, null);
+    }
+
+    public static ImportResult failed(int index, String error) {
+        return new ImportResult(index, null, error);
+    }
+
+    public boolean succeeded() {
+        return error == null;
+    }
+}
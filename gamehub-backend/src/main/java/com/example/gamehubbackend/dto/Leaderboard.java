@@ -0,0 +1,16 @@
+package com.example.gamehubbackend.dto;
+
+import java.util.List;
+
+/**
+ * A ranked list of games.
+ *
+ * @param board  "top-rated" or "most-reviewed".
+ * @param window The time window, see LeaderboardWindow.
+ * @param games  The games, best first.
+ */
+public record Leaderboard(
+        String board,
+        String window,
+        List<LeaderboardEntry> games
+) {}
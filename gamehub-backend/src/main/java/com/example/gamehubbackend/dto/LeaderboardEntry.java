@@ -0,0 +1,16 @@
+package com.example.gamehubbackend.dto;
+
+/**
+ * A game on a leaderboard.
+ *
+ * @param gameId     The game's ID.
+ * @param gameTitle  The game title of its latest review.
+ * @param reviews    The number of reviews in the window.
+ * @param meanRating The average rating of those reviews.
+ */
+public record LeaderboardEntry(
+        String gameId,
+        String gameTitle,
+        long reviews,
+        double meanRating
+) {}
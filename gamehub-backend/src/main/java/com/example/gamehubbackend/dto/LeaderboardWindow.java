@@ -0,0 +1,51 @@
+package com.example.gamehubbackend.dto;
+
+import com.example.gamehubbackend.exceptions.InvalidRequestException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Time window of a leaderboard. Review dates are days, so windows are whole UTC days ending today.
+ */
+public enum LeaderboardWindow {
+    DAY("24h", 1),  // Reviews dated today
+    WEEK("7d", 7),  // Reviews dated within the last 7 days
+    ALL_TIME("all", 0);  // All reviews
+
+    private final String value;
+    private final int days;
+
+    LeaderboardWindow(String value, int days) {
+        this.value = value;
+        this.days = days;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    /**
+     * The number of days the window covers, 0 for all time.
+     */
+    public int days() {
+        return days;
+    }
+
+    /**
+     * Parse the value of a "window" request parameter.
+     *
+     * @param value 24h, 7d or all; null means 7d
+     * @return the matching window
+     */
+    public static LeaderboardWindow of(String value) {
+        if (value == null || value.isBlank()) {
+            return WEEK;
+        }
+        return Arrays.stream(values())
+                .filter(window -> window.value.equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestException("Unknown leaderboard window: " + value + ", expected "
+                        + Arrays.stream(values()).map(LeaderboardWindow::value).collect(Collectors.joining(", "))));
+    }
+}
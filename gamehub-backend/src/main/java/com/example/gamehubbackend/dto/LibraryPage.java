@@ -0,0 +1,11 @@
+package com.example.gamehubbackend.dto;
+
+import java.util.List;
+
+public record LibraryPage(
+        List<LibraryGameDTO> games,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages
+) {}
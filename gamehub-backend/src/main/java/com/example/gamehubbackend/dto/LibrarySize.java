@@ -0,0 +1,6 @@
+package com.example.gamehubbackend.dto;
+
+public record LibrarySize(
+        String id,  // User ID
+        long count
+) {}
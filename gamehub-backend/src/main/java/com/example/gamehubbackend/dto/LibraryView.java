@@ -0,0 +1,31 @@
+package com.example.gamehubbackend.dto;
+
+import com.example.gamehubbackend.exceptions.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * How much of a user's game library a UserResponse carries.
+ */
+public enum LibraryView {
+    FULL,  // The whole library and its size
+    SUMMARY,  // Only the size of the library
+    NONE;  // Neither
+
+    /**
+     * Parse the value of a "library" request parameter, case-insensitive.
+     *
+     * @param value full, summary or none; null means full
+     * @return the matching view
+     */
+    public static LibraryView of(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Unknown library view: " + value + ", expected full, summary or none");
+        }
+    }
+}
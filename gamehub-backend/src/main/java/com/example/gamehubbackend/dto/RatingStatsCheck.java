@@ -0,0 +1,18 @@
+package com.example.gamehubbackend.dto;
+
+import java.util.List;
+
+/**
+ * Result of comparing the stored game rating stats against the reviews.
+ *
+ * @param checkedGames      The number of games with reviews or stored stats.
+ * @param mismatchedGameIds The games whose stored stats differ from their reviews.
+ */
+public record RatingStatsCheck(
+        int checkedGames,
+        List<String> mismatchedGameIds
+) {
+    public boolean consistent() {
+        return mismatchedGameIds.isEmpty();
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
 
 @RestControllerAdvice  // Global exception handler for all controllers
@@ -77,4 +78,55 @@ public class GlobalExceptionHandler {
                 HttpStatus.NOT_FOUND.value()  // 404 status code
         );
     }
+
+    /**
+     * Handles RawgUnavailableException.
+     * Returns a custom error message with a 503 Service Unavailable status.
+     *
+     * @param e the thrown RawgUnavailableException
+     * @return CustomErrorMessage with details about the error
+     */
+    @ExceptionHandler(RawgUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)  // Respond with 503 status
+    public CustomErrorMessage handleRawgUnavailableException(RawgUnavailableException e) {
+        return new CustomErrorMessage(
+                e.getMessage(),  // Error message from the exception
+                LocalDateTime.now(),  // Current timestamp
+                HttpStatus.SERVICE_UNAVAILABLE.value()  // 503 status code
+        );
+    }
+
+    /**
+     * Handles InvalidRequestException.
+     * Returns a custom error message with a 400 Bad Request status.
+     *
+     * @param e the thrown InvalidRequestException
+     * @return CustomErrorMessage with details about the error
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)  // Respond with 400 status
+    public CustomErrorMessage handleInvalidRequestException(InvalidRequestException e) {
+        return new CustomErrorMessage(
+                e.getMessage(),  // Error message from the exception
+                LocalDateTime.now(),  // Current timestamp
+                HttpStatus.BAD_REQUEST.value()  // 400 status code
+        );
+    }
+
+    /**
+     * Handles AccessDeniedException, thrown when a user changes a note or review of someone else.
+     * Returns a custom error message with a 403 Forbidden status.
+     *
+     * @param e the thrown AccessDeniedException
+     * @return CustomErrorMessage with details about the error
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)  // Respond with 403 status
+    public CustomErrorMessage handleAccessDeniedException(AccessDeniedException e) {
+        return new CustomErrorMessage(
+                e.getMessage(),  // Error message from the exception
+                LocalDateTime.now(),  // Current timestamp
+                HttpStatus.FORBIDDEN.value()  // 403 status code
+        );
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.gamehubbackend.exceptions;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.gamehubbackend.exceptions;
+
+public class RawgUnavailableException extends RuntimeException {
+    public RawgUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.gamehubbackend.models;
+
+import com.example.gamehubbackend.models.rawg.RawgGameDetail;
+import lombok.With;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@With
+@Document("catalog")
+// Pages are listed in RAWG's order
+@CompoundIndex(name = "rank_id", def = "{ 'rank': 1, '_id': 1 }")
+public record CatalogGame(
+        String id,  // RAWG game ID
+        String title,
+        List<String> genre,
+        String releaseDate,
+        List<String> platforms,
+        String coverImage,
+        int rank,  // Position in RAWG's default ordering at the last full sync
+        String updated,  // RAWG's last update timestamp of the game
+        RawgGameDetail detail,  // Stored on first detail fetch, cleared when the game is updated
+        LocalDateTime syncedAt
+) {}
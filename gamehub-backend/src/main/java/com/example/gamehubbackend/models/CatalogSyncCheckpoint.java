@@ -0,0 +1,16 @@
+package com.example.gamehubbackend.models;
+
+import lombok.With;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@With
+@Document("catalogSync")
+public record CatalogSyncCheckpoint(
+        String id,  // Sync mode, "full" or "recent"
+        int nextPage,  // First page not stored yet, 1 when no run is in progress
+        String updatedFrom,  // Lower bound of the RAWG "updated" filter of the running recent sync
+        LocalDateTime completedAt,  // When the last run of this mode finished
+        Integer rankedGames  // Games ranked by the last completed full sync, the total of the mirrored listing
+) {}
@@ -0,0 +1,31 @@
+package com.example.gamehubbackend.models;
+
+import lombok.With;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Map;
+
+/**
+ * Review aggregates of one game, kept up to date on every review write.
+ */
+@With
+@Document("gameRatingStats")
+public record GameRatingStats(
+        String id,  // The game ID
+        long count,  // Number of reviews
+        double sum,  // Sum of the ratings
+        double mean,  // Average rating, 0 without reviews
+        Map<String, Long> histogram,  // Reviews per rating in half stars: key "9" counts the 4.5 ratings
+        String lastReviewDate  // Latest review date, ISO yyyy-MM-dd like Review.date
+) {
+    public static GameRatingStats empty(String gameId) {
+        return new GameRatingStats(gameId, 0, 0, 0, Map.of(), null);
+    }
+
+    /**
+     * The histogram key of a rating, the rating in half stars rounded half up.
+     */
+    public static String bucket(double rating) {
+        return String.valueOf((long) Math.floor(rating * 2 + 0.5));
+    }
+}
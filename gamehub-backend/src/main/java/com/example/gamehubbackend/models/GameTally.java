@@ -0,0 +1,11 @@
+package com.example.gamehubbackend.models;
+
+/**
+ * Review count and rating sum of a game within one leaderboard bucket.
+ */
+public record GameTally(
+        String gameId,
+        String gameTitle,
+        long count,
+        double sum
+) {}
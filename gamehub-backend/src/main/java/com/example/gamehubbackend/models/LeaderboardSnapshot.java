@@ -0,0 +1,14 @@
+package com.example.gamehubbackend.models;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * Saved state of one leaderboard bucket, so the in-memory leaderboards survive restarts.
+ */
+@Document("leaderboardSnapshots")
+public record LeaderboardSnapshot(
+        String id,  // "all" for all time, otherwise the review date of the bucket (yyyy-MM-dd)
+        List<GameTally> games
+) {}
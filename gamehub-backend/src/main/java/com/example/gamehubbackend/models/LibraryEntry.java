@@ -0,0 +1,22 @@
+package com.example.gamehubbackend.models;
+
+import lombok.With;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@With
+@Document("library")
+@CompoundIndex(name = "user_game", def = "{ 'userId': 1, 'gameId': 1 }", unique = true)
+@CompoundIndex(name = "user_added", def = "{ 'userId': 1, 'addedAt': 1, '_id': 1 }")
+public record LibraryEntry(
+        String id,
+        String userId,
+        String gameId,  // RAWG game ID, unique per user
+        String title,
+        List<String> platforms,
+        String coverImage,
+        LocalDateTime addedAt  // Libraries are listed in the order the games were added
+) {}
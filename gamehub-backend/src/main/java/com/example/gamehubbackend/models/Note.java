@@ -1,12 +1,16 @@
 package com.example.gamehubbackend.models;
 
 import lombok.With;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @With
 @Document("notes")
+// The listings filter by user or game and page in _id order
+@CompoundIndex(name = "user_id", def = "{ 'userId': 1, '_id': 1 }")
+@CompoundIndex(name = "game_id", def = "{ 'gameId': 1, '_id': 1 }")
 public record Note(
         String id,
         String gameTitle,
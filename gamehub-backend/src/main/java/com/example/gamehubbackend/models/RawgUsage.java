@@ -0,0 +1,12 @@
+package com.example.gamehubbackend.models;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * RAWG calls made in one hour, so the daily budget of the API key survives restarts.
+ */
+@Document("rawgUsage")
+public record RawgUsage(
+        String id,  // UTC hour of the calls, yyyy-MM-dd'T'HH, so IDs sort by time
+        long calls  // RAWG calls counted in that hour
+) {}
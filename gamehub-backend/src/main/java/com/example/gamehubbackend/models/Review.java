@@ -1,10 +1,17 @@
 package com.example.gamehubbackend.models;
 
 import lombok.With;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @With
 @Document("reviews")
+// The listings filter by user or game and page in _id order
+@CompoundIndex(name = "user_id", def = "{ 'userId': 1, '_id': 1 }")
+@CompoundIndex(name = "game_id", def = "{ 'gameId': 1, '_id': 1 }")
+// Latest review of a game, for the rating stats
+@CompoundIndex(name = "game_date", def = "{ 'gameId': 1, 'date': -1 }")
 public record Review(
         String id,
         String gameTitle,
@@ -13,5 +20,5 @@ public record Review(
         String username,
         double rating,
         String content,
-        String date
+        @Indexed(name = "date") String date  // Leaderboard buckets are read by date
 ) {}
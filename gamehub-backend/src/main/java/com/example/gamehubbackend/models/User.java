@@ -2,6 +2,7 @@ package com.example.gamehubbackend.models;
 
 import com.example.gamehubbackend.dto.LibraryGameDTO;
 import lombok.With;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -11,12 +12,12 @@ import java.util.List;
 @Document("users")
 public record User(
    String id,
-   String username,
+   @Indexed(name = "username", unique = true) String username,
    String password,
-   String gitHubId,
+   @Indexed(name = "gitHubId", unique = true, sparse = true) String gitHubId,  // Only GitHub users have one
    String avatarUrl,
    String role,
-   List<LibraryGameDTO> gameLibrary,
+   List<LibraryGameDTO> gameLibrary,  // Only in users not yet migrated, libraries live in the library collection
    LocalDateTime creationDate,
    LocalDateTime lastUpdateDate
 ) {}
@@ -0,0 +1,10 @@
+package com.example.gamehubbackend.models;
+
+/**
+ * The part of a user that authorization needs, read as a projection of the users collection
+ * so neither the password hash nor a legacy embedded library is loaded.
+ */
+public record UserIdentity(
+        String id,
+        String role
+) {}
@@ -1,6 +1,7 @@
 package com.example.gamehubbackend.models;
 
 import com.example.gamehubbackend.dto.LibraryGameDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.With;
 
 import java.util.List;
@@ -12,6 +13,13 @@ public record UserResponse(
         String username,
         String avatarUrl,
         String role,
-        List<LibraryGameDTO> gameLibrary
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<LibraryGameDTO> gameLibrary,  // Left out unless the full library was asked for
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long librarySize  // Left out if the library was not asked for
 ) {
+    /**
+     * A response with the full library.
+     */
+    public UserResponse(String id, String githubId, String username, String avatarUrl, String role, List<LibraryGameDTO> gameLibrary) {
+        this(id, githubId, username, avatarUrl, role, gameLibrary, gameLibrary != null ? (long) gameLibrary.size() : null);
+    }
 }
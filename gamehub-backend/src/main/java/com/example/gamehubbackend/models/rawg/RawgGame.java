@@ -8,6 +8,7 @@ public record RawgGame(
         String released,
         String background_image,
         List<RawgGenre> genres,
-        List<RawgPlatformWrapper> platforms
+        List<RawgPlatformWrapper> platforms,
+        String updated
 ) {
 }
@@ -0,0 +1,7 @@
+package com.example.gamehubbackend.repositories;
+
+import com.example.gamehubbackend.models.CatalogGame;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface CatalogGameRepository extends MongoRepository<CatalogGame, String> {
+}
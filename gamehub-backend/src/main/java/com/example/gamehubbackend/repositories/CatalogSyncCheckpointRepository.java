@@ -0,0 +1,7 @@
+package com.example.gamehubbackend.repositories;
+
+import com.example.gamehubbackend.models.CatalogSyncCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface CatalogSyncCheckpointRepository extends MongoRepository<CatalogSyncCheckpoint, String> {
+}
@@ -0,0 +1,7 @@
+package com.example.gamehubbackend.repositories;
+
+import com.example.gamehubbackend.models.GameRatingStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface GameRatingStatsRepository extends MongoRepository<GameRatingStats, String> {
+}
@@ -0,0 +1,11 @@
+package com.example.gamehubbackend.repositories;
+
+import com.example.gamehubbackend.models.LeaderboardSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Collection;
+
+public interface LeaderboardSnapshotRepository extends MongoRepository<LeaderboardSnapshot, String> {
+
+    void deleteByIdNotIn(Collection<String> ids);
+}
@@ -0,0 +1,46 @@
+package com.example.gamehubbackend.repositories;
+
+import com.example.gamehubbackend.dto.LibrarySize;
+import com.example.gamehubbackend.models.LibraryEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface LibraryRepository extends MongoRepository<LibraryEntry, String> {
+
+    Page<LibraryEntry> findByUserId(String userId, Pageable pageable);
+    List<LibraryEntry> findByUserIdOrderByAddedAtAscIdAsc(String userId);
+    List<LibraryEntry> findByUserIdInOrderByAddedAtAscIdAsc(Collection<String> userIds);
+    long countByUserId(String userId);
+    long deleteByUserId(String userId);
+
+    /**
+     * Library sizes of the given users; users with an empty library are missing.
+     *
+     * @param userIds the user IDs
+     * @return one size per user with at least one game
+     */
+    @Aggregation(pipeline = {
+            "{ $match: { userId: { $in: ?0 } } }",
+            "{ $group: { _id: '$userId', count: { $sum: 1 } } }"
+    })
+    List<LibrarySize> countByUserIds(Collection<String> userIds);
+
+    /**
+     * IDs of the games that appear in the most user libraries, most libraried first.
+     *
+     * @param limit the maximum number of IDs
+     * @return the game IDs
+     */
+    @Aggregation(pipeline = {
+            "{ $group: { _id: '$gameId', count: { $sum: 1 } } }",
+            "{ $sort: { count: -1, _id: 1 } }",
+            "{ $limit: ?0 }",
+            "{ $project: { _id: 0, gameId: '$_id' } }"
+    })
+    List<String> findMostLibrariedGameIds(int limit);
+}
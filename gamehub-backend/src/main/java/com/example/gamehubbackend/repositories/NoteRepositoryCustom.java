@@ -0,0 +1,32 @@
+package com.example.gamehubbackend.repositories;
+
+import com.example.gamehubbackend.dto.NoteDTO;
+import com.example.gamehubbackend.models.Note;
+
+import java.util.Optional;
+
+/**
+ * Ownership-checked writes of notes, implemented in NoteRepositoryImpl.
+ * Each matches on both the note id and the owner's user id, so the check and the write are a single database call.
+ */
+public interface NoteRepositoryCustom {
+
+    /**
+     * Update a note if it belongs to the given user.
+     *
+     * @param id      the note's ID
+     * @param ownerId the ID of the user who must own the note
+     * @param note    the new note details
+     * @return the updated note, empty if there is no such note or it belongs to someone else
+     */
+    Optional<Note> updateIfOwner(String id, String ownerId, NoteDTO note);
+
+    /**
+     * Delete a note if it belongs to the given user.
+     *
+     * @param id      the note's ID
+     * @param ownerId the ID of the user who must own the note
+     * @return whether the note was deleted
+     */
+    boolean deleteIfOwner(String id, String ownerId);
+}
@@ -0,0 +1,44 @@
+package com.example.gamehubbackend.repositories;
+
+import com.example.gamehubbackend.dto.NoteDTO;
+import com.example.gamehubbackend.models.Note;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class NoteRepositoryImpl implements NoteRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Note> updateIfOwner(String id, String ownerId, NoteDTO note) {
+        Update update = new Update()
+                .set("gameTitle", note.gameTitle())
+                .set("userId", note.userId())
+                .set("gameId", note.gameId())
+                .set("title", note.title())
+                .set("content", note.content())
+                .set("category", note.category())
+                .set("created", note.created())
+                .set("updated", LocalDateTime.now());  // Update the last modified timestamp to now
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(ownedBy(id, ownerId), update,
+                FindAndModifyOptions.options().returnNew(true), Note.class));
+    }
+
+    @Override
+    public boolean deleteIfOwner(String id, String ownerId) {
+        return mongoTemplate.remove(ownedBy(id, ownerId), Note.class).getDeletedCount() > 0;
+    }
+
+    private static Query ownedBy(String id, String ownerId) {
+        return Query.query(Criteria.where("_id").is(id).and("userId").is(ownerId));
+    }
+}
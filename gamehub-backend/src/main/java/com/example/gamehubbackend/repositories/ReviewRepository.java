@@ -1,13 +1,67 @@
 package com.example.gamehubbackend.repositories;
 
+import com.example.gamehubbackend.models.GameRatingStats;
+import com.example.gamehubbackend.models.GameTally;
+import com.example.gamehubbackend.models.LeaderboardSnapshot;
 import com.example.gamehubbackend.models.Review;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface ReviewRepository extends MongoRepository<Review, String> {
+public interface ReviewRepository extends MongoRepository<Review, String>, ReviewRepositoryCustom {
+
+    /**
+     * Stages computing GameRatingStats from the reviews: first per game and half-star bucket, then per game.
+     */
+    String MATCH_REVIEWED_GAMES = "{ $match: { gameId: { $ne: null } } }";
+    String GROUP_BY_GAME_AND_BUCKET = "{ $group: { "
+            + "_id: { gameId: '$gameId', bucket: { $toString: { $toLong: { $floor: { $add: [ { $multiply: [ '$rating', 2 ] }, 0.5 ] } } } } }, "
+            + "count: { $sum: 1 }, sum: { $sum: '$rating' }, lastReviewDate: { $max: '$date' } } }";
+    String GROUP_BY_GAME = "{ $group: { _id: '$_id.gameId', count: { $sum: '$count' }, sum: { $sum: '$sum' }, "
+            + "lastReviewDate: { $max: '$lastReviewDate' }, histogram: { $push: { k: '$_id.bucket', v: '$count' } } } }";
+    String SET_MEAN_AND_HISTOGRAM = "{ $set: { mean: { $divide: [ '$sum', '$count' ] }, histogram: { $arrayToObject: '$histogram' } } }";
 
     Optional<List<Review>> findByGameId(String gameId);
     Optional<List<Review>> findByUserId(String userId);
+
+    /**
+     * The review of a game with the latest date.
+     */
+    Optional<Review> findFirstByGameIdAndDateNotNullOrderByDateDesc(String gameId);
+
+    /**
+     * Rating stats of all reviewed games, computed from the reviews.
+     */
+    @Aggregation(pipeline = {MATCH_REVIEWED_GAMES, GROUP_BY_GAME_AND_BUCKET, GROUP_BY_GAME, SET_MEAN_AND_HISTOGRAM})
+    List<GameRatingStats> computeRatingStats();
+
+    /**
+     * Recompute the rating stats of all games and replace the gameRatingStats collection with them.
+     * $out swaps the collection in at the end, readers see the old stats until then.
+     */
+    @Aggregation(pipeline = {MATCH_REVIEWED_GAMES, GROUP_BY_GAME_AND_BUCKET, GROUP_BY_GAME, SET_MEAN_AND_HISTOGRAM,
+            "{ $out: 'gameRatingStats' }"})
+    void rebuildRatingStats();
+
+    /**
+     * Review count and rating sum of every game, for the all-time leaderboards.
+     */
+    @Aggregation(pipeline = {
+            MATCH_REVIEWED_GAMES,
+            "{ $group: { _id: '$gameId', gameTitle: { $last: '$gameTitle' }, count: { $sum: 1 }, sum: { $sum: '$rating' } } }",
+            "{ $project: { _id: 0, gameId: '$_id', gameTitle: 1, count: 1, sum: 1 } }"
+    })
+    List<GameTally> tallyAllTime();
+
+    /**
+     * Review count and rating sum of every game per review date from the given date on, one leaderboard bucket per date.
+     */
+    @Aggregation(pipeline = {
+            "{ $match: { gameId: { $ne: null }, date: { $gte: ?0 } } }",
+            "{ $group: { _id: { date: '$date', gameId: '$gameId' }, gameTitle: { $last: '$gameTitle' }, count: { $sum: 1 }, sum: { $sum: '$rating' } } }",
+            "{ $group: { _id: '$_id.date', games: { $push: { gameId: '$_id.gameId', gameTitle: '$gameTitle', count: '$count', sum: '$sum' } } } }"
+    })
+    List<LeaderboardSnapshot> tallyDaysFrom(String fromDate);
 }
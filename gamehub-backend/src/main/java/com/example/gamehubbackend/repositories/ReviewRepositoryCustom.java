@@ -0,0 +1,29 @@
+package com.example.gamehubbackend.repositories;
+
+import com.example.gamehubbackend.models.Review;
+
+import java.util.Optional;
+
+/**
+ * Single-call writes of reviews, implemented in ReviewRepositoryImpl.
+ * Each returns the document as it was before the write, so callers see exactly what they replaced or removed.
+ */
+public interface ReviewRepositoryCustom {
+
+    /**
+     * Delete a review if it belongs to the given user.
+     *
+     * @param id      the review's ID
+     * @param ownerId the ID of the user who must own the review
+     * @return the deleted review, empty if none was deleted
+     */
+    Optional<Review> deleteIfOwner(String id, String ownerId);
+
+    /**
+     * Replace a stored review in one atomic update.
+     *
+     * @param review the new version of the review, matched by its ID
+     * @return the review as stored before the update, empty if none was replaced
+     */
+    Optional<Review> replace(Review review);
+}
@@ -0,0 +1,29 @@
+package com.example.gamehubbackend.repositories;
+
+import com.example.gamehubbackend.models.Review;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ReviewRepositoryImpl implements ReviewRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Review> deleteIfOwner(String id, String ownerId) {
+        Query query = Query.query(Criteria.where("_id").is(id).and("userId").is(ownerId));
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query, Review.class));
+    }
+
+    @Override
+    public Optional<Review> replace(Review review) {
+        Query query = Query.query(Criteria.where("_id").is(review.id()));
+        // Returns the previous document, read in the same step as the write
+        return Optional.ofNullable(mongoTemplate.findAndReplace(query, review, FindAndReplaceOptions.options()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.gamehubbackend.repositories;
 
 import com.example.gamehubbackend.models.User;
+import com.example.gamehubbackend.models.UserIdentity;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.Optional;
@@ -9,4 +10,8 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     Optional<User> findByGitHubId(String gitHubId);
     Optional<User> findByUsername(String username);
+
+    // Projections reading only _id and role, for ownership checks and logins
+    Optional<UserIdentity> findIdentityByGitHubId(String gitHubId);
+    Optional<UserIdentity> findIdentityByUsername(String username);
 }
@@ -0,0 +1,168 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.dto.ImportReport;
+import com.example.gamehubbackend.dto.ImportResult;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reads records from a JSON array or newline-delimited JSON, validates them and stores them with
+ * unordered bulk inserts of gamehub.import.batch-size documents, one database call per batch.
+ * A failing record does not stop the import; every record gets a result.
+ */
+@Component
+public class BulkImporter {
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public BulkImporter(MongoTemplate mongoTemplate,
+                        ObjectMapper objectMapper,
+                        @Value("${gamehub.import.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import records.
+     *
+     * @param in           The records, as a JSON array or one JSON object per line.
+     * @param recordType   The type to read the records as.
+     * @param validate     Returns why a record is invalid, or null if it is valid.
+     * @param toDocument   Turns a valid record into the document to store, with a new ID.
+     * @param documentType The type of the stored documents.
+     * @param idOf         Reads the ID of a document.
+     * @return One result per record.
+     */
+    public <R, T> ImportReport importRecords(InputStream in,
+                                             Class<R> recordType,
+                                             Function<R, String> validate,
+                                             Function<R, T> toDocument,
+                                             Class<T> documentType,
+                                             Function<T, String> idOf) throws IOException {
+        return importRecords(in, recordType, validate, toDocument, documentType, idOf, stored -> { });
+    }
+
+    /**
+     * Import records and pass the stored documents of every batch on, e.g. to maintain aggregates.
+     *
+     * @param onWritten Called after each batch with the documents it stored.
+     * @see #importRecords(InputStream, Class, Function, Function, Class, Function)
+     */
+    public <R, T> ImportReport importRecords(InputStream in,
+                                             Class<R> recordType,
+                                             Function<R, String> validate,
+                                             Function<R, T> toDocument,
+                                             Class<T> documentType,
+                                             Function<T, String> idOf,
+                                             Consumer<List<T>> onWritten) throws IOException {
+        List<ImportResult> results = new ArrayList<>();
+        Batch<T> batch = new Batch<>();
+
+        try (MappingIterator<R> records = objectMapper.readerFor(recordType).readValues(in)) {
+            while (records.hasNextValue()) {
+                int index = results.size();
+
+                R next;
+                try {
+                    next = records.nextValue();
+                } catch (JsonMappingException e) {
+                    // Well-formed but not a record, the iterator skips to the next one
+                    results.add(ImportResult.failed(index, "Unreadable record: " + e.getOriginalMessage()));
+                    continue;
+                }
+
+                String error = next == null ? "Empty record" : validate.apply(next);
+                if (error != null) {
+                    results.add(ImportResult.failed(index, error));
+                    continue;
+                }
+
+                results.add(null);  // Set once its batch is written
+                batch.add(index, toDocument.apply(next));
+                if (batch.size() == batchSize) {
+                    write(batch, documentType, idOf, onWritten, results);
+                }
+            }
+        } catch (JsonParseException e) {
+            // Broken JSON, the rest of the input cannot be split into records
+            results.add(ImportResult.failed(results.size(), "Malformed JSON: " + e.getOriginalMessage()));
+        }
+        write(batch, documentType, idOf, onWritten, results);
+
+        return ImportReport.of(results);
+    }
+
+    private <T> void write(Batch<T> batch, Class<T> documentType, Function<T, String> idOf, Consumer<List<T>> onWritten,
+                           List<ImportResult> results) {
+        if (batch.size() == 0) {
+            return;
+        }
+
+        List<ImportResult> batchResults = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batchResults.add(ImportResult.imported(batch.indices.get(i), idOf.apply(batch.documents.get(i))));
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, documentType)
+                    .insert(batch.documents)
+                    .execute();
+        } catch (BulkOperationException e) {
+            // Unordered: the other documents of the batch are stored
+            for (BulkWriteError error : e.getErrors()) {
+                batchResults.set(error.getIndex(), ImportResult.failed(batch.indices.get(error.getIndex()), error.getMessage()));
+            }
+        }
+
+        List<T> stored = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            ImportResult result = batchResults.get(i);
+            results.set(result.index(), result);
+            if (result.succeeded()) {
+                stored.add(batch.documents.get(i));
+            }
+        }
+        onWritten.accept(stored);
+        batch.clear();
+    }
+
+    /**
+     * Documents waiting to be written, with their positions in the import.
+     */
+    private static final class Batch<T> {
+
+        private final List<Integer> indices = new ArrayList<>();
+        private final List<T> documents = new ArrayList<>();
+
+        void add(int index, T document) {
+            indices.add(index);
+            documents.add(document);
+        }
+
+        int size() {
+            return documents.size();
+        }
+
+        void clear() {
+            indices.clear();
+            documents.clear();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.models.LibraryEntry;
+import com.example.gamehubbackend.models.Note;
+import com.example.gamehubbackend.models.Review;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Exports of notes, reviews and libraries as newline-delimited JSON, one document per line.
+ * Documents are read from a MongoDB cursor and written as they arrive, so an export holds one cursor
+ * batch in memory however large the collection is.
+ */
+@Service
+public class ExportService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter objectWriter;
+    private final int batchSize;
+
+    public ExportService(MongoTemplate mongoTemplate,
+                         ObjectMapper objectMapper,
+                         @Value("${gamehub.export.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        // The servlet output stream buffers; flushing after every document would send tiny chunks
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Write notes to a stream.
+     *
+     * @param userId Only notes of this user, null for all.
+     * @param gameId Only notes on this game, null for all.
+     * @param out    The stream to write to; it is not closed.
+     * @return The number of exported notes.
+     */
+    public long exportNotes(String userId, String gameId, OutputStream out) throws IOException {
+        return export(filter(userId, gameId), Note.class, out);
+    }
+
+    /**
+     * Write reviews to a stream.
+     *
+     * @param userId Only reviews by this user, null for all.
+     * @param gameId Only reviews of this game, null for all.
+     * @param out    The stream to write to; it is not closed.
+     * @return The number of exported reviews.
+     */
+    public long exportReviews(String userId, String gameId, OutputStream out) throws IOException {
+        return export(filter(userId, gameId), Review.class, out);
+    }
+
+    /**
+     * Write library entries to a stream.
+     *
+     * @param userId Only the library of this user, null for all.
+     * @param gameId Only entries of this game, null for all.
+     * @param out    The stream to write to; it is not closed.
+     * @return The number of exported entries.
+     */
+    public long exportLibraries(String userId, String gameId, OutputStream out) throws IOException {
+        return export(filter(userId, gameId), LibraryEntry.class, out);
+    }
+
+    private <T> long export(Query query, Class<T> type, OutputStream out) throws IOException {
+        query.with(Sort.by("_id")).cursorBatchSize(batchSize);
+
+        long count = 0;
+        try (Stream<T> documents = mongoTemplate.stream(query, type);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);  // Lines are separated below, not by the default space
+            for (T document : (Iterable<T>) documents::iterator) {
+                objectWriter.writeValue(generator, document);
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Query filter(String userId, String gameId) {
+        Query query = new Query();
+        if (userId != null) {
+            query.addCriteria(Criteria.where("userId").is(userId));
+        }
+        if (gameId != null) {
+            query.addCriteria(Criteria.where("gameId").is(gameId));
+        }
+        return query;
+    }
+}
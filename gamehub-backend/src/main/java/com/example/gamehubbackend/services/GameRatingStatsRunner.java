@@ -0,0 +1,42 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.repositories.GameRatingStatsRepository;
+import com.example.gamehubbackend.repositories.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the game rating stats on startup when there are reviews but no stats yet,
+ * i.e. on the first start with stats or after the collection was dropped.
+ */
+@Component
+public class GameRatingStatsRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(GameRatingStatsRunner.class);
+
+    private final GameRatingStatsService ratingStatsService;
+    private final GameRatingStatsRepository statsRepository;
+    private final ReviewRepository reviewRepository;
+    private final boolean buildOnStartup;
+
+    public GameRatingStatsRunner(GameRatingStatsService ratingStatsService,
+                                 GameRatingStatsRepository statsRepository,
+                                 ReviewRepository reviewRepository,
+                                 @Value("${gamehub.rating-stats.build-on-startup:true}") boolean buildOnStartup) {
+        this.ratingStatsService = ratingStatsService;
+        this.statsRepository = statsRepository;
+        this.reviewRepository = reviewRepository;
+        this.buildOnStartup = buildOnStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (buildOnStartup && statsRepository.count() == 0 && reviewRepository.count() > 0) {
+            log.info("Built the rating stats of {} games", ratingStatsService.rebuild());
+        }
+    }
+}
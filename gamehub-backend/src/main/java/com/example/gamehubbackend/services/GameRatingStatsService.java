@@ -0,0 +1,279 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.dto.RatingStatsCheck;
+import com.example.gamehubbackend.models.GameRatingStats;
+import com.example.gamehubbackend.models.Review;
+import com.example.gamehubbackend.repositories.GameRatingStatsRepository;
+import com.example.gamehubbackend.repositories.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-game rating stats (count, sum, mean, histogram, last review date), so reading a game's average rating
+ * does not need its reviews.
+ * <p>
+ * Review writes apply their difference with $inc in one atomic update per game. The mean is set right after
+ * from the updated count and sum, only if no other write came in between; that other write sets it instead.
+ * A full rebuild recomputes everything from the reviews and a checker reports games whose stats drifted.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameRatingStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameRatingStatsService.class);
+    private static final double SUM_TOLERANCE = 1e-6;
+
+    private final GameRatingStatsRepository statsRepository;
+    private final ReviewRepository reviewRepository;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Get the rating stats of a game.
+     *
+     * @param gameId The game's ID.
+     * @return The stats, with a count of 0 if the game has no reviews.
+     */
+    public GameRatingStats getStats(String gameId) {
+        return statsRepository.findById(gameId).orElseGet(() -> GameRatingStats.empty(gameId));
+    }
+
+    /**
+     * Count a new review.
+     *
+     * @param review The stored review.
+     */
+    public void reviewAdded(Review review) {
+        reviewsAdded(List.of(review));
+    }
+
+    /**
+     * Count new reviews, with one update per game.
+     *
+     * @param reviews The stored reviews.
+     */
+    public void reviewsAdded(Collection<Review> reviews) {
+        Map<String, List<Review>> byGame = reviews.stream()
+                .filter(review -> review.gameId() != null)
+                .collect(Collectors.groupingBy(Review::gameId, LinkedHashMap::new, Collectors.toList()));
+
+        byGame.forEach((gameId, gameReviews) -> {
+            Delta delta = new Delta();
+            gameReviews.forEach(delta::add);
+            apply(gameId, delta);
+        });
+    }
+
+    /**
+     * Apply the difference between the old and the new version of an updated review.
+     *
+     * @param before The review before the update.
+     * @param after  The review after the update.
+     */
+    public void reviewChanged(Review before, Review after) {
+        if (Objects.equals(before.gameId(), after.gameId())) {
+            if (before.gameId() == null) {
+                return;
+            }
+            Delta delta = new Delta();
+            delta.remove(before);
+            delta.add(after);
+            apply(after.gameId(), delta);
+            if (!Objects.equals(before.date(), after.date())) {
+                refreshLastReviewDate(after.gameId());
+            }
+            return;
+        }
+
+        // The review moved to another game
+        reviewRemoved(before);
+        reviewAdded(after);
+    }
+
+    /**
+     * Uncount a deleted review.
+     *
+     * @param review The deleted review.
+     */
+    public void reviewRemoved(Review review) {
+        if (review.gameId() == null) {
+            return;
+        }
+        Delta delta = new Delta();
+        delta.remove(review);
+        GameRatingStats updated = apply(review.gameId(), delta);
+        if (updated != null && review.date() != null && review.date().equals(updated.lastReviewDate())) {
+            refreshLastReviewDate(review.gameId());
+        }
+    }
+
+    /**
+     * Recompute the stats of all games from the reviews, replacing the stored ones.
+     * Review writes while the rebuild runs may be lost; run it when writes are rare or run the checker after it.
+     *
+     * @return The number of games with stats.
+     */
+    public long rebuild() {
+        reviewRepository.rebuildRatingStats();
+        return statsRepository.count();
+    }
+
+    /**
+     * Compare the stored stats of every game against its reviews.
+     *
+     * @return The games whose stored stats differ.
+     */
+    public RatingStatsCheck check() {
+        Map<String, GameRatingStats> expected = reviewRepository.computeRatingStats().stream()
+                .collect(Collectors.toMap(GameRatingStats::id, Function.identity()));
+
+        List<String> mismatched = new ArrayList<>();
+        int checked = expected.size();
+        for (GameRatingStats stored : statsRepository.findAll()) {
+            GameRatingStats computed = expected.remove(stored.id());
+            if (computed == null) {
+                checked++;
+                if (stored.count() != 0) {
+                    mismatched.add(stored.id());
+                }
+            } else if (!matches(stored, computed)) {
+                mismatched.add(stored.id());
+            }
+        }
+        mismatched.addAll(expected.keySet());  // Reviewed games without stored stats
+
+        return new RatingStatsCheck(checked, mismatched);
+    }
+
+    /**
+     * Scheduled rebuild, disabled unless gamehub.rating-stats.rebuild-cron is set.
+     */
+    @Scheduled(cron = "${gamehub.rating-stats.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        log.info("Rebuilt the rating stats of {} games", rebuild());
+    }
+
+    /**
+     * Scheduled consistency check, disabled unless gamehub.rating-stats.check-cron is set.
+     */
+    @Scheduled(cron = "${gamehub.rating-stats.check-cron:-}")
+    public void scheduledCheck() {
+        RatingStatsCheck result = check();
+        if (result.consistent()) {
+            log.info("Rating stats of {} games match their reviews", result.checkedGames());
+        } else {
+            log.warn("Rating stats of {} of {} games differ from their reviews, e.g. {}",
+                    result.mismatchedGameIds().size(), result.checkedGames(),
+                    result.mismatchedGameIds().subList(0, Math.min(10, result.mismatchedGameIds().size())));
+        }
+    }
+
+    /**
+     * @return The updated stats, null if the game has no reviews left.
+     */
+    private GameRatingStats apply(String gameId, Delta delta) {
+        Update update = new Update()
+                .inc("count", delta.count)
+                .inc("sum", delta.sum);
+        delta.histogram.forEach((bucket, count) -> {
+            if (count != 0) {
+                update.inc("histogram." + bucket, count);
+            }
+        });
+        if (delta.lastReviewDate != null) {
+            update.max("lastReviewDate", delta.lastReviewDate);
+        }
+
+        GameRatingStats updated = mongoTemplate.findAndModify(byId(gameId), update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), GameRatingStats.class);
+        if (updated == null) {
+            return null;
+        }
+
+        // Only if no other write changed the stats meanwhile, a later write sets the mean from its own result
+        Query unchanged = byId(gameId)
+                .addCriteria(Criteria.where("count").is(updated.count()).and("sum").is(updated.sum()));
+        if (updated.count() <= 0) {
+            mongoTemplate.remove(unchanged, GameRatingStats.class);
+            return null;
+        }
+        mongoTemplate.updateFirst(unchanged, Update.update("mean", updated.sum() / updated.count()), GameRatingStats.class);
+        return updated;
+    }
+
+    /**
+     * $max cannot lower the last review date once its review is gone or redated, so it is read back from the reviews.
+     */
+    private void refreshLastReviewDate(String gameId) {
+        String lastReviewDate = reviewRepository.findFirstByGameIdAndDateNotNullOrderByDateDesc(gameId)
+                .map(Review::date)
+                .orElse(null);
+        mongoTemplate.updateFirst(byId(gameId), Update.update("lastReviewDate", lastReviewDate), GameRatingStats.class);
+    }
+
+    private static Query byId(String gameId) {
+        return Query.query(Criteria.where("_id").is(gameId));
+    }
+
+    private static boolean matches(GameRatingStats stored, GameRatingStats computed) {
+        return stored.count() == computed.count()
+                && Math.abs(stored.sum() - computed.sum()) < SUM_TOLERANCE
+                && Math.abs(stored.mean() - computed.mean()) < SUM_TOLERANCE
+                && nonZero(stored.histogram()).equals(nonZero(computed.histogram()))
+                && Objects.equals(stored.lastReviewDate(), computed.lastReviewDate());
+    }
+
+    /**
+     * Decrements leave buckets at 0 where the aggregation has no entry, and the rebuild stores 32-bit counts.
+     */
+    private static Map<String, Long> nonZero(Map<String, ? extends Number> histogram) {
+        if (histogram == null) {
+            return Map.of();
+        }
+        return histogram.entrySet().stream()
+                .filter(entry -> entry.getValue().longValue() != 0)
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().longValue()));
+    }
+
+    /**
+     * The change of one game's stats.
+     */
+    private static final class Delta {
+
+        private long count;
+        private double sum;
+        private final Map<String, Long> histogram = new LinkedHashMap<>();
+        private String lastReviewDate;
+
+        void add(Review review) {
+            count++;
+            sum += review.rating();
+            histogram.merge(GameRatingStats.bucket(review.rating()), 1L, Long::sum);
+            if (review.date() != null && (lastReviewDate == null || review.date().compareTo(lastReviewDate) > 0)) {
+                lastReviewDate = review.date();
+            }
+        }
+
+        void remove(Review review) {
+            count--;
+            sum -= review.rating();
+            histogram.merge(GameRatingStats.bucket(review.rating()), -1L, Long::sum);
+        }
+    }
+}
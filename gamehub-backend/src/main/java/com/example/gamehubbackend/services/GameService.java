@@ -3,7 +3,9 @@ package com.example.gamehubbackend.services;
 import com.example.gamehubbackend.models.Game;
 import com.example.gamehubbackend.exceptions.GameNotFoundException;
 import lombok.RequiredArgsConstructor;
+import com.example.gamehubbackend.dto.CursorPage;
 import com.example.gamehubbackend.dto.GameDTO;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import com.example.gamehubbackend.repositories.GameRepository;
 
@@ -15,6 +17,7 @@ public class GameService {
 
     private final GameRepository gameRepository;  // Repository for game data operations
     private final IdService idService;  // Service for generating unique IDs
+    private final KeysetPager keysetPager;  // Cursor pagination of the game list
 
     /**
      * Get all games.
@@ -25,6 +28,17 @@ public class GameService {
         return gameRepository.findAll();  // Retrieves all games from the repository
     }
 
+    /**
+     * Get a page of games in ID order.
+     *
+     * @param cursor the nextCursor of the previous page, null for the first page
+     * @param size   the page size, null for the default
+     * @return the games of the page and the cursor of the next one
+     */
+    public CursorPage<Game> getGamesPage(String cursor, Integer size) {
+        return keysetPager.page(new Query(), cursor, size, Game.class, Game::id);
+    }
+
     /**
      * Get a game by its ID.
      *
@@ -1,18 +1,68 @@
 package com.example.gamehubbackend.services;
 
+import com.example.gamehubbackend.config.IdProperties;
+import com.example.gamehubbackend.services.ids.IdGenerator;
+import com.example.gamehubbackend.services.ids.ObjectIdGenerator;
+import com.example.gamehubbackend.services.ids.RandomUuidGenerator;
+import com.example.gamehubbackend.services.ids.UuidV7Generator;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
-
+/**
+ * Generates the IDs of new documents with the strategy set by gamehub.id.strategy, see IdProperties.Strategy.
+ */
 @Service
 public class IdService {
 
+    private final IdGenerator generator;
+
+    /**
+     * Random UUIDs, the default strategy.
+     */
+    public IdService() {
+        this(new RandomUuidGenerator());
+    }
+
+    /**
+     * The strategy configured by gamehub.id.strategy, used by the application context.
+     *
+     * @param properties the ID settings
+     */
+    @Autowired
+    public IdService(IdProperties properties) {
+        this(generator(properties.strategy()));
+    }
+
     /**
-     * Generates a random unique identifier (UUID).
+     * A given generator, e.g. a fixed strategy in tests and benchmarks.
      *
-     * @return a randomly generated UUID as a String
+     * @param generator the generator of the new IDs
+     */
+    public IdService(IdGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Generates a unique identifier with the configured strategy.
+     *
+     * @return the new ID as a String
      */
     public String randomId() {
-        return UUID.randomUUID().toString();
+        return generator.nextId();
+    }
+
+    /**
+     * The generator of a strategy. Each call creates a new one, so an IdService keeps its generator
+     * and the UUIDv7 counter orders all IDs of that service.
+     *
+     * @param strategy the configured strategy
+     * @return a new generator for the strategy
+     */
+    private static IdGenerator generator(IdProperties.Strategy strategy) {
+        return switch (strategy) {
+            case RANDOM -> new RandomUuidGenerator();
+            case UUID_V7 -> new UuidV7Generator();
+            case OBJECT_ID -> new ObjectIdGenerator();
+        };
     }
 }
@@ -0,0 +1,44 @@
+package com.example.gamehubbackend.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates or verifies the declared indexes on startup. Runs before the other application runners,
+ * whose startup queries use them.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IndexRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexRunner.class);
+
+    private final IndexService indexService;
+    private final boolean enabled;
+
+    public IndexRunner(IndexService indexService,
+                       @Value("${gamehub.indexes.ensure-on-startup:true}") boolean enabled) {
+        this.indexService = indexService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> failed = indexService.ensureIndexes();
+        if (!failed.isEmpty()) {
+            log.warn("Indexes {} are missing, their queries scan the whole collection", failed);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.gamehubbackend.services;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the indexes declared with @Indexed and @CompoundIndex on the document classes.
+ * <p>
+ * Spring Data's automatic index creation is off, so the indexes are only built here, on startup.
+ * Creating an index that already exists with the same keys and options does nothing, so this also
+ * verifies the indexes of an existing database.
+ */
+@Service
+@RequiredArgsConstructor
+public class IndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexService.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Create the declared indexes of all document classes if they do not exist yet.
+     * An index that cannot be built, e.g. a unique index over duplicate values or one that differs from an
+     * existing index of the same name, is logged and skipped; its finders scan the collection until it is fixed.
+     *
+     * @return The indexes that could not be created, as collection.name.
+     */
+    public List<String> ensureIndexes() {
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexResolver indexResolver = IndexResolver.create(mappingContext);
+
+        List<String> failed = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;  // Records embedded in documents or read from aggregations
+            }
+
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+            for (IndexDefinition index : indexResolver.resolveIndexFor(entity.getType())) {
+                try {
+                    indexOps.ensureIndex(index);
+                } catch (DataAccessException e) {
+                    String name = entity.getCollection() + "." + index.getIndexOptions().get("name");
+                    log.error("Could not create index {}", name, e);
+                    failed.add(name);
+                }
+            }
+        }
+        return failed;
+    }
+}
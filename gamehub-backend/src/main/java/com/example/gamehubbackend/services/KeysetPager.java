@@ -0,0 +1,99 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.config.PaginationProperties;
+import com.example.gamehubbackend.dto.CursorPage;
+import com.example.gamehubbackend.exceptions.InvalidRequestException;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) pagination over a collection in _id order.
+ * A page starts after the last _id of the previous page, so deep pages cost the same as the first one
+ * (no skip) and documents inserted or deleted meanwhile do not shift the following pages.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPager {
+
+    private final MongoTemplate mongoTemplate;
+    private final PaginationProperties properties;
+
+    /**
+     * Read one page.
+     *
+     * @param query  The filter and projection of the listing, without sort or limit; it is modified.
+     * @param cursor The nextCursor of the previous page, null for the first page.
+     * @param size   The requested page size, null for the default; capped at the maximum page size.
+     * @param type   The document type.
+     * @param idOf   Reads the _id of a document.
+     * @return The documents of the page and the cursor of the next one, which is null on the last page.
+     */
+    public <T> CursorPage<T> page(Query query, String cursor, Integer size, Class<T> type, Function<T, String> idOf) {
+        int pageSize = pageSize(size);
+        if (cursor != null && !cursor.isBlank()) {
+            query.addCriteria(after(decodeCursor(cursor)));
+        }
+        query.with(Sort.by("_id")).limit(pageSize + 1);  // One more tells whether there is a next page
+
+        List<T> documents = mongoTemplate.find(query, type);
+        if (documents.size() <= pageSize) {
+            return new CursorPage<>(documents, null);
+        }
+
+        List<T> page = List.copyOf(documents.subList(0, pageSize));
+        return new CursorPage<>(page, encodeCursor(idOf.apply(page.getLast())));
+    }
+
+    /**
+     * The page size to use for a requested one.
+     *
+     * @param size The requested page size, null for the default.
+     * @return The page size, at most the maximum page size.
+     */
+    public int pageSize(Integer size) {
+        if (size == null) {
+            return properties.defaultPageSize();
+        }
+        if (size < 1) {
+            throw new InvalidRequestException("Page size must be positive: " + size);
+        }
+        return Math.min(size, properties.maxPageSize());
+    }
+
+    /**
+     * IDs that are valid ObjectIds are stored as ObjectId (see IdProperties.Strategy), and $gt only compares
+     * values of the same type, so the cursor is converted here; the query mapper only converts _id equality.
+     * ObjectIds sort after all strings, so in a collection holding both the string IDs are followed by the ObjectIds.
+     */
+    private static Criteria after(String id) {
+        if (ObjectId.isValid(id)) {
+            return Criteria.where("_id").gt(new ObjectId(id));
+        }
+        return new Criteria().orOperator(
+                Criteria.where("_id").gt(id),
+                Criteria.where("_id").type(JsonSchemaObject.Type.objectIdType()));
+    }
+
+    private static String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.gamehubbackend.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the in-memory leaderboards on startup, from their snapshots or, the first time, from the reviews.
+ */
+@Component
+public class LeaderboardRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardRunner.class);
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardRunner(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Loaded the leaderboards, {} games counted of all time", leaderboardService.restore());
+    }
+}
@@ -0,0 +1,546 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.dto.Leaderboard;
+import com.example.gamehubbackend.dto.LeaderboardEntry;
+import com.example.gamehubbackend.dto.LeaderboardWindow;
+import com.example.gamehubbackend.exceptions.InvalidRequestException;
+import com.example.gamehubbackend.models.GameTally;
+import com.example.gamehubbackend.models.LeaderboardSnapshot;
+import com.example.gamehubbackend.models.Review;
+import com.example.gamehubbackend.repositories.LeaderboardSnapshotRepository;
+import com.example.gamehubbackend.repositories.ReviewRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Top-rated and most-reviewed game leaderboards per time window, served from memory.
+ * <p>
+ * Review writes update a review count and rating sum per game in one bucket per review date of the
+ * last 7 days and in an all-time bucket. A bucket keeps at most gamehub.leaderboard.capacity games;
+ * when it is full, the games with the fewest reviews are dropped, so only long-tail games can be
+ * undercounted.
+ * <p>
+ * Every change of a bucket is passed on to the windows that contain it. A window keeps its games in two
+ * sorted sets, one per board order, so a write re-ranks only the changed games. The first max-size games
+ * of each set are republished as an immutable board when a write reaches into them; reads return the
+ * published board without taking the lock. Only the first write or read of a new UTC day rebuilds the
+ * day windows from their buckets.
+ * <p>
+ * The buckets are saved to MongoDB every gamehub.leaderboard.snapshot-interval and on shutdown, and
+ * restored on startup; without snapshots they are built once from the reviews. Writes since the last
+ * snapshot are lost on a crash, and each instance only counts the review writes it handles itself.
+ */
+@Service
+public class LeaderboardService {
+
+    public static final String TOP_RATED = "top-rated";
+    public static final String MOST_REVIEWED = "most-reviewed";
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+    private static final String ALL_TIME_BUCKET = "all";
+    private static final int KEPT_DAYS = Arrays.stream(LeaderboardWindow.values()).mapToInt(LeaderboardWindow::days).max().orElse(1);
+
+    private static final Comparator<LeaderboardEntry> MOST_REVIEWED_ORDER = Comparator
+            .comparingLong(LeaderboardEntry::reviews).reversed()
+            .thenComparing(Comparator.comparingDouble(LeaderboardEntry::meanRating).reversed())
+            .thenComparing(LeaderboardEntry::gameId);
+    private static final Comparator<LeaderboardEntry> TOP_RATED_ORDER = Comparator
+            .comparingDouble(LeaderboardEntry::meanRating).reversed()
+            .thenComparing(Comparator.comparingLong(LeaderboardEntry::reviews).reversed())
+            .thenComparing(LeaderboardEntry::gameId);
+
+    private final LeaderboardSnapshotRepository snapshotRepository;
+    private final ReviewRepository reviewRepository;
+    private final int capacity;  // Games per bucket
+    private final int maxSize;  // Games per board
+    private final int minReviews;  // Reviews a game needs in the window to be top-rated
+
+    private final Object lock = new Object();
+    private final Tallies allTime;
+    private final NavigableMap<LocalDate, Tallies> days = new TreeMap<>();
+    private final Map<LeaderboardWindow, Window> windows = new EnumMap<>(LeaderboardWindow.class);
+    private volatile LocalDate boardsDay;  // The day the day windows were built for, they move with the date
+    private boolean dirty;  // Changed since the last snapshot
+
+    public LeaderboardService(LeaderboardSnapshotRepository snapshotRepository,
+                              ReviewRepository reviewRepository,
+                              @Value("${gamehub.leaderboard.capacity:10000}") int capacity,
+                              @Value("${gamehub.leaderboard.max-size:100}") int maxSize,
+                              @Value("${gamehub.leaderboard.min-reviews:3}") int minReviews) {
+        this.snapshotRepository = snapshotRepository;
+        this.reviewRepository = reviewRepository;
+        this.capacity = capacity;
+        this.maxSize = maxSize;
+        this.minReviews = minReviews;
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            windows.put(window, new Window());
+        }
+        this.allTime = new Tallies(capacity, windows.get(LeaderboardWindow.ALL_TIME)::change);
+        this.boardsDay = today();
+    }
+
+    /**
+     * The games with the best average rating and at least min-reviews reviews in the window.
+     *
+     * @param window The time window.
+     * @param limit  The number of games, null for all up to the maximum board size.
+     * @return The board, best first.
+     */
+    public Leaderboard topRated(LeaderboardWindow window, Integer limit) {
+        return new Leaderboard(TOP_RATED, window.value(), head(published(window).topRated(), limit));
+    }
+
+    /**
+     * The games with the most reviews in the window.
+     *
+     * @param window The time window.
+     * @param limit  The number of games, null for all up to the maximum board size.
+     * @return The board, most reviewed first.
+     */
+    public Leaderboard mostReviewed(LeaderboardWindow window, Integer limit) {
+        return new Leaderboard(MOST_REVIEWED, window.value(), head(published(window).mostReviewed(), limit));
+    }
+
+    /**
+     * Count a new review.
+     *
+     * @param review The stored review.
+     */
+    public void reviewAdded(Review review) {
+        synchronized (lock) {
+            apply(review, 1);
+            publish();
+        }
+    }
+
+    /**
+     * Count new reviews.
+     *
+     * @param reviews The stored reviews.
+     */
+    public void reviewsAdded(Collection<Review> reviews) {
+        synchronized (lock) {
+            reviews.forEach(review -> apply(review, 1));
+            publish();
+        }
+    }
+
+    /**
+     * Replace the old version of an updated review with the new one.
+     * The old version must be the document the update replaced, as returned by the write itself
+     * (see ReviewRepositoryCustom.replace): a copy read before the write may already be outdated, and its
+     * rating would be subtracted twice by concurrent updates, also in the snapshots restored from.
+     *
+     * @param before The review as stored right before the update.
+     * @param after  The review after the update.
+     */
+    public void reviewChanged(Review before, Review after) {
+        synchronized (lock) {
+            apply(before, -1);
+            apply(after, 1);
+            publish();
+        }
+    }
+
+    /**
+     * Uncount a deleted review.
+     *
+     * @param review The deleted review.
+     */
+    public void reviewRemoved(Review review) {
+        synchronized (lock) {
+            apply(review, -1);
+            publish();
+        }
+    }
+
+    /**
+     * Load the buckets from the snapshots, or build them from the reviews if there are none.
+     *
+     * @return The number of games counted of all time.
+     */
+    public int restore() {
+        List<LeaderboardSnapshot> snapshots = snapshotRepository.findAll();
+        LocalDate today = today();
+
+        synchronized (lock) {
+            allTime.clear();
+            days.clear();
+            windows.values().forEach(Window::clear);
+            boardsDay = today;
+
+            if (snapshots.isEmpty()) {
+                reviewRepository.tallyAllTime().forEach(allTime::add);
+                reviewRepository.tallyDaysFrom(firstKeptDay(today).toString()).forEach(this::restoreDay);
+                dirty = true;
+            } else {
+                for (LeaderboardSnapshot snapshot : snapshots) {
+                    if (ALL_TIME_BUCKET.equals(snapshot.id())) {
+                        snapshot.games().forEach(allTime::add);
+                    } else {
+                        restoreDay(snapshot);
+                    }
+                }
+            }
+            pruneDays(today);
+            publish();
+            return allTime.size();
+        }
+    }
+
+    /**
+     * Save the buckets if they changed since the last snapshot and delete the snapshots of expired days.
+     */
+    @Scheduled(fixedDelayString = "${gamehub.leaderboard.snapshot-interval:PT5M}",
+            initialDelayString = "${gamehub.leaderboard.snapshot-interval:PT5M}")
+    public void snapshot() {
+        List<LeaderboardSnapshot> snapshots = new ArrayList<>();
+        synchronized (lock) {
+            if (!dirty) {
+                return;
+            }
+            rollOver(today());
+            publish();
+            snapshots.add(new LeaderboardSnapshot(ALL_TIME_BUCKET, allTime.snapshot()));
+            days.forEach((day, tallies) -> snapshots.add(new LeaderboardSnapshot(day.toString(), tallies.snapshot())));
+            dirty = false;
+        }
+
+        snapshotRepository.saveAll(snapshots);
+        snapshotRepository.deleteByIdNotIn(snapshots.stream().map(LeaderboardSnapshot::id).toList());
+    }
+
+    @PreDestroy
+    void snapshotOnShutdown() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("Could not save the leaderboards on shutdown", e);
+        }
+    }
+
+    /**
+     * The current boards of a window. Takes the lock only on the first read of a new day.
+     */
+    private Boards published(LeaderboardWindow window) {
+        if (!today().equals(boardsDay)) {
+            synchronized (lock) {
+                rollOver(today());
+                publish();
+            }
+        }
+        return windows.get(window).published;
+    }
+
+    /**
+     * Move the day windows to a new day: drop the expired buckets and rebuild the windows from the rest.
+     */
+    private void rollOver(LocalDate today) {
+        if (today.equals(boardsDay)) {
+            return;
+        }
+        boardsDay = today;
+        pruneDays(today);
+
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            if (window != LeaderboardWindow.ALL_TIME) {
+                windows.get(window).clear();
+            }
+        }
+        days.forEach((day, tallies) -> tallies.games.forEach((gameId, tally) ->
+                dayChanged(day, gameId, tally.gameTitle, tally.count, tally.sum)));
+    }
+
+    /**
+     * Pass the change of a day bucket on to the day windows containing that day.
+     */
+    private void dayChanged(LocalDate day, String gameId, String gameTitle, long count, double sum) {
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            if (window != LeaderboardWindow.ALL_TIME && !day.isBefore(boardsDay.minusDays(window.days() - 1L)) && !day.isAfter(boardsDay)) {
+                windows.get(window).change(gameId, gameTitle, count, sum);
+            }
+        }
+    }
+
+    private void publish() {
+        windows.values().forEach(Window::publish);
+    }
+
+    private List<LeaderboardEntry> head(List<LeaderboardEntry> entries, Integer limit) {
+        if (limit == null) {
+            return entries;
+        }
+        if (limit < 1) {
+            throw new InvalidRequestException("Limit must be positive: " + limit);
+        }
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    private void apply(Review review, int sign) {
+        if (review.gameId() == null) {
+            return;
+        }
+        LocalDate today = today();
+        rollOver(today);
+        allTime.add(review.gameId(), review.gameTitle(), sign, review.rating());
+
+        // Reviews without a valid date only count for all time
+        LocalDate day = reviewDay(review);
+        if (day != null && !day.isBefore(firstKeptDay(today)) && !day.isAfter(today)) {
+            Tallies tallies = sign > 0 ? days.computeIfAbsent(day, this::dayTallies) : days.get(day);
+            if (tallies != null) {
+                tallies.add(review.gameId(), review.gameTitle(), sign, review.rating());
+            }
+        }
+
+        dirty = true;
+    }
+
+    private void restoreDay(LeaderboardSnapshot snapshot) {
+        try {
+            Tallies tallies = days.computeIfAbsent(LocalDate.parse(snapshot.id()), this::dayTallies);
+            snapshot.games().forEach(tallies::add);
+        } catch (DateTimeParseException e) {
+            log.warn("Skipping leaderboard bucket with invalid date {}", snapshot.id());
+        }
+    }
+
+    private Tallies dayTallies(LocalDate day) {
+        return new Tallies(capacity, (gameId, gameTitle, count, sum) -> dayChanged(day, gameId, gameTitle, count, sum));
+    }
+
+    private void pruneDays(LocalDate today) {
+        days.headMap(firstKeptDay(today), false).clear();
+        days.tailMap(today, false).clear();
+    }
+
+    private static LocalDate firstKeptDay(LocalDate today) {
+        return today.minusDays(KEPT_DAYS - 1L);
+    }
+
+    private static LocalDate reviewDay(Review review) {
+        if (review.date() == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(review.date());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Review dates are set by the frontend from toISOString(), i.e. in UTC.
+     */
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private record Boards(List<LeaderboardEntry> topRated, List<LeaderboardEntry> mostReviewed) {
+    }
+
+    /**
+     * Receives the changes of a bucket: review count and rating sum added to a game, negative when removed.
+     */
+    @FunctionalInterface
+    private interface TallyListener {
+        void changed(String gameId, String gameTitle, long count, double sum);
+    }
+
+    /**
+     * The games of one time window, ranked in both board orders.
+     */
+    private final class Window {
+
+        private final Map<String, Tally> games = new HashMap<>();
+        private final TreeSet<LeaderboardEntry> topRated = new TreeSet<>(TOP_RATED_ORDER);
+        private final TreeSet<LeaderboardEntry> mostReviewed = new TreeSet<>(MOST_REVIEWED_ORDER);
+        private volatile Boards published = new Boards(List.of(), List.of());
+        private boolean topRatedChanged;
+        private boolean mostReviewedChanged;
+
+        /**
+         * Add a change of one game and re-rank only that game.
+         */
+        void change(String gameId, String gameTitle, long count, double sum) {
+            Tally tally = games.get(gameId);
+            if (tally == null) {
+                if (count <= 0) {
+                    return;
+                }
+                tally = new Tally();
+                games.put(gameId, tally);
+            } else {
+                unrank(gameId, tally);
+            }
+
+            tally.count += count;
+            tally.sum += sum;
+            if (gameTitle != null && count > 0) {
+                tally.gameTitle = gameTitle;
+            }
+            if (tally.count <= 0) {
+                games.remove(gameId);
+            } else {
+                rank(gameId, tally);
+            }
+        }
+
+        void clear() {
+            games.clear();
+            topRated.clear();
+            mostReviewed.clear();
+            topRatedChanged = true;
+            mostReviewedChanged = true;
+        }
+
+        /**
+         * Republish the boards a change reached into, as the first maxSize games of their set.
+         */
+        void publish() {
+            if (!topRatedChanged && !mostReviewedChanged) {
+                return;
+            }
+            Boards current = published;
+            published = new Boards(
+                    topRatedChanged ? head(topRated) : current.topRated(),
+                    mostReviewedChanged ? head(mostReviewed) : current.mostReviewed());
+            topRatedChanged = false;
+            mostReviewedChanged = false;
+        }
+
+        private void rank(String gameId, Tally tally) {
+            LeaderboardEntry entry = entry(gameId, tally);
+            if (tally.count >= minReviews) {
+                topRated.add(entry);
+                topRatedChanged |= reaches(published.topRated(), TOP_RATED_ORDER, entry);
+            }
+            mostReviewed.add(entry);
+            mostReviewedChanged |= reaches(published.mostReviewed(), MOST_REVIEWED_ORDER, entry);
+        }
+
+        private void unrank(String gameId, Tally tally) {
+            LeaderboardEntry entry = entry(gameId, tally);
+            if (tally.count >= minReviews) {
+                topRated.remove(entry);
+                topRatedChanged |= reaches(published.topRated(), TOP_RATED_ORDER, entry);
+            }
+            mostReviewed.remove(entry);
+            mostReviewedChanged |= reaches(published.mostReviewed(), MOST_REVIEWED_ORDER, entry);
+        }
+
+        /**
+         * Whether an entry ranks within the published board, so adding or removing it changes the board.
+         */
+        private boolean reaches(List<LeaderboardEntry> board, Comparator<LeaderboardEntry> order, LeaderboardEntry entry) {
+            return board.size() < maxSize || order.compare(entry, board.getLast()) <= 0;
+        }
+
+        private List<LeaderboardEntry> head(TreeSet<LeaderboardEntry> ranked) {
+            return ranked.stream().limit(maxSize).toList();
+        }
+
+        private static LeaderboardEntry entry(String gameId, Tally tally) {
+            return new LeaderboardEntry(gameId, tally.gameTitle, tally.count, tally.sum / tally.count);
+        }
+    }
+
+    /**
+     * Review count and rating sum per game of one bucket, holding at most capacity games.
+     */
+    private static final class Tallies {
+
+        private final int capacity;
+        private final TallyListener listener;  // The windows containing the bucket
+        private final Map<String, Tally> games = new HashMap<>();
+
+        Tallies(int capacity, TallyListener listener) {
+            this.capacity = capacity;
+            this.listener = listener;
+        }
+
+        void add(String gameId, String gameTitle, int sign, double rating) {
+            Tally tally = sign > 0 ? games.computeIfAbsent(gameId, id -> new Tally()) : games.get(gameId);
+            if (tally == null) {
+                return;  // Never counted or dropped when the bucket was full
+            }
+            tally.count += sign;
+            tally.sum += sign * rating;
+            if (gameTitle != null && sign > 0) {
+                tally.gameTitle = gameTitle;
+            }
+            listener.changed(gameId, gameTitle, sign, sign * rating);
+            if (tally.count <= 0) {
+                games.remove(gameId);
+            }
+            evictIfFull();
+        }
+
+        void add(GameTally game) {
+            Tally tally = games.computeIfAbsent(game.gameId(), id -> new Tally());
+            tally.gameTitle = game.gameTitle();
+            tally.count += game.count();
+            tally.sum += game.sum();
+            listener.changed(game.gameId(), game.gameTitle(), game.count(), game.sum());
+            evictIfFull();
+        }
+
+        int size() {
+            return games.size();
+        }
+
+        void clear() {
+            games.clear();
+        }
+
+        List<GameTally> snapshot() {
+            return games.entrySet().stream()
+                    .map(entry -> new GameTally(entry.getKey(), entry.getValue().gameTitle, entry.getValue().count, entry.getValue().sum))
+                    .toList();
+        }
+
+        /**
+         * Drops a tenth of the capacity at once, so a full bucket is not sorted on every new game.
+         */
+        private void evictIfFull() {
+            if (games.size() <= capacity) {
+                return;
+            }
+            games.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().count))
+                    .limit(games.size() - capacity + Math.max(1, capacity / 10))
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(gameId -> {
+                        Tally dropped = games.remove(gameId);
+                        listener.changed(gameId, null, -dropped.count, -dropped.sum);
+                    });
+        }
+    }
+
+    private static final class Tally {
+
+        private String gameTitle;
+        private long count;
+        private double sum;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.gamehubbackend.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the libraries still embedded in user documents into the library collection, once on startup.
+ * Runs right after IndexRunner, so the unique (userId, gameId) index is in place, and before the other
+ * application runners, which may read libraries. User reads never migrate; a user written with an embedded
+ * library by an older instance afterwards is moved on the next startup, the migration skips games already moved.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class LibraryMigrationRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LibraryMigrationRunner.class);
+
+    private final LibraryService libraryService;
+    private final boolean migrate;
+
+    public LibraryMigrationRunner(LibraryService libraryService,
+                                  @Value("${gamehub.library.migrate-on-startup:true}") boolean migrate) {
+        this.libraryService = libraryService;
+        this.migrate = migrate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!migrate) {
+            return;
+        }
+
+        int migrated = libraryService.migrateEmbeddedLibraries();
+        if (migrated > 0) {
+            log.info("Moved the embedded game libraries of {} users into the library collection", migrated);
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.config.PaginationProperties;
+import com.example.gamehubbackend.dto.CursorPage;
+import com.example.gamehubbackend.dto.LibraryGameDTO;
+import com.example.gamehubbackend.dto.LibraryPage;
+import com.example.gamehubbackend.dto.LibrarySize;
+import com.example.gamehubbackend.exceptions.InvalidRequestException;
+import com.example.gamehubbackend.models.LibraryEntry;
+import com.example.gamehubbackend.models.User;
+import com.example.gamehubbackend.repositories.LibraryRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * User game libraries, one document per (user, game) in the "library" collection.
+ * <p>
+ * Libraries used to be embedded in the user document as the gameLibrary array, which every user read
+ * loaded in full. Embedded libraries are moved over once, by LibraryMigrationRunner on startup; reads never write.
+ * The indexes are declared on LibraryEntry and created by IndexService.
+ */
+@Service
+@RequiredArgsConstructor
+public class LibraryService {
+
+    private static final String EMBEDDED_LIBRARY = "gameLibrary";
+    private static final Sort LIBRARY_ORDER = Sort.by("addedAt", "id");
+
+    private final LibraryRepository libraryRepository;
+    private final MongoTemplate mongoTemplate;
+    private final PaginationProperties paginationProperties;
+
+    /**
+     * Retrieve a user's whole library in the order the games were added.
+     *
+     * @param userId The user's ID.
+     * @return The games, empty if the user has none.
+     */
+    public List<LibraryGameDTO> getLibrary(String userId) {
+        return libraryRepository.findByUserIdOrderByAddedAtAscIdAsc(userId).stream()
+                .map(LibraryService::toDTO)
+                .toList();
+    }
+
+    /**
+     * Retrieve the whole libraries of several users in one query.
+     *
+     * @param userIds The user IDs.
+     * @return The games per user ID, users without games map to an empty list.
+     */
+    public Map<String, List<LibraryGameDTO>> getLibraries(Collection<String> userIds) {
+        Map<String, List<LibraryGameDTO>> libraries = libraryRepository.findByUserIdInOrderByAddedAtAscIdAsc(userIds).stream()
+                .collect(Collectors.groupingBy(LibraryEntry::userId, LinkedHashMap::new,
+                        Collectors.mapping(LibraryService::toDTO, Collectors.toList())));
+        userIds.forEach(userId -> libraries.putIfAbsent(userId, List.of()));
+        return libraries;
+    }
+
+    /**
+     * Count the games in a user's library.
+     *
+     * @param userId The user's ID.
+     * @return The number of games.
+     */
+    public long countLibrary(String userId) {
+        return libraryRepository.countByUserId(userId);
+    }
+
+    /**
+     * Count the games in the libraries of several users in one query.
+     *
+     * @param userIds The user IDs.
+     * @return The number of games per user ID, users without games map to 0.
+     */
+    public Map<String, Long> countLibraries(Collection<String> userIds) {
+        Map<String, Long> counts = libraryRepository.countByUserIds(userIds).stream()
+                .collect(Collectors.toMap(LibrarySize::id, LibrarySize::count));
+        userIds.forEach(userId -> counts.putIfAbsent(userId, 0L));
+        return counts;
+    }
+
+    /**
+     * Retrieve a page of a user's library by page number.
+     *
+     * @param userId The user's ID.
+     * @param page   The zero-based page number.
+     * @param size   The page size, capped at the configured maximum.
+     * @return The page with the total number of games and pages.
+     */
+    public LibraryPage getLibraryPage(String userId, int page, int size) {
+        if (page < 0) {
+            throw new InvalidRequestException("Page must not be negative: " + page);
+        }
+        int pageSize = pageSize(size);
+        Page<LibraryEntry> entries = libraryRepository.findByUserId(userId, PageRequest.of(page, pageSize, LIBRARY_ORDER));
+
+        return new LibraryPage(
+                entries.map(LibraryService::toDTO).getContent(),
+                page,
+                pageSize,
+                entries.getTotalElements(),
+                entries.getTotalPages()
+        );
+    }
+
+    /**
+     * Retrieve the games of a user's library that were added after the cursor position.
+     * Unlike page numbers, the cursor seeks through the (userId, addedAt, _id) index instead of skipping
+     * entries, and games added or removed meanwhile do not shift the following pages.
+     *
+     * @param userId The user's ID.
+     * @param cursor The nextCursor of the previous page, null for the first page.
+     * @param size   The page size, capped at the configured maximum.
+     * @return The games and the cursor of the next page, which is null on the last page.
+     */
+    public CursorPage<LibraryGameDTO> getLibraryAfter(String userId, String cursor, int size) {
+        int pageSize = pageSize(size);
+        Query query = Query.query(Criteria.where("userId").is(userId))
+                .with(LIBRARY_ORDER)
+                .limit(pageSize + 1);  // One more tells whether there is a next page
+
+        if (cursor != null && !cursor.isBlank()) {
+            LibraryEntry last = decodeCursor(cursor);
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("addedAt").gt(last.addedAt()),
+                    Criteria.where("addedAt").is(last.addedAt()).and("_id").gt(new ObjectId(last.id()))));
+        }
+
+        List<LibraryEntry> entries = mongoTemplate.find(query, LibraryEntry.class);
+        if (entries.size() <= pageSize) {
+            return new CursorPage<>(entries.stream().map(LibraryService::toDTO).toList(), null);
+        }
+
+        List<LibraryEntry> page = entries.subList(0, pageSize);
+        return new CursorPage<>(page.stream().map(LibraryService::toDTO).toList(), encodeCursor(page.getLast()));
+    }
+
+    /**
+     * Add a game to a user's library unless it is already in it.
+     * A single upsert on the unique (userId, gameId) index, so parallel adds of the same game store it once.
+     *
+     * @param userId The user's ID.
+     * @param game   The game to add.
+     * @return The game as stored in the library, the earlier entry if it was already in it.
+     */
+    public LibraryGameDTO addGame(String userId, LibraryGameDTO game) {
+        Query query = entryQuery(userId, game.id());
+        LibraryEntry entry;
+        try {
+            entry = mongoTemplate.findAndModify(query, insertEntry(game, now()),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), LibraryEntry.class);
+        } catch (DuplicateKeyException e) {
+            // A parallel add of the same game won the insert, read back what it stored
+            entry = mongoTemplate.findOne(query, LibraryEntry.class);
+        }
+        return entry != null ? toDTO(entry) : game;  // Removed again right after the parallel add
+    }
+
+    /**
+     * Remove a game from a user's library.
+     * A single findAndRemove, so the removed entry is returned without reading the library.
+     *
+     * @param userId The user's ID.
+     * @param gameId The ID of the game to remove.
+     * @return The removed game, empty if it was not in the library.
+     */
+    public Optional<LibraryGameDTO> removeGame(String userId, String gameId) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(entryQuery(userId, gameId), LibraryEntry.class))
+                .map(LibraryService::toDTO);
+    }
+
+    /**
+     * Replace a user's whole library.
+     * Only the difference is written: one bulk upsert of the given games and one delete of the games missing
+     * from them, so readers never see the library empty. Games already in it keep their place and addedAt,
+     * new games are added after them in the given order.
+     *
+     * @param userId The user's ID.
+     * @param games  The new library.
+     */
+    public void replaceLibrary(String userId, List<LibraryGameDTO> games) {
+        List<LibraryGameDTO> library = games != null ? games : List.of();
+
+        if (!library.isEmpty()) {
+            LocalDateTime addedAt = now();
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LibraryEntry.class);
+            for (LibraryGameDTO game : library) {
+                bulk.upsert(entryQuery(userId, game.id()), replaceEntry(game, addedAt));
+            }
+            bulk.execute();
+        }
+
+        List<String> gameIds = library.stream().map(LibraryGameDTO::id).toList();
+        mongoTemplate.remove(Query.query(Criteria.where("userId").is(userId).and("gameId").nin(gameIds)), LibraryEntry.class);
+    }
+
+    /**
+     * Delete a user's whole library.
+     *
+     * @param userId The user's ID.
+     */
+    public void deleteLibrary(String userId) {
+        libraryRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Move a library embedded in a user document into the library collection and remove it from the user.
+     * Games already in the collection are kept, so the migration can run again after a partial failure.
+     *
+     * @param userId The user's ID.
+     * @param games  The embedded library, in the order the games were added.
+     */
+    public void migrateEmbeddedLibrary(String userId, List<LibraryGameDTO> games) {
+        insertGames(userId, games);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)), new Update().unset(EMBEDDED_LIBRARY), User.class);
+    }
+
+    /**
+     * Migrate the embedded libraries of all users that still have one.
+     *
+     * @return The number of migrated users.
+     */
+    public int migrateEmbeddedLibraries() {
+        Query query = Query.query(Criteria.where(EMBEDDED_LIBRARY).exists(true));
+        query.fields().include(EMBEDDED_LIBRARY);
+
+        int migrated = 0;
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            for (User user : (Iterable<User>) users::iterator) {
+                migrateEmbeddedLibrary(user.id(), user.gameLibrary() != null ? user.gameLibrary() : List.of());
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    /**
+     * Insert games in one bulk write, skipping games already in the library.
+     * All get the same addedAt, the increasing _ids keep their order.
+     */
+    private void insertGames(String userId, List<LibraryGameDTO> games) {
+        if (games == null || games.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime addedAt = now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LibraryEntry.class);
+        for (LibraryGameDTO game : games) {
+            bulk.upsert(entryQuery(userId, game.id()), insertEntry(game, addedAt));
+        }
+        bulk.execute();
+    }
+
+    private static Query entryQuery(String userId, String gameId) {
+        return Query.query(Criteria.where("userId").is(userId).and("gameId").is(gameId));
+    }
+
+    /**
+     * The _id is generated here rather than by the server: ObjectIds of one process increase,
+     * so entries with the same addedAt are still listed in the order they were added.
+     */
+    private static Update insertEntry(LibraryGameDTO game, LocalDateTime addedAt) {
+        return new Update()
+                .setOnInsert("_id", new ObjectId())
+                .setOnInsert("title", game.title())
+                .setOnInsert("platforms", game.platforms())
+                .setOnInsert("coverImage", game.coverImage())
+                .setOnInsert("addedAt", addedAt);
+    }
+
+    /**
+     * Like insertEntry, but the game details of an entry already in the library are overwritten as well.
+     */
+    private static Update replaceEntry(LibraryGameDTO game, LocalDateTime addedAt) {
+        return new Update()
+                .setOnInsert("_id", new ObjectId())
+                .set("title", game.title())
+                .set("platforms", game.platforms())
+                .set("coverImage", game.coverImage())
+                .setOnInsert("addedAt", addedAt);
+    }
+
+    /**
+     * MongoDB stores milliseconds, truncating up front keeps addedAt equal to what cursors read back.
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private int pageSize(int size) {
+        if (size < 1) {
+            throw new InvalidRequestException("Page size must be positive: " + size);
+        }
+        return Math.min(size, paginationProperties.maxPageSize());
+    }
+
+    private static String encodeCursor(LibraryEntry last) {
+        String position = last.addedAt() + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LibraryEntry decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            String id = position.substring(separator + 1);
+            if (separator < 0 || !ObjectId.isValid(id)) {
+                throw new IllegalArgumentException(position);
+            }
+            return new LibraryEntry(id, null, null, null, null, null, LocalDateTime.parse(position.substring(0, separator)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static LibraryGameDTO toDTO(LibraryEntry entry) {
+        return new LibraryGameDTO(entry.gameId(), entry.title(), entry.platforms(), entry.coverImage());
+    }
+}
@@ -2,20 +2,21 @@ package com.example.gamehubbackend.services;
 
 import com.example.gamehubbackend.exceptions.NoteNotFoundException;
 import com.example.gamehubbackend.models.Note;
+import com.example.gamehubbackend.dto.CursorPage;
+import com.example.gamehubbackend.dto.ImportReport;
 import com.example.gamehubbackend.dto.NoteDTO;
-import com.example.gamehubbackend.models.UserResponse;
 import com.example.gamehubbackend.repositories.NoteRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
-
-import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor  // Automatically injects final fields through constructor injection
@@ -24,6 +25,8 @@ public class NoteService {
     private final NoteRepository noteRepository;  // Repository for note operations
     private final IdService idService;  // Service to generate unique IDs
     private final UserService userService;
+    private final KeysetPager keysetPager;  // Cursor pagination of the note list
+    private final BulkImporter bulkImporter;  // Batched writes of note imports
 
     /**
      * Retrieves all notes from the repository.
@@ -34,6 +37,19 @@ public class NoteService {
         return noteRepository.findAll();  // Fetch all notes from the repository
     }
 
+    /**
+     * Retrieves a page of notes in ID order, optionally only those of one user or game.
+     *
+     * @param userId only notes of this user, null for all
+     * @param gameId only notes on this game, null for all
+     * @param cursor the nextCursor of the previous page, null for the first page
+     * @param size   the page size, null for the default
+     * @return the notes of the page and the cursor of the next one
+     */
+    public CursorPage<Note> getNotesPage(String userId, String gameId, String cursor, Integer size) {
+        return keysetPager.page(filter(userId, gameId), cursor, size, Note.class, Note::id);
+    }
+
     /**
      * Retrieves a specific note by its ID.
      *
@@ -80,83 +96,124 @@ public class NoteService {
         return noteRepository.save(noteToSave);
     }
 
+    /**
+     * Imports notes of the logged-in user, e.g. from another tracker, writing them in batches.
+     * Notes without a userId are stored as the logged-in user's; notes of another user are reported and skipped,
+     * like invalid ones. The created and updated timestamps are kept when given.
+     *
+     * @param in the notes as a JSON array or newline-delimited JSON
+     * @return the result of every note, with the IDs of the stored ones
+     */
+    public ImportReport importNotes(InputStream in) throws IOException {
+        return importNotes(userService.getCurrentIdentity().id(), in);
+    }
+
+    /**
+     * Imports notes of a user, writing them in batches.
+     *
+     * @param userId the user the notes are stored for
+     * @param in     the notes as a JSON array or newline-delimited JSON
+     * @return the result of every note, with the IDs of the stored ones
+     * @see #importNotes(InputStream)
+     */
+    public ImportReport importNotes(String userId, InputStream in) throws IOException {
+        return bulkImporter.importRecords(in, NoteDTO.class,
+                noteDTO -> validate(noteDTO, userId),
+                noteDTO -> toImportedNote(noteDTO, userId),
+                Note.class, Note::id);
+    }
+
     /**
      * Updates an existing note based on its ID and provided NoteDTO.
+     * Only the owner may update a note; the ownership check and the update are a single database call.
      *
      * @param id      the ID of the note to update
      * @param noteDTO the data transfer object containing updated note details
      * @return the updated Note object
      * @throws NoteNotFoundException if no note is found with the given ID
+     * @throws AccessDeniedException if the note belongs to another user
      */
     public Note updateNote(String id, NoteDTO noteDTO) throws AccessDeniedException {
+        String currentUserId = userService.getCurrentIdentity().id();
 
-        Note note = getNoteById(id);
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication instanceof OAuth2AuthenticationToken) {
-            OAuth2User principal = (OAuth2User) authentication.getPrincipal();
-            if (!isOwner(note, principal)) {
-                throw new AccessDeniedException("Only the owner of the note can delete it.");
-            }
-        } else {
-            String currentUserId = authentication.getName();
-            if (!isOwner(note, currentUserId)) {
-                throw new AccessDeniedException("Only the owner of the note can delete it.");
-            }
+        Optional<Note> updated = noteRepository.updateIfOwner(id, currentUserId, noteDTO);
+        if (updated.isEmpty()) {
+            throwNotFoundOrDenied(id, "Only the owner of the note can update it.");
         }
-
-        Note noteToUpdate = noteRepository.findById(id)  // Find the note by ID
-                .orElseThrow(() -> new NoteNotFoundException("No note found with id: " + id))
-                .withGameTitle(noteDTO.gameTitle())
-                .withUserId(noteDTO.userId())
-                .withGameId(noteDTO.gameId())
-                .withTitle(noteDTO.title())
-                .withContent(noteDTO.content())
-                .withCategory(noteDTO.category())
-                .withCreated(noteDTO.created())
-                .withUpdated(LocalDateTime.now());  // Update the last modified timestamp to now
-
-        return noteRepository.save(noteToUpdate);
+        return updated.get();
     }
 
     /**
      * Deletes a note by its ID.
+     * Only the owner may delete a note; the ownership check and the delete are a single database call.
      *
      * @param id the ID of the note to delete
+     * @throws NoteNotFoundException if no note is found with the given ID
+     * @throws AccessDeniedException if the note belongs to another user
      */
     public void deleteNote(String id) throws AccessDeniedException {
+        String currentUserId = userService.getCurrentIdentity().id();
 
-        Note note = getNoteById(id);
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication instanceof OAuth2AuthenticationToken) {
-            OAuth2User principal = (OAuth2User) authentication.getPrincipal();
-            if (!isOwner(note, principal)) {
-                throw new AccessDeniedException("Only the owner of the note can delete it.");
-            }
-        } else {
-            String currentUserId = authentication.getName();
-            if (!isOwner(note, currentUserId)) {
-                throw new AccessDeniedException("Only the owner of the note can delete it.");
-            }
+        if (!noteRepository.deleteIfOwner(id, currentUserId)) {
+            throwNotFoundOrDenied(id, "Only the owner of the note can delete it.");
         }
+    }
 
-        noteRepository.deleteById(id);  // Delete the note from the repository by its ID
+    /**
+     * Tell apart why an ownership-checked write matched nothing and throw accordingly;
+     * only then is a second query needed. Never returns normally.
+     *
+     * @throws NoteNotFoundException if no note is found with the given ID
+     * @throws AccessDeniedException if the note belongs to another user
+     */
+    private void throwNotFoundOrDenied(String id, String deniedMessage) throws AccessDeniedException {
+        if (!noteRepository.existsById(id)) {
+            throw new NoteNotFoundException("No note found with id: " + id);
+        }
+        throw new AccessDeniedException(deniedMessage);
+    }
+
+    private Note toImportedNote(NoteDTO noteDTO, String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime created = noteDTO.created() != null ? noteDTO.created() : now;
+        return new Note(
+                idService.randomId(),
+                noteDTO.gameTitle(),
+                userId,
+                noteDTO.gameId(),
+                noteDTO.title(),
+                noteDTO.content(),
+                noteDTO.category(),
+                created,
+                noteDTO.updated() != null ? noteDTO.updated() : created
+        );
     }
 
-    private boolean isOwner(Note note, OAuth2User principal) {
-        String githubId = principal.getAttribute("id").toString();
-        UserResponse user = userService.getUserByGitHubId(githubId);
-        if (user != null) {
-            String currentUserId = user.id();
-            return note.userId().equals(currentUserId);
-        } else {
-            // Handle the case where the user is not found
-            return false;
+    private static String validate(NoteDTO noteDTO, String userId) {
+        if (!isBlank(noteDTO.userId()) && !noteDTO.userId().equals(userId)) {
+            return "userId must be your own";
+        }
+        if (isBlank(noteDTO.gameId())) {
+            return "gameId is required";
         }
+        if (isBlank(noteDTO.title())) {
+            return "title is required";
+        }
+        return null;
     }
 
-    private boolean isOwner(Note note, String currentUserId) {
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
 
-        UserResponse user = userService.getUserByUsername(currentUserId);
-        return note.userId().equals(user.id());
+    private static Query filter(String userId, String gameId) {
+        Query query = new Query();
+        if (userId != null) {
+            query.addCriteria(Criteria.where("userId").is(userId));
+        }
+        if (gameId != null) {
+            query.addCriteria(Criteria.where("gameId").is(gameId));
+        }
+        return query;
     }
 }
@@ -2,31 +2,64 @@ package com.example.gamehubbackend.services;
 
 import com.example.gamehubbackend.exceptions.ReviewNotFoundException;
 import com.example.gamehubbackend.models.Review;
+import com.example.gamehubbackend.dto.CursorPage;
+import com.example.gamehubbackend.dto.ImportReport;
 import com.example.gamehubbackend.dto.ReviewDTO;
-import com.example.gamehubbackend.models.UserResponse;
 import com.example.gamehubbackend.repositories.ReviewRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
-import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
 public class ReviewService {
 
+    private static final double MIN_RATING = 0;
+    private static final double MAX_RATING = 5;
+    private static final int LOCK_STRIPES = 64;
+
     private final UserService userService;
     private final ReviewRepository reviewRepository;
     private final IdService idService;
+    private final KeysetPager keysetPager;
+    private final BulkImporter bulkImporter;
+    private final GameRatingStatsService ratingStatsService;
+    private final LeaderboardService leaderboardService;
+    // Writes of the same review report to the rating stats and leaderboards in the order they were stored
+    private final Object[] reviewLocks = IntStream.range(0, LOCK_STRIPES).mapToObj(i -> new Object()).toArray();
 
     public List<Review> getAllReviews() {
         return reviewRepository.findAll();
     }
 
+    /**
+     * Retrieve a page of reviews in ID order, optionally only those of one user or game.
+     *
+     * @param userId Only reviews by this user, null for all.
+     * @param gameId Only reviews of this game, null for all.
+     * @param cursor The nextCursor of the previous page, null for the first page.
+     * @param size   The page size, null for the default.
+     * @return The reviews of the page and the cursor of the next one.
+     */
+    public CursorPage<Review> getReviewsPage(String userId, String gameId, String cursor, Integer size) {
+        Query query = new Query();
+        if (userId != null) {
+            query.addCriteria(Criteria.where("userId").is(userId));
+        }
+        if (gameId != null) {
+            query.addCriteria(Criteria.where("gameId").is(gameId));
+        }
+        return keysetPager.page(query, cursor, size, Review.class, Review::id);
+    }
+
     public List<Review> getReviewsByGameId(String gameId) {
         return reviewRepository.findByGameId(gameId).orElseThrow(() -> new ReviewNotFoundException("No notes found for id: " + gameId));
     }
@@ -36,69 +69,124 @@ public class ReviewService {
     }
 
     public void addReview(ReviewDTO review) {
+        Review toSave = toReview(review);
+        synchronized (lockOf(toSave.id())) {
+            Review saved = reviewRepository.save(toSave);
+            ratingStatsService.reviewAdded(saved);
+            leaderboardService.reviewAdded(saved);
+        }
+    }
 
-        Review reviewToAdd = new Review(
-                idService.randomId(),
-                review.gameTitle(),
-                review.userId(),
-                review.gameId(),
-                review.username(),
-                review.rating(),
-                review.content(),
-                review.date()
-        );
-        reviewRepository.save(reviewToAdd);
+    /**
+     * Import reviews of the logged-in user, e.g. from another tracker, writing them in batches.
+     * Reviews without a userId are stored as the logged-in user's; invalid reviews and reviews of
+     * another user are reported and skipped.
+     *
+     * @param in The reviews as a JSON array or newline-delimited JSON.
+     * @return The result of every review, with the IDs of the stored ones.
+     */
+    public ImportReport importReviews(InputStream in) throws IOException {
+        return importReviews(userService.getCurrentIdentity().id(), in);
     }
 
-    public void deleteReview(String reviewId) throws AccessDeniedException {
+    /**
+     * Import reviews of a user, writing them in batches.
+     *
+     * @param userId The user the reviews are stored for.
+     * @param in     The reviews as a JSON array or newline-delimited JSON.
+     * @return The result of every review, with the IDs of the stored ones.
+     * @see #importReviews(InputStream)
+     */
+    public ImportReport importReviews(String userId, InputStream in) throws IOException {
+        return bulkImporter.importRecords(in, ReviewDTO.class,
+                review -> validate(review, userId),
+                review -> toReview(review).withUserId(userId),
+                Review.class, Review::id,
+                stored -> {
+                    ratingStatsService.reviewsAdded(stored);
+                    leaderboardService.reviewsAdded(stored);
+                });
+    }
 
-        Review review = reviewRepository.findById(reviewId).orElseThrow(() -> new ReviewNotFoundException(reviewId));
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication instanceof OAuth2AuthenticationToken) {
-            OAuth2User principal = (OAuth2User) authentication.getPrincipal();
-            if (!isOwner(review, principal)) {
-                throw new AccessDeniedException("Only the owner of the review can delete it.");
-            }
-        } else {
-            String currentUserId = authentication.getName();
-            if (!isOwner(review, currentUserId)) {
-                throw new AccessDeniedException("Only the owner of the review can delete it.");
+    public void deleteReview(String reviewId) throws AccessDeniedException {
+        String currentUserId = userService.getCurrentIdentity().id();
+
+        Optional<Review> deleted;
+        synchronized (lockOf(reviewId)) {
+            // The ownership check and the delete are a single database call
+            deleted = reviewRepository.deleteIfOwner(reviewId, currentUserId);
+            deleted.ifPresent(review -> {
+                ratingStatsService.reviewRemoved(review);
+                leaderboardService.reviewRemoved(review);
+            });
+        }
+        if (deleted.isEmpty()) {
+            // Only a failed delete needs the second query, to tell a missing review from someone else's
+            if (!reviewRepository.existsById(reviewId)) {
+                throw new ReviewNotFoundException("No review found with id: " + reviewId);
             }
+            throw new AccessDeniedException("Only the owner of the review can delete it.");
         }
-
-        reviewRepository.deleteById(reviewId);
     }
 
+    /**
+     * Replace a review. The rating stats and leaderboards are moved from the review as it was stored
+     * right before the write, which the same atomic update returns.
+     *
+     * @param updatedReview The new content of the review.
+     * @param reviewId      The ID of the review.
+     * @throws ReviewNotFoundException if there is no review with the ID
+     */
     public void updateReview(ReviewDTO updatedReview, String reviewId) {
+        Review review = new Review(
+                reviewId,
+                updatedReview.gameTitle(),
+                updatedReview.userId(),
+                updatedReview.gameId(),
+                updatedReview.username(),
+                updatedReview.rating(),
+                updatedReview.content(),
+                updatedReview.date()
+        );
 
-        Review review = reviewRepository.findById(reviewId).orElseThrow(() -> new ReviewNotFoundException("Review with ID " + reviewId + " not found."))
-                .withId(reviewId)
-                .withGameTitle(updatedReview.gameTitle())
-                .withUserId(updatedReview.userId())
-                .withGameId(updatedReview.gameId())
-                .withUsername(updatedReview.username())
-                .withRating(updatedReview.rating())
-                .withContent(updatedReview.content())
-                .withDate(updatedReview.date());
-
-        reviewRepository.save(review);
+        synchronized (lockOf(reviewId)) {
+            Review before = reviewRepository.replace(review)
+                    .orElseThrow(() -> new ReviewNotFoundException("Review with ID " + reviewId + " not found."));
+            ratingStatsService.reviewChanged(before, review);
+            leaderboardService.reviewChanged(before, review);
+        }
     }
 
-    private boolean isOwner(Review review, OAuth2User principal) {
-        String githubId = principal.getAttribute("id").toString();
-        UserResponse user = userService.getUserByGitHubId(githubId);
-        if (user != null) {
-            String currentUserId = user.id();
-            return review.userId().equals(currentUserId);
-        } else {
-            // Handle the case where the user is not found
-            return false;
-        }
+    /**
+     * The lock of a review, so a removal is never reported before the write it removes.
+     */
+    private Object lockOf(String reviewId) {
+        return reviewLocks[Math.floorMod(reviewId.hashCode(), LOCK_STRIPES)];
     }
 
-    private boolean isOwner(Review review, String currentUserId) {
+    private Review toReview(ReviewDTO review) {
+        return new Review(
+                idService.randomId(),
+                review.gameTitle(),
+                review.userId(),
+                review.gameId(),
+                review.username(),
+                review.rating(),
+                review.content(),
+                review.date()
+        );
+    }
 
-        UserResponse user = userService.getUserByUsername(currentUserId);
-        return review.userId().equals(user.id());
+    private static String validate(ReviewDTO review, String userId) {
+        if (review.userId() != null && !review.userId().isBlank() && !review.userId().equals(userId)) {
+            return "userId must be your own";
+        }
+        if (review.gameId() == null || review.gameId().isBlank()) {
+            return "gameId is required";
+        }
+        if (review.rating() < MIN_RATING || review.rating() > MAX_RATING) {
+            return "rating must be between " + MIN_RATING + " and " + MAX_RATING;
+        }
+        return null;
     }
 }
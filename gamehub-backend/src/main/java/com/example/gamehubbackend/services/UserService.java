@@ -1,14 +1,24 @@
 package com.example.gamehubbackend.services;
 
+import com.example.gamehubbackend.exceptions.InvalidRequestException;
 import com.example.gamehubbackend.exceptions.UserNotFoundException;
+import com.example.gamehubbackend.dto.CursorPage;
 import com.example.gamehubbackend.dto.LibraryGameDTO;
+import com.example.gamehubbackend.dto.LibraryView;
 import com.example.gamehubbackend.models.User;
+import com.example.gamehubbackend.models.UserIdentity;
 import com.example.gamehubbackend.dto.UserDTO;
 import com.example.gamehubbackend.models.UserResponse;
 import com.example.gamehubbackend.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
@@ -16,17 +26,25 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
 import java.security.Principal;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    // Principal to identity cache, keyed "github:<id>" or "username:<name>"
+    private static final String IDENTITY_CACHE = "userIdentities";
+
     // Dependencies injected through the constructor
     private final UserRepository userRepository;
     private final IdService idService;
     private final PasswordEncoder passwordEncoder;
+    private final LibraryService libraryService;
+    private final CacheManager cacheManager;
+    private final KeysetPager keysetPager;
 
     /**
      * Retrieve all users from the database.
@@ -34,15 +52,48 @@ public class UserService {
      * @return List of all users.
      */
     public List<UserResponse> getAllUser() {
-        List<User> userList = userRepository.findAll();// Fetches all users from the repository
-        return userList.stream().map(user -> new UserResponse(
-                user.id(),
-                user.gitHubId(),
-                user.username(),
-                user.avatarUrl(),
-                user.role(),
-                user.gameLibrary()
-        )).toList();
+        return getAllUser(LibraryView.FULL);
+    }
+
+    /**
+     * Retrieve all users from the database, with their libraries read in one query.
+     *
+     * @param view How much of the libraries to include.
+     * @return List of all users.
+     */
+    public List<UserResponse> getAllUser(LibraryView view) {
+        return toResponses(userRepository.findAll(), view);  // Fetches all users from the repository
+    }
+
+    /**
+     * Retrieve a page of users in ID order, with their libraries read in one query.
+     *
+     * @param cursor The nextCursor of the previous page, null for the first page.
+     * @param size   The page size, null for the default.
+     * @param view   How much of the libraries to include.
+     * @return The users of the page and the cursor of the next one.
+     */
+    public CursorPage<UserResponse> getUsersPage(String cursor, Integer size, LibraryView view) {
+        Query query = new Query();
+        query.fields().exclude("password");
+        CursorPage<User> page = keysetPager.page(query, cursor, size, User.class, User::id);
+        return new CursorPage<>(toResponses(page.items(), view), page.nextCursor());
+    }
+
+    private List<UserResponse> toResponses(List<User> userList, LibraryView view) {
+        List<String> userIds = userList.stream().map(User::id).toList();
+
+        return switch (view) {
+            case FULL -> {
+                Map<String, List<LibraryGameDTO>> libraries = libraryService.getLibraries(userIds);
+                yield userList.stream().map(user -> userResponse(user, libraries.get(user.id()))).toList();
+            }
+            case SUMMARY -> {
+                Map<String, Long> sizes = libraryService.countLibraries(userIds);
+                yield userList.stream().map(user -> userResponse(user, null).withLibrarySize(sizes.get(user.id()))).toList();
+            }
+            case NONE -> userList.stream().map(user -> userResponse(user, null)).toList();
+        };
     }
 
     /**
@@ -74,16 +125,20 @@ public class UserService {
      * @return The user if found, else throws UserNotFoundException.
      */
     public UserResponse getUserById(String id) {
+        return getUserById(id, LibraryView.FULL);
+    }
+
+    /**
+     * Retrieve user by ID.
+     *
+     * @param id   The user's ID.
+     * @param view How much of the library to include.
+     * @return The user if found, else throws UserNotFoundException.
+     */
+    public UserResponse getUserById(String id, LibraryView view) {
         User user = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException("No user found with id: " + id));
 
-        return new UserResponse(
-                user.id(),
-                user.gitHubId(),
-                user.username(),
-                user.avatarUrl(),
-                user.role(),
-                user.gameLibrary()
-        );
+        return toResponse(user, view);
     }
 
     /**
@@ -93,17 +148,21 @@ public class UserService {
      * @return UserResponse containing the user's details.
      */
     public UserResponse getUserByGitHubId(String githubId) {
+        return getUserByGitHubId(githubId, LibraryView.FULL);
+    }
+
+    /**
+     * Retrieve user by GitHub ID.
+     *
+     * @param githubId The user's GitHub ID.
+     * @param view     How much of the library to include.
+     * @return UserResponse containing the user's details.
+     */
+    public UserResponse getUserByGitHubId(String githubId, LibraryView view) {
         User user = userRepository.findByGitHubId(githubId).orElseThrow(() -> new UserNotFoundException("No user found with gitHubId: " + githubId));
 
         // Return user details in a UserResponse object
-        return new UserResponse(
-                user.id(),
-                user.gitHubId(),
-                user.username(),
-                user.avatarUrl(),
-                user.role(),
-                user.gameLibrary()
-        );
+        return toResponse(user, view);
     }
 
     /**
@@ -116,14 +175,45 @@ public class UserService {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new UserNotFoundException("No user found with username: " + username));
 
         // Return user details in a UserResponse object
-        return new UserResponse(
-                user.id(),
-                user.gitHubId(),
-                user.username(),
-                user.avatarUrl(),
-                user.role(),
-                user.gameLibrary()
-        );
+        return toResponse(user, LibraryView.FULL);
+    }
+
+    /**
+     * Retrieve the ID and role of a user by GitHub ID, without reading the rest of the user or the library.
+     * Served from the "userIdentities" cache after the first lookup.
+     *
+     * @param githubId The user's GitHub ID.
+     * @return The user's identity.
+     */
+    public UserIdentity getIdentityByGitHubId(String githubId) {
+        return cachedIdentity("github:" + githubId, () -> userRepository.findIdentityByGitHubId(githubId)
+                .orElseThrow(() -> new UserNotFoundException("No user found with gitHubId: " + githubId)));
+    }
+
+    /**
+     * Retrieve the ID and role of a user by username, without reading the rest of the user or the library.
+     * Served from the "userIdentities" cache after the first lookup.
+     *
+     * @param username The user's username.
+     * @return The user's identity.
+     */
+    public UserIdentity getIdentityByUsername(String username) {
+        return cachedIdentity("username:" + username, () -> userRepository.findIdentityByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("No user found with username: " + username)));
+    }
+
+    /**
+     * Retrieve the ID and role of the currently authenticated user, from the GitHub ID of an OAuth2 login
+     * or the username of a password login.
+     *
+     * @return The current user's identity.
+     */
+    public UserIdentity getCurrentIdentity() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof OAuth2AuthenticationToken token) {
+            return getIdentityByGitHubId(String.valueOf(token.getPrincipal().getAttribute("id")));
+        }
+        return getIdentityByUsername(authentication.getName());
     }
 
     /**
@@ -142,27 +232,22 @@ public class UserService {
                 userDTO.gitHubId(),
                 avatar,
                 "USER",
-                new ArrayList<>(),
+                null,  // The library lives in the library collection
                 userDTO.creationDate(),
                 userDTO.lastUpdateDate()
         );
 
         // Save the new user in the database
-        userRepository.save(userToSave);
+        saveUnique(userToSave);
+        evictIdentities(userToSave.id(), userToSave.username(), userToSave.gitHubId());
 
-        // Return the saved user's details
-        return new UserResponse(
-                userToSave.id(),
-                userToSave.gitHubId(),
-                userToSave.username(),
-                userToSave.avatarUrl(),
-                userToSave.role(),
-                userToSave.gameLibrary()
-        );
+        // Return the saved user's details, a new user starts with an empty library
+        return userResponse(userToSave, List.of());
     }
 
     /**
      * Update an existing user's details.
+     * The library is replaced only if the DTO carries one.
      *
      * @param id      The user's ID.
      * @param userDTO The new user details.
@@ -173,72 +258,52 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("No user found with id: " + id));
 
+        if (userDTO.gameLibrary() != null) {
+            libraryService.replaceLibrary(id, userDTO.gameLibrary());
+            user = user.withGameLibrary(null);  // A still embedded library is replaced too, not migrated later
+        }
+
         user = user.withUsername(userDTO.username())
-                    .withRole(userDTO.role())
-                    .withGameLibrary(userDTO.gameLibrary());
+                    .withRole(userDTO.role());
 
         // Save and return the updated user
-        userRepository.save(user);
+        saveUnique(user);
+        evictIdentities(user.id(), user.username(), user.gitHubId());
 
-        return new UserResponse(
-                user.id(),
-                user.gitHubId(),
-                user.username(),
-                user.avatarUrl(),
-                user.role(),
-                user.gameLibrary()
-        );
+        return toResponse(user, LibraryView.FULL);
     }
 
     /**
      * Add a game to the user's library.
+     * A game whose id is already in the library is not added again.
+     * Two round trips: an _id lookup that reads no document, and the upsert of the library entry.
      *
      * @param userId The user's ID.
      * @param game   The game to be added.
-     * @return The updated user with the new game in their library.
+     * @return The game as stored in the library.
      */
-    public UserResponse addGameToLibrary(String userId, LibraryGameDTO game) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("No user found with id: " + userId));
-
-        // Add the game if it is not already in the user's library
-        if (!user.gameLibrary().contains(game)) {
-            user.gameLibrary().add(game);
+    public LibraryGameDTO addGameToLibrary(String userId, LibraryGameDTO game) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("No user found with id: " + userId);
         }
 
-        userRepository.save(user);
-
-        return new UserResponse(
-                user.id(),
-                user.gitHubId(),
-                user.username(),
-                user.avatarUrl(),
-                user.role(),
-                user.gameLibrary()
-        );
+        return libraryService.addGame(userId, game);
     }
 
     /**
      * Remove a game from the user's library.
+     * Only checks that the user exists; neither the user document nor the library is read.
      *
      * @param userId The user's ID.
      * @param game   The game to be removed.
-     * @return The updated user after removing the game.
+     * @return The removed game as it was stored in the library, empty if it was not in it.
      */
-    public UserResponse removeGameFromLibrary(String userId, LibraryGameDTO game) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("No user found with id: " + userId));
-
-        // Remove the game from the user's library
-        user.gameLibrary().remove(game);
-        userRepository.save(user);
+    public Optional<LibraryGameDTO> removeGameFromLibrary(String userId, LibraryGameDTO game) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("No user found with id: " + userId);
+        }
 
-        return new UserResponse(
-                user.id(),
-                user.gitHubId(),
-                user.username(),
-                user.avatarUrl(),
-                user.role(),
-                user.gameLibrary()
-        );
+        return libraryService.removeGame(userId, game.id());
     }
 
     /**
@@ -248,8 +313,82 @@ public class UserService {
      * @return no content and 204 status
      */
     public ResponseEntity<Object> deleteUser(String id) {
-        // Remove the user from the database
+        // Remove the user and their library from the database
         userRepository.deleteById(id);
+        libraryService.deleteLibrary(id);
+        evictIdentities(id, null, null);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Look up an identity in the "userIdentities" cache, loading and caching it on a miss.
+     * Unknown principals are not cached, so a user who registers is found right away.
+     */
+    private UserIdentity cachedIdentity(String principal, Supplier<UserIdentity> lookup) {
+        Cache cache = cacheManager.getCache(IDENTITY_CACHE);
+        if (cache == null) {
+            return lookup.get();
+        }
+
+        UserIdentity identity = cache.get(principal, UserIdentity.class);
+        if (identity == null) {
+            identity = lookup.get();
+            cache.put(principal, identity);
+        }
+        return identity;
+    }
+
+    /**
+     * Save a user; the unique indexes on username and gitHubId reject a second user with the same one.
+     */
+    private void saveUnique(User user) {
+        try {
+            userRepository.save(user);
+        } catch (DuplicateKeyException e) {
+            throw new InvalidRequestException("A user with the username " + user.username() + " or this GitHub account already exists");
+        }
+    }
+
+    /**
+     * Drop the cached identities of a user and of the principals the user now has,
+     * after its role or username changed, it was deleted, or it took over a username.
+     */
+    private void evictIdentities(String userId, String username, String gitHubId) {
+        Cache cache = cacheManager.getCache(IDENTITY_CACHE);
+        if (cache == null) {
+            return;
+        }
+
+        if (cache instanceof CaffeineCache caffeineCache) {
+            caffeineCache.getNativeCache().asMap().values()
+                    .removeIf(identity -> identity instanceof UserIdentity cached && cached.id().equals(userId));
+        } else {
+            cache.clear();
+        }
+        if (username != null) {
+            cache.evict("username:" + username);
+        }
+        if (gitHubId != null) {
+            cache.evict("github:" + gitHubId);
+        }
+    }
+
+    private UserResponse toResponse(User user, LibraryView view) {
+        return switch (view) {
+            case FULL -> userResponse(user, libraryService.getLibrary(user.id()));
+            case SUMMARY -> userResponse(user, null).withLibrarySize(libraryService.countLibrary(user.id()));
+            case NONE -> userResponse(user, null);
+        };
+    }
+
+    private static UserResponse userResponse(User user, List<LibraryGameDTO> gameLibrary) {
+        return new UserResponse(
+                user.id(),
+                user.gitHubId(),
+                user.username(),
+                user.avatarUrl(),
+                user.role(),
+                gameLibrary
+        );
+    }
 }
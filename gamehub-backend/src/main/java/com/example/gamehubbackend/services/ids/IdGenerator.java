@@ -0,0 +1,14 @@
+package com.example.gamehubbackend.services.ids;
+
+/**
+ * Generates the IDs of new documents. Implementations are thread-safe.
+ */
+public interface IdGenerator {
+
+    /**
+     * Generate a new unique ID.
+     *
+     * @return the ID
+     */
+    String nextId();
+}
@@ -0,0 +1,16 @@
+package com.example.gamehubbackend.services.ids;
+
+import org.bson.types.ObjectId;
+
+/**
+ * MongoDB ObjectIds as hex strings: a second timestamp, 5 random bytes per process and a counter.
+ * Spring Data stores string IDs that are valid ObjectIds as ObjectId.
+ * Increasing within a process, except when the counter wraps around within one second.
+ */
+public class ObjectIdGenerator implements IdGenerator {
+
+    @Override
+    public String nextId() {
+        return new ObjectId().toHexString();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.gamehubbackend.services.ids;
+
+import java.util.UUID;
+
+/**
+ * Random UUIDs (version 4).
+ */
+public class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
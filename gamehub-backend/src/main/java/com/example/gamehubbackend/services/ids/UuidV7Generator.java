@@ -0,0 +1,61 @@
+package com.example.gamehubbackend.services.ids;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered UUIDs (version 7, RFC 9562): 48 bits of Unix milliseconds, a 12-bit counter
+ * in the rand_a field and 62 random bits.
+ * <p>
+ * The IDs of one generator are strictly increasing, also as strings: the counter orders the IDs of one
+ * millisecond, and when it runs over or the clock goes back the timestamp is carried forward instead.
+ * IDs of different processes are told apart by the random bits.
+ */
+public class UuidV7Generator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    private final LongSupplier clock;
+    private final long processSalt;  // Differs between processes even if their ThreadLocalRandom sequences do not
+    private final AtomicLong last = new AtomicLong();  // Milliseconds << COUNTER_BITS | counter of the last ID
+
+    /**
+     * A generator on the system clock.
+     */
+    public UuidV7Generator() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * A generator on the given clock, so tests can hold time still or set it back.
+     *
+     * @param clock the current time in Unix milliseconds
+     */
+    UuidV7Generator(LongSupplier clock) {
+        this.clock = clock;
+        this.processSalt = new SecureRandom().nextLong();
+    }
+
+    /**
+     * Generate the next ID: the timestamp and counter move past the last ID's in one atomic step,
+     * so parallel callers get distinct, increasing positions without a lock.
+     *
+     * @return the UUID in its canonical string form
+     */
+    @Override
+    public String nextId() {
+        long now = clock.getAsLong() << COUNTER_BITS;
+        long position = last.updateAndGet(previous -> Math.max(previous + 1, now));
+
+        long mostSignificant = (position >>> COUNTER_BITS) << 16 | VERSION_7 | position & COUNTER_MASK;
+        long leastSignificant = (ThreadLocalRandom.current().nextLong() ^ processSalt) & RANDOM_MASK | VARIANT;
+        return new UUID(mostSignificant, leastSignificant).toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reloads RAWG cache entries from their cache key.
+ * Caches with refresh-after-write configured use this loader to serve the stale value while
+ * fetching a fresh one in the background (stale-while-revalidate). If the refresh fails,
+ * the stale value stays in the cache until its expire-after-write (hard TTL) is reached.
+ * Refreshes always ask RAWG: a response stored by RawgClient (rawg.disk-cache.max-age) would otherwise come back
+ * as the "fresh" value and keep an entry alive beyond its hard TTL.
+ */
+@Component
+public class RawgCacheLoader implements CacheLoader<Object, Object> {
+
+    private final RawgService rawgService;
+
+    // Lazy, as the cache manager needs this loader before the cached RawgService can be created
+    public RawgCacheLoader(@Lazy RawgService rawgService) {
+        this.rawgService = rawgService;
+    }
+
+    /**
+     * Load the value for a "games" or "gameDetail" cache key.
+     *
+     * @param key a RawgPageKey for game lists or the game ID for game details
+     * @return the value freshly fetched from RAWG
+     */
+    @Override
+    public Object load(Object key) {
+        if (key instanceof RawgPageKey pageKey) {
+            return rawgService.refreshGameList(pageKey);
+        }
+        if (key instanceof String gameId) {
+            return rawgService.refreshGameDetail(gameId);
+        }
+        throw new IllegalArgumentException("Unsupported RAWG cache key: " + key);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.repositories.LibraryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the RAWG caches on startup, so the first visitors after a restart do not pay RAWG's latency.
+ * Loads the first pages of the unfiltered game list and the details of the games found in the most
+ * user libraries, with at most concurrency calls at a time.
+ * <p>
+ * Application runners complete before the application reports itself ready, so startup waits for the
+ * warm-up at most until the deadline; whatever is left then keeps loading in the background.
+ */
+@Component
+public class RawgCacheWarmer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RawgCacheWarmer.class);
+
+    private final RawgService rawgService;
+    private final LibraryRepository libraryRepository;
+    private final boolean enabled;
+    private final int pages;  // First pages of the game list to load
+    private final int topGames;  // Most libraried games whose details are loaded
+    private final int concurrency;
+    private final Duration deadline;  // How long startup waits for the warm-up
+
+    private final Counter warmedLists;
+    private final Counter warmedDetails;
+    private final Counter failures;
+    private final Timer duration;
+
+    public RawgCacheWarmer(RawgService rawgService,
+                           LibraryRepository libraryRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${rawg.warm-up.enabled:false}") boolean enabled,
+                           @Value("${rawg.warm-up.pages:3}") int pages,
+                           @Value("${rawg.warm-up.top-games:50}") int topGames,
+                           @Value("${rawg.warm-up.concurrency:4}") int concurrency,
+                           @Value("${rawg.warm-up.deadline:20s}") Duration deadline) {
+        this.rawgService = rawgService;
+        this.libraryRepository = libraryRepository;
+        this.enabled = enabled;
+        this.pages = pages;
+        this.topGames = topGames;
+        this.concurrency = Math.max(1, concurrency);
+        this.deadline = deadline;
+        this.warmedLists = meterRegistry.counter("rawg.warmup.entries", "type", "list");
+        this.warmedDetails = meterRegistry.counter("rawg.warmup.entries", "type", "detail");
+        this.failures = meterRegistry.counter("rawg.warmup.failures");
+        this.duration = meterRegistry.timer("rawg.warmup.duration");
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Load the configured pages and game details into the caches, waiting at most until the deadline.
+     *
+     * @return true if the warm-up finished before the deadline
+     */
+    public boolean warmUp() {
+        long start = System.nanoTime();
+        AtomicInteger warmed = new AtomicInteger();
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (int page = 1; page <= pages; page++) {
+            String pageNumber = String.valueOf(page);
+            tasks.add(() -> {
+                rawgService.loadAllGames(pageNumber, null);
+                warmedLists.increment();
+            });
+        }
+        for (String gameId : mostLibrariedGameIds()) {
+            tasks.add(() -> {
+                rawgService.loadGameDetail(gameId);
+                warmedDetails.increment();
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        CompletableFuture<Void> all = CompletableFuture.allOf(tasks.stream()
+                .map(task -> CompletableFuture.runAsync(() -> warm(task, warmed), executor))
+                .toArray(CompletableFuture[]::new));
+
+        // Report once everything is loaded, also if that is after the deadline
+        all.whenComplete((result, error) -> {
+            executor.shutdown();
+            long elapsed = System.nanoTime() - start;
+            duration.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("RAWG cache warm-up loaded {} of {} entries in {} ms", warmed.get(), tasks.size(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        });
+
+        try {
+            all.get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            log.info("RAWG cache warm-up loaded {} of {} entries before its {} deadline, continuing in the background",
+                    warmed.get(), tasks.size(), deadline);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;  // Not reached, warm() handles the failures of single entries
+        }
+    }
+
+    /**
+     * Load a single entry; a failing entry is logged and skipped, it is loaded on its first request instead.
+     */
+    private void warm(Runnable task, AtomicInteger warmed) {
+        try {
+            task.run();
+            warmed.incrementAndGet();
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.debug("RAWG cache warm-up entry failed", e);
+        }
+    }
+
+    private List<String> mostLibrariedGameIds() {
+        if (topGames <= 0) {
+            return List.of();
+        }
+        try {
+            return libraryRepository.findMostLibrariedGameIds(topGames);
+        } catch (RuntimeException e) {
+            log.warn("Could not determine the most libraried games for the RAWG cache warm-up", e);
+            return List.of();
+        }
+    }
+}
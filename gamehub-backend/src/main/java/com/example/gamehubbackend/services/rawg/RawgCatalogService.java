@@ -0,0 +1,238 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.models.CatalogGame;
+import com.example.gamehubbackend.models.Game;
+import com.example.gamehubbackend.models.rawg.RawgGame;
+import com.example.gamehubbackend.models.rawg.RawgGameDetail;
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import com.example.gamehubbackend.repositories.CatalogGameRepository;
+import com.example.gamehubbackend.repositories.CatalogSyncCheckpointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Local mirror of the RAWG catalog in the "catalog" collection.
+ * Filled by RawgCatalogSyncService; once a full sync has completed, unfiltered list pages and detail reads
+ * are answered from here and only fall back to RAWG for pages or games the mirror does not have.
+ * Searches always go to RAWG, which matches and ranks them in ways a title match over the mirror cannot reproduce.
+ * <p>
+ * Whether a full sync has completed and how many games it ranked are read from its checkpoint once and then
+ * kept in memory, so list reads cost a single range query over the ranks.
+ */
+@Service
+public class RawgCatalogService {
+
+    public static final String FULL_SYNC = "full";
+    public static final String RECENT_SYNC = "recent";
+    public static final int PAGE_SIZE = 40;  // Same page size as the RAWG requests
+
+    private final CatalogGameRepository catalogGameRepository;
+    private final CatalogSyncCheckpointRepository checkpointRepository;
+    private final MongoTemplate mongoTemplate;
+    private final boolean serveReads;  // Whether reads are answered from the mirror at all
+    private volatile boolean stateLoaded;
+    private volatile Integer rankedGames;  // Games ranked by the last completed full sync, null if none completed
+
+    public RawgCatalogService(CatalogGameRepository catalogGameRepository,
+                              CatalogSyncCheckpointRepository checkpointRepository,
+                              MongoTemplate mongoTemplate,
+                              @Value("${rawg.catalog.serve-reads:false}") boolean serveReads) {
+        this.catalogGameRepository = catalogGameRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.serveReads = serveReads;
+    }
+
+    /**
+     * Find a page of games in the mirror.
+     *
+     * @param page   The page number (defaults to 1 if null).
+     * @param search The search term, searches are not answered from the mirror.
+     * @return The page, or empty if the mirror is not used, the request is a search or the mirror has no games for it.
+     */
+    public Optional<RawgGameList> findGameList(String page, String search) {
+        if (!serveReads || (search != null && !search.isBlank())) {
+            return Optional.empty();
+        }
+        Integer total = rankedGames();
+        if (total == null) {
+            return Optional.empty();
+        }
+
+        int pageNumber;
+        try {
+            pageNumber = page != null ? Integer.parseInt(page.trim()) : 1;
+        } catch (NumberFormatException e) {
+            return Optional.empty();  // Let RAWG answer invalid pages as before
+        }
+        if (pageNumber < 1) {
+            return Optional.empty();
+        }
+
+        // Full syncs rank the games 0, 1, 2, ... in RAWG's order, so a page is a range of ranks
+        long firstRank = (long) (pageNumber - 1) * PAGE_SIZE;
+        if (firstRank >= total) {
+            return Optional.empty();
+        }
+        Query pageQuery = Query.query(Criteria.where("rank").gte(firstRank).lt(Math.min(firstRank + PAGE_SIZE, total)))
+                .with(Sort.by("rank", "id"))
+                .limit(PAGE_SIZE);
+        List<CatalogGame> result = mongoTemplate.find(pageQuery, CatalogGame.class);
+
+        if (result.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new RawgGameList(
+                total,
+                firstRank + PAGE_SIZE < total ? pageUri(pageNumber + 1) : null,
+                pageNumber > 1 ? pageUri(pageNumber - 1) : null,
+                result.stream()
+                        .map(game -> new Game(game.id(), game.title(), game.genre(), game.releaseDate(), game.platforms(), game.coverImage()))
+                        .toList()
+        ));
+    }
+
+    /**
+     * Find the stored detail of a game in the mirror.
+     *
+     * @param gameId The RAWG game ID.
+     * @return The detail, or empty if the mirror is not used or has no detail for the game.
+     */
+    public Optional<RawgGameDetail> findGameDetail(String gameId) {
+        if (!serveReads) {
+            return Optional.empty();
+        }
+        return catalogGameRepository.findById(gameId)
+                .map(CatalogGame::detail);
+    }
+
+    /**
+     * Store a detail fetched from RAWG with its mirrored game.
+     *
+     * @param gameId The RAWG game ID.
+     * @param detail The detail to store.
+     */
+    public void saveGameDetail(String gameId, RawgGameDetail detail) {
+        if (!serveReads) {
+            return;
+        }
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(gameId)),
+                new Update().set("detail", detail),
+                CatalogGame.class);
+    }
+
+    /**
+     * Insert or update a page of RAWG games in one bulk write.
+     *
+     * @param games     The games of the page.
+     * @param firstRank The rank of the first game, used by full syncs to keep RAWG's ordering.
+     * @param fullSync  Whether this is a full sync; a recent sync keeps existing ranks and
+     *                  drops stored details since the games changed upstream.
+     * @return The number of games written.
+     */
+    public int upsertGames(List<RawgGame> games, int firstRank, boolean fullSync) {
+        if (games.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime syncedAt = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CatalogGame.class);
+
+        for (int i = 0; i < games.size(); i++) {
+            RawgGame rawgGame = games.get(i);
+            Game game = RawgGameMapper.toGame(rawgGame);
+
+            Update update = new Update()
+                    .set("title", game.title())
+                    .set("genre", game.genre())
+                    .set("releaseDate", game.releaseDate())
+                    .set("platforms", game.platforms())
+                    .set("coverImage", game.coverImage())
+                    .set("updated", rawgGame.updated())
+                    .set("syncedAt", syncedAt);
+
+            if (fullSync) {
+                update.set("rank", firstRank + i);
+            } else {
+                // New games are ranked behind everything from the full sync
+                update.setOnInsert("rank", Integer.MAX_VALUE);
+                update.unset("detail");
+            }
+
+            bulk.upsert(Query.query(Criteria.where("_id").is(game.id())), update);
+        }
+
+        bulk.execute();
+        return games.size();
+    }
+
+    /**
+     * Check whether a full sync has completed, which is what allows unfiltered list pages to be answered
+     * from the mirror. Answered from memory; the full sync checkpoint is only read on first use and after reloadState().
+     *
+     * @return true if a full sync has completed, false while the mirror may still be missing games
+     */
+    public boolean isComplete() {
+        return rankedGames() != null;
+    }
+
+    /**
+     * Record a completed full sync, called by RawgCatalogSyncService after saving its checkpoint.
+     * Games left with a rank past the new end (dropped by RAWG since an earlier full sync) are ranked last,
+     * like games added by recent syncs, so they no longer show up on the listed pages.
+     *
+     * @param rankedGames The number of games the sync ranked.
+     */
+    public void fullSyncCompleted(int rankedGames) {
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("rank").gte(rankedGames).lt(Integer.MAX_VALUE)),
+                Update.update("rank", Integer.MAX_VALUE),
+                CatalogGame.class);
+        this.rankedGames = rankedGames;
+        stateLoaded = true;
+    }
+
+    /**
+     * Read the completion state from the full sync checkpoint again on the next use,
+     * e.g. after another instance completed a sync or the checkpoint was reset.
+     */
+    public void reloadState() {
+        stateLoaded = false;
+    }
+
+    /**
+     * The number of games ranked by the last completed full sync, read from its checkpoint on first use.
+     * Checkpoints from before the total was stored are counted once.
+     */
+    private Integer rankedGames() {
+        if (!stateLoaded) {
+            rankedGames = checkpointRepository.findById(FULL_SYNC)
+                    .filter(checkpoint -> checkpoint.completedAt() != null)
+                    .map(checkpoint -> checkpoint.rankedGames() != null
+                            ? checkpoint.rankedGames()
+                            : (int) mongoTemplate.count(Query.query(Criteria.where("rank").lt(Integer.MAX_VALUE)), CatalogGame.class))
+                    .orElse(null);
+            stateLoaded = true;
+        }
+        return rankedGames;
+    }
+
+    /**
+     * Build the relative URI of another page, in the same shape as RAWG's next/previous links.
+     */
+    private String pageUri(int page) {
+        return "api/games?page_size=" + PAGE_SIZE + "&page=" + page;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.dto.CatalogSyncResult;
+import com.example.gamehubbackend.models.CatalogSyncCheckpoint;
+import com.example.gamehubbackend.models.rawg.RawgGameResponse;
+import com.example.gamehubbackend.repositories.CatalogSyncCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Pages through the RAWG "api/games" endpoint and upserts every game into the local catalog mirror.
+ * <p>
+ * A full sync walks RAWG's default ordering, a recent sync only the games updated since the last run.
+ * Pages are fetched in batches of page-concurrency parallel requests; after every stored batch the
+ * next page is written to a checkpoint, so an interrupted run resumes where it stopped.
+ */
+@Service
+public class RawgCatalogSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(RawgCatalogSyncService.class);
+
+    private final RawgClient rawgClient;
+    private final RawgCatalogService rawgCatalogService;
+    private final CatalogSyncCheckpointRepository checkpointRepository;
+    private final int pageConcurrency;  // Pages requested in parallel
+    private final int maxPages;  // Upper bound of pages per run
+    private final String scheduledMode;  // Mode of the scheduled run once a full sync has completed
+
+    public RawgCatalogSyncService(RawgClient rawgClient,
+                                  RawgCatalogService rawgCatalogService,
+                                  CatalogSyncCheckpointRepository checkpointRepository,
+                                  @Value("${rawg.catalog.sync.page-concurrency:4}") int pageConcurrency,
+                                  @Value("${rawg.catalog.sync.max-pages:250}") int maxPages,
+                                  @Value("${rawg.catalog.sync.mode:recent}") String scheduledMode) {
+        this.rawgClient = rawgClient;
+        this.rawgCatalogService = rawgCatalogService;
+        this.checkpointRepository = checkpointRepository;
+        this.pageConcurrency = Math.max(1, pageConcurrency);
+        this.maxPages = maxPages;
+        this.scheduledMode = scheduledMode;
+    }
+
+    /**
+     * Scheduled sync, disabled unless rawg.catalog.sync.cron is set.
+     * Runs a full sync until one has completed, afterwards the configured mode.
+     */
+    @Scheduled(cron = "${rawg.catalog.sync.cron:-}")
+    public void scheduledSync() {
+        CatalogSyncResult result = !rawgCatalogService.isComplete() || RawgCatalogService.FULL_SYNC.equals(scheduledMode)
+                ? syncAll()
+                : syncRecentlyUpdated();
+        log.info("RAWG catalog sync ({}) stored {} games from {} pages", result.mode(), result.games(), result.pages());
+    }
+
+    /**
+     * Sync the whole catalog in RAWG's default ordering, resuming an interrupted run.
+     *
+     * @return The result of the run.
+     */
+    public synchronized CatalogSyncResult syncAll() {
+        return sync(RawgCatalogService.FULL_SYNC, null);
+    }
+
+    /**
+     * Sync only the games RAWG updated since the last completed run, resuming an interrupted run.
+     *
+     * @return The result of the run.
+     */
+    public synchronized CatalogSyncResult syncRecentlyUpdated() {
+        CatalogSyncCheckpoint checkpoint = checkpoint(RawgCatalogService.RECENT_SYNC);
+
+        // A resumed run keeps its original filter, otherwise pages would shift under it
+        String updatedFrom = checkpoint.nextPage() > 1 && checkpoint.updatedFrom() != null
+                ? checkpoint.updatedFrom()
+                : lastCompletedSync().minusDays(1).toString();
+
+        return sync(RawgCatalogService.RECENT_SYNC, updatedFrom);
+    }
+
+    /**
+     * Fetch and store pages in parallel batches until RAWG has no next page or the page limit is reached.
+     * A run stopped by the limit keeps its checkpoint, so the next run continues after it; only a run that
+     * reached the last page marks the sync completed.
+     */
+    private CatalogSyncResult sync(String mode, String updatedFrom) {
+        CatalogSyncCheckpoint checkpoint = checkpoint(mode).withUpdatedFrom(updatedFrom);
+        boolean fullSync = RawgCatalogService.FULL_SYNC.equals(mode);
+
+        int page = Math.max(1, checkpoint.nextPage());
+        int lastAllowedPage = page + maxPages - 1;  // The limit is per run, a resumed run gets the same budget
+        int pages = 0;
+        int games = 0;
+        int rankedGames = 0;  // Ranks handed out by a full sync, all pages before the last one are full
+        boolean lastPage = false;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(pageConcurrency)) {
+            while (!lastPage && page <= lastAllowedPage) {
+                int batchEnd = Math.min(page + pageConcurrency, lastAllowedPage + 1);
+
+                List<Future<RawgGameResponse>> batch = new ArrayList<>();
+                for (int p = page; p < batchEnd; p++) {
+                    String path = pagePath(p, updatedFrom);
+                    batch.add(executor.submit(() -> fetchPage(path)));
+                }
+
+                // Store the batch in page order and stop at the first page without a successor
+                for (int i = 0; i < batch.size() && !lastPage; i++) {
+                    RawgGameResponse response = await(batch.get(i));
+                    int firstRank = (page + i - 1) * RawgCatalogService.PAGE_SIZE;
+                    if (response == null || response.results() == null || response.results().isEmpty()) {
+                        rankedGames = Math.max(rankedGames, firstRank);
+                        lastPage = true;
+                        continue;
+                    }
+
+                    rankedGames = firstRank + response.results().size();
+                    games += rawgCatalogService.upsertGames(response.results(), firstRank, fullSync);
+                    pages++;
+                    lastPage = response.next() == null;
+                }
+
+                page = batchEnd;
+                checkpoint = checkpointRepository.save(checkpoint.withNextPage(page));
+            }
+        }
+
+        if (!lastPage) {
+            log.info("RAWG catalog sync ({}) stopped at the limit of {} pages, the next run continues at page {}", mode, maxPages, page);
+            return new CatalogSyncResult(mode, pages, games, false);
+        }
+
+        checkpoint = checkpoint.withNextPage(1).withCompletedAt(LocalDateTime.now());
+        if (fullSync) {
+            checkpointRepository.save(checkpoint.withRankedGames(rankedGames));
+            rawgCatalogService.fullSyncCompleted(rankedGames);
+        } else {
+            checkpointRepository.save(checkpoint);
+        }
+        return new CatalogSyncResult(mode, pages, games, true);
+    }
+
+    /**
+     * Fetch one page, RAWG answers pages past the end with 404.
+     */
+    private RawgGameResponse fetchPage(String path) {
+        try {
+            return rawgClient.get(path, RawgGameResponse.class);
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+    }
+
+    private String pagePath(int page, String updatedFrom) {
+        String path = "api/games?page_size=" + RawgCatalogService.PAGE_SIZE + "&page=" + page;
+        if (updatedFrom != null) {
+            path += "&ordering=-updated&updated=" + updatedFrom + "," + LocalDate.now();
+        }
+        return path;
+    }
+
+    private CatalogSyncCheckpoint checkpoint(String mode) {
+        return checkpointRepository.findById(mode)
+                .orElse(new CatalogSyncCheckpoint(mode, 1, null, null, null));
+    }
+
+    /**
+     * Date of the last completed run of any mode, today if there was none.
+     */
+    private LocalDate lastCompletedSync() {
+        return Stream.of(RawgCatalogService.FULL_SYNC, RawgCatalogService.RECENT_SYNC)
+                .map(mode -> checkpointRepository.findById(mode).map(CatalogSyncCheckpoint::completedAt).orElse(null))
+                .filter(Objects::nonNull)
+                .map(LocalDateTime::toLocalDate)
+                .max(LocalDate::compareTo)
+                .orElse(LocalDate.now());
+    }
+
+    /**
+     * Wait for a page request and rethrow its original error, leaving the checkpoint at the last stored batch.
+     */
+    private static RawgGameResponse await(Future<RawgGameResponse> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("RAWG catalog sync was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("RAWG catalog sync failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.exceptions.RawgUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Performs the HTTP calls against the RAWG API.
+ * Response bodies are kept in the persistent RawgResponseStore so they survive restarts;
+ * a stored body younger than the configured max age is returned without calling RAWG.
+ * <p>
+ * Calls first take a permit of the API key's rate limit, then run through a bulkhead (limited concurrency,
+ * bounded wait for a slot) inside a circuit breaker. If the rate limit is exhausted, RAWG fails, the circuit
+ * is open or the bulkhead is full, the last stored body is served regardless
+ * of its age; without one a RawgUnavailableException is thrown, answered with 503 Service Unavailable.
+ */
+@Component
+public class RawgClient {
+
+    private static final Logger log = LoggerFactory.getLogger(RawgClient.class);
+
+    private final RestClient restClient;
+    private final RawgResponseStore responseStore;
+    private final ObjectMapper objectMapper;
+    private final Duration maxAge;  // How long a stored response is served without asking RAWG again
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final RawgRateLimiter rateLimiter;
+    private final Counter staleFallbacks;
+    private final Counter failedFallbacks;
+
+    @Value("${rawg.api.key}")  // Injects the RAWG API key from application properties
+    private String apiKey;
+
+    /**
+     * Constructs a RawgClient on top of the configured RAWG RestClient.
+     *
+     * @param rawgRestClient     The REST client for the RAWG API, see RawgConfig.
+     * @param responseStore      The persistent store for response bodies.
+     * @param maxAge             How long a stored response body is considered fresh.
+     * @param objectMapper       The mapper used to read the response bodies.
+     * @param rawgCircuitBreaker The circuit breaker around RAWG calls.
+     * @param rawgBulkhead       The bulkhead limiting concurrent RAWG calls.
+     * @param rawgRateLimiter    The rate limiter of the RAWG API key.
+     * @param meterRegistry      The registry for the fallback counters.
+     */
+    public RawgClient(RestClient rawgRestClient,
+                      RawgResponseStore responseStore,
+                      @Value("${rawg.disk-cache.max-age:30m}") Duration maxAge,
+                      ObjectMapper objectMapper,
+                      CircuitBreaker rawgCircuitBreaker,
+                      Bulkhead rawgBulkhead,
+                      RawgRateLimiter rawgRateLimiter,
+                      MeterRegistry meterRegistry) {
+        this.restClient = rawgRestClient;
+        this.responseStore = responseStore;
+        this.maxAge = maxAge;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = rawgCircuitBreaker;
+        this.bulkhead = rawgBulkhead;
+        this.rateLimiter = rawgRateLimiter;
+        this.staleFallbacks = meterRegistry.counter("rawg.fallback", "outcome", "stale");
+        this.failedFallbacks = meterRegistry.counter("rawg.fallback", "outcome", "unavailable");
+    }
+
+    /**
+     * Get and deserialize the response for a RAWG API path.
+     *
+     * @param path The API path including query parameters, without the API key.
+     * @param type The type to read.
+     * @return The deserialized body, or null if RAWG returned no body.
+     */
+    public <T> T get(String path, Class<T> type) {
+        return read(path, get(path), type);
+    }
+
+    /**
+     * Get and deserialize the response for a RAWG API path from RAWG, even if a fresh body is stored.
+     *
+     * @param path The API path including query parameters, without the API key.
+     * @param type The type to read.
+     * @return The deserialized body, or null if RAWG returned no body.
+     * @see #refresh(String)
+     */
+    public <T> T refresh(String path, Class<T> type) {
+        return read(path, refresh(path), type);
+    }
+
+    /**
+     * Get the response body for a RAWG API path from RAWG, even if a fresh body is stored.
+     * Used by the background refresh of the cache tier, which would otherwise get back the stored body
+     * it is meant to replace. No stored body is served as fallback either: a failed refresh keeps the
+     * cached value only until its expire-after-write.
+     *
+     * @param path The API path including query parameters, without the API key.
+     * @return The raw response body, or null if RAWG returned no body.
+     * @throws RawgUnavailableException if RAWG cannot be used
+     */
+    public byte[] refresh(String path) {
+        return get(path, true);
+    }
+
+    /**
+     * Get the response body for a RAWG API path, from the persistent store if fresh, otherwise from RAWG.
+     *
+     * @param path The API path including query parameters, without the API key.
+     * @return The raw response body, or null if RAWG returned no body.
+     */
+    public byte[] get(String path) {
+        return get(path, false);
+    }
+
+    /**
+     * Deserialize a response body.
+     */
+    private <T> T read(String path, byte[] body, Class<T> type) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read RAWG response for " + path, e);
+        }
+    }
+
+    /**
+     * Get the response body for a path, a refresh neither serves nor falls back to the stored body.
+     */
+    private byte[] get(String path, boolean refresh) {
+        Optional<RawgResponseStore.StoredResponse> stored = refresh ? Optional.empty() : responseStore.get(path);
+        if (stored.isPresent() && stored.get().writtenAt().isAfter(Instant.now().minus(maxAge))) {
+            return stored.get().body();
+        }
+
+        byte[] body;
+        try {
+            // Waiting for the rate limit must neither hold a bulkhead slot nor count for the circuit breaker
+            rateLimiter.acquirePermission();
+            body = circuitBreaker.executeSupplier(() -> bulkhead.executeSupplier(() -> fetch(path)));
+        } catch (RequestNotPermitted | CallNotPermittedException | BulkheadFullException | ResourceAccessException
+                 | HttpServerErrorException | HttpClientErrorException.TooManyRequests e) {
+            return fallback(path, stored, e);
+        }
+
+        if (body != null) {
+            responseStore.put(path, body);
+        }
+        return body;
+    }
+
+    /**
+     * Call RAWG for a path.
+     */
+    private byte[] fetch(String path) {
+        return restClient.get()
+                .uri(withApiKey(path))
+                .retrieve()
+                .body(byte[].class);
+    }
+
+    /**
+     * Serve the last stored body of a path when RAWG cannot be used, however old it is.
+     */
+    private byte[] fallback(String path, Optional<RawgResponseStore.StoredResponse> stored, RuntimeException cause) {
+        if (stored.isPresent()) {
+            staleFallbacks.increment();
+            log.warn("RAWG unavailable ({}), serving stored response of {} from {}", cause.getClass().getSimpleName(), path, stored.get().writtenAt());
+            return stored.get().body();
+        }
+
+        failedFallbacks.increment();
+        throw new RawgUnavailableException("The game database is currently unavailable, please try again later", cause);
+    }
+
+    /**
+     * Append the API key to a path; the key is never part of a stored key.
+     */
+    private String withApiKey(String path) {
+        return path + (path.contains("?") ? "&" : "?") + "key=" + apiKey;
+    }
+}
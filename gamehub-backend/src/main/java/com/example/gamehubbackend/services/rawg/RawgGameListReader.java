@@ -0,0 +1,147 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.models.Game;
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads a RAWG "api/games" response body token by token straight into a RawgGameList.
+ * <p>
+ * Produces the same result as reading a RawgGameResponse and mapping it with RawgGameMapper, without
+ * building the intermediate RawgGame, RawgGenre and RawgPlatformWrapper objects first. Fields the
+ * gallery does not use (ratings, tags, screenshots, ...) are skipped without being materialized.
+ * See RawgGameListReaderBenchmark for the allocation comparison of both paths.
+ */
+public final class RawgGameListReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int EXPECTED_PAGE_SIZE = 40;
+
+    private RawgGameListReader() {
+    }
+
+    /**
+     * Read a RAWG list response body.
+     *
+     * @param body the raw response body, may be null
+     * @return the games of the page, empty if there was no response body
+     */
+    public static RawgGameList read(byte[] body) {
+        if (body == null || body.length == 0) {
+            return new RawgGameList(0, null, null, Collections.emptyList());
+        }
+
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object as RAWG list response");
+            }
+
+            int count = 0;
+            String next = null;
+            String previous = null;
+            List<Game> games = Collections.emptyList();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "count" -> count = parser.getValueAsInt();
+                    case "next" -> next = parser.getValueAsString();
+                    case "previous" -> previous = parser.getValueAsString();
+                    case "results" -> games = readGames(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            return new RawgGameList(count, next, previous, games);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read RAWG game list", e);
+        }
+    }
+
+    /**
+     * Read the "results" array, the parser is positioned on its start.
+     */
+    private static List<Game> readGames(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return Collections.emptyList();
+        }
+
+        List<Game> games = new ArrayList<>(EXPECTED_PAGE_SIZE);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            games.add(readGame(parser));
+        }
+        return Collections.unmodifiableList(games);
+    }
+
+    /**
+     * Read a single game object, the parser is positioned on its start.
+     */
+    private static Game readGame(JsonParser parser) throws IOException {
+        int id = 0;
+        String name = null;
+        String released = null;
+        String backgroundImage = null;
+        List<String> genres = Collections.emptyList();
+        List<String> platforms = Collections.emptyList();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsInt();
+                case "name" -> name = parser.getValueAsString();
+                case "released" -> released = parser.getValueAsString();
+                case "background_image" -> backgroundImage = parser.getValueAsString();
+                case "genres" -> genres = readNames(parser, null);
+                case "platforms" -> platforms = readNames(parser, "platform");  // [{"platform": {"name": ...}}]
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new Game(String.valueOf(id), name, genres, released, platforms, backgroundImage);
+    }
+
+    /**
+     * Read the names of an array of named objects, optionally wrapped in another object.
+     *
+     * @param wrapper the field holding the named object, or null if the array holds the named objects directly
+     */
+    private static List<String> readNames(JsonParser parser, String wrapper) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return Collections.emptyList();
+        }
+
+        List<String> names = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            names.add(readName(parser, wrapper));
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    private static String readName(JsonParser parser, String wrapper) throws IOException {
+        String name = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (wrapper != null && wrapper.equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                name = readName(parser, null);
+            } else if (wrapper == null && "name".equals(field)) {
+                name = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return name;
+    }
+}
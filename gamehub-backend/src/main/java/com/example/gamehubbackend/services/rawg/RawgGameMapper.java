@@ -0,0 +1,63 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.models.Game;
+import com.example.gamehubbackend.models.rawg.RawgGame;
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import com.example.gamehubbackend.models.rawg.RawgGameResponse;
+import com.example.gamehubbackend.models.rawg.RawgGenre;
+
+import java.util.Collections;
+
+/**
+ * Maps RAWG API responses to the application's game models.
+ * Shared by the live API path and the catalog sync.
+ */
+public final class RawgGameMapper {
+
+    private RawgGameMapper() {
+    }
+
+    /**
+     * Map a RAWG list response to a RawgGameList.
+     *
+     * @param body the RAWG response, may be null
+     * @return the mapped list, empty if there was no response body
+     */
+    public static RawgGameList toGameList(RawgGameResponse body) {
+        // Return an empty list if the response body is null
+        if (body == null) {
+            return new RawgGameList(0, null, null, Collections.emptyList());
+        }
+
+        // Map the RAWG game response to a list of Game objects
+        return new RawgGameList(
+                body.count(),
+                body.next(),
+                body.previous(),
+                body.results()
+                        .stream()
+                        .map(RawgGameMapper::toGame)
+                        .toList());
+    }
+
+    /**
+     * Map a single RAWG game to a Game.
+     *
+     * @param game the RAWG game
+     * @return the mapped Game
+     */
+    public static Game toGame(RawgGame game) {
+        return new Game(
+                String.valueOf(game.id()),
+                game.name(),
+                game.genres().stream()
+                        .map(RawgGenre::name)  // Map RAWG genres to their names
+                        .toList(),
+                game.released(),  // Release date
+                game.platforms().stream()
+                        .map(wrapper -> wrapper.platform().name())  // Map RAWG platforms to their names
+                        .toList(),
+                game.background_image()
+        );
+    }
+}
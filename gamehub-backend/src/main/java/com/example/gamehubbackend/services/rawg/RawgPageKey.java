@@ -0,0 +1,70 @@
+package com.example.gamehubbackend.services.rawg;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Cache key of a RAWG game list page.
+ * Keeps the request parameters readable so a cached page can be reloaded from its key.
+ * Keys are built with {@link #of(String, String)}, so requests that RAWG answers the same way
+ * ("Zelda", " zelda ", page null and "1", search "" and null) share one cache entry.
+ *
+ * @param page   the canonical page number, "1" for the first page
+ * @param search the canonical search term, null means no filter
+ */
+public record RawgPageKey(
+        String page,
+        String search
+) {
+
+    public static final String FIRST_PAGE = "1";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Build the canonical key of a request.
+     *
+     * @param page   the requested page, null or blank means the first page
+     * @param search the search term, null or blank means no filter
+     * @return the canonical key
+     */
+    public static RawgPageKey of(String page, String search) {
+        return new RawgPageKey(canonicalPage(page), canonicalSearch(search));
+    }
+
+    /**
+     * Whether the raw request parameters already are this key, i.e. the request did not need normalizing.
+     *
+     * @param rawPage   the requested page
+     * @param rawSearch the search term
+     * @return true if the request parameters equal this key
+     */
+    public boolean matches(String rawPage, String rawSearch) {
+        return page.equals(rawPage) && Objects.equals(search, rawSearch);
+    }
+
+    /**
+     * Trim the page and drop leading zeros or signs; pages that are not numbers are kept as they are for RAWG to reject.
+     */
+    private static String canonicalPage(String page) {
+        if (page == null || page.isBlank()) {
+            return FIRST_PAGE;
+        }
+        String trimmed = page.trim();
+        try {
+            return String.valueOf(Integer.parseInt(trimmed));
+        } catch (NumberFormatException e) {
+            return trimmed;
+        }
+    }
+
+    /**
+     * Trim, collapse inner whitespace and case-fold the search term; RAWG's search is case-insensitive.
+     */
+    private static String canonicalSearch(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+        return WHITESPACE.matcher(search.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
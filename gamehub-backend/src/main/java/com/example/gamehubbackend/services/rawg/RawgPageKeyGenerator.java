@@ -0,0 +1,40 @@
+package com.example.gamehubbackend.services.rawg;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Key generator of the "games" cache, maps loadAllGames(page, search) to its canonical RawgPageKey.
+ * Counts every lookup in rawg.games.keys, tagged canonical=false when the request had to be normalized;
+ * before canonical keys each of those requests got its own cache entry and upstream call, so the
+ * share of canonical=false lookups is the duplicate-entry rate the normalization removes.
+ */
+@Component("rawgPageKeyGenerator")
+public class RawgPageKeyGenerator implements KeyGenerator {
+
+    private final Counter canonicalKeys;
+    private final Counter normalizedKeys;
+
+    public RawgPageKeyGenerator(MeterRegistry meterRegistry) {
+        this.canonicalKeys = meterRegistry.counter("rawg.games.keys", "canonical", "true");
+        this.normalizedKeys = meterRegistry.counter("rawg.games.keys", "canonical", "false");
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        String page = (String) params[0];
+        String search = (String) params[1];
+        RawgPageKey key = RawgPageKey.of(page, search);
+
+        if (key.matches(page, search)) {
+            canonicalKeys.increment();
+        } else {
+            normalizedKeys.increment();
+        }
+        return key;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Prefetches the next page of a RAWG game list into the "games" cache after a page was served.
+ * Users of the gallery almost always page forward, so the "next page" click is then a cache hit.
+ * <p>
+ * At most max-in-flight prefetches run at a time, further ones are dropped rather than queued.
+ * A prefetch that is still running when the user asks for the page is shared through the
+ * SingleFlight in RawgService, so the page is never requested from RAWG twice.
+ */
+@Component
+public class RawgPrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RawgPrefetcher.class);
+    private static final long MAX_TRACKED_PAGES = 1000;
+
+    private final RawgService rawgService;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final Semaphore permits;  // Bounds the outstanding prefetches
+    private final Executor executor;
+
+    // Pages prefetched but not requested yet, used to count hits
+    private final Cache<RawgPageKey, Boolean> prefetchedPages = Caffeine.newBuilder()
+            .maximumSize(MAX_TRACKED_PAGES)
+            .build();
+
+    private final Counter scheduled;
+    private final Counter alreadyCached;
+    private final Counter rejected;
+    private final Counter failed;
+    private final Counter hits;
+
+    @Autowired
+    public RawgPrefetcher(RawgService rawgService,
+                          CacheManager cacheManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${rawg.prefetch.enabled:false}") boolean enabled,
+                          @Value("${rawg.prefetch.max-in-flight:4}") int maxInFlight) {
+        this(rawgService, cacheManager, meterRegistry, enabled, maxInFlight,
+                enabled ? Executors.newFixedThreadPool(Math.max(1, maxInFlight)) : Runnable::run);
+    }
+
+    RawgPrefetcher(RawgService rawgService, CacheManager cacheManager, MeterRegistry meterRegistry,
+                   boolean enabled, int maxInFlight, Executor executor) {
+        this.rawgService = rawgService;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.permits = new Semaphore(Math.max(1, maxInFlight));
+        this.executor = executor;
+        this.scheduled = meterRegistry.counter("rawg.prefetch", "outcome", "scheduled");
+        this.alreadyCached = meterRegistry.counter("rawg.prefetch", "outcome", "cached");
+        this.rejected = meterRegistry.counter("rawg.prefetch", "outcome", "rejected");
+        this.failed = meterRegistry.counter("rawg.prefetch", "outcome", "failed");
+        this.hits = meterRegistry.counter("rawg.prefetch.hits");
+    }
+
+    /**
+     * Record that a page was served and prefetch the page after it.
+     * The prefetch hit rate is rawg.prefetch.hits divided by rawg.prefetch{outcome=scheduled}.
+     *
+     * @param page   The page number that was served (defaults to 1 if null).
+     * @param search The search term of the served page.
+     * @param served The served page, its next link tells whether there is a page after it.
+     */
+    public void pageServed(String page, String search, RawgGameList served) {
+        if (!enabled) {
+            return;
+        }
+
+        RawgPageKey servedPage = RawgPageKey.of(page, search);
+        if (prefetchedPages.asMap().remove(servedPage) != null) {
+            hits.increment();
+        }
+
+        if (served == null || served.next() == null) {
+            return;
+        }
+
+        int pageNumber;
+        try {
+            pageNumber = Integer.parseInt(servedPage.page());
+        } catch (NumberFormatException e) {
+            return;
+        }
+
+        RawgPageKey nextPage = RawgPageKey.of(String.valueOf(pageNumber + 1), servedPage.search());
+        if (isCached(nextPage)) {
+            alreadyCached.increment();
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            return;
+        }
+
+        try {
+            executor.execute(() -> prefetch(nextPage));
+            scheduled.increment();
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            rejected.increment();
+        }
+    }
+
+    /**
+     * Stop the prefetch threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Load a page through the cached RawgService so it ends up in the "games" cache.
+     */
+    private void prefetch(RawgPageKey key) {
+        try {
+            rawgService.loadAllGames(key.page(), key.search());
+            prefetchedPages.put(key, Boolean.TRUE);
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.debug("Prefetch of RAWG page {} failed", key, e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Check the "games" cache without loading, Spring's Cache.get would load a missing entry of a loading cache.
+     */
+    private boolean isCached(RawgPageKey key) {
+        return cacheManager.getCache("games") instanceof CaffeineCache cache
+                && cache.getNativeCache().getIfPresent(key) != null;
+    }
+}
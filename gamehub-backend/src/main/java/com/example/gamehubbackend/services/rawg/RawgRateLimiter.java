@@ -0,0 +1,82 @@
+package com.example.gamehubbackend.services.rawg;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+
+/**
+ * Keeps RAWG calls within the per-second and per-day budget of the API key.
+ * A call waits up to the per-second limiter's timeout for a permit, spreading bursts over the
+ * following seconds; the per-day budget is not waited for, as it only refills after hours.
+ * <p>
+ * The daily budget is checked before the per-second one, so calls on an exhausted day are rejected
+ * right away instead of queueing for per-second permits. Permitted calls are reported to a UsageStore;
+ * on construction the calls it counted in the last 24 hours are taken from the daily budget, so a
+ * restart does not hand out a fresh one.
+ */
+public class RawgRateLimiter {
+
+    private final RateLimiter perSecond;
+    private final RateLimiter perDay;
+    private final UsageStore usage;
+
+    public RawgRateLimiter(RateLimiter perSecond, RateLimiter perDay) {
+        this(perSecond, perDay, UsageStore.NONE);
+    }
+
+    public RawgRateLimiter(RateLimiter perSecond, RateLimiter perDay, UsageStore usage) {
+        this.perSecond = perSecond;
+        this.perDay = perDay;
+        this.usage = usage;
+
+        long used = usage.callsInLastDay();
+        if (used >= perDay.getRateLimiterConfig().getLimitForPeriod()) {
+            perDay.drainPermissions();
+        } else if (used > 0) {
+            perDay.acquirePermission((int) used);
+        }
+    }
+
+    /**
+     * Take a permit of both budgets, waiting for the per-second one if necessary.
+     *
+     * @throws RequestNotPermitted if either budget is exhausted within the wait time
+     */
+    public void acquirePermission() {
+        if (perDay.getMetrics().getAvailablePermissions() <= 0) {
+            throw RequestNotPermitted.createRequestNotPermitted(perDay);
+        }
+        RateLimiter.waitForPermission(perSecond);
+        RateLimiter.waitForPermission(perDay);  // Still throws if concurrent calls took the last daily permits meanwhile
+        usage.callMade();
+    }
+
+    /**
+     * Persistent count of the RAWG calls, see RawgUsageService.
+     */
+    public interface UsageStore {
+
+        /**
+         * A store that keeps nothing, the daily budget starts full on every start.
+         */
+        UsageStore NONE = new UsageStore() {
+            @Override
+            public long callsInLastDay() {
+                return 0;
+            }
+
+            @Override
+            public void callMade() {
+            }
+        };
+
+        /**
+         * @return The calls counted in the last 24 hours.
+         */
+        long callsInLastDay();
+
+        /**
+         * Count a permitted call.
+         */
+        void callMade();
+    }
+}
@@ -0,0 +1,458 @@
+package com.example.gamehubbackend.services.rawg;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent, append-only store of raw RAWG response bodies keyed by request path.
+ * <p>
+ * Every write appends a record {@code [key length][value length][written at][key][value][crc32]} to a single file,
+ * an in-memory index points to the latest record of every key. The file is only read when the store is first used,
+ * so startup does not pay for it. Records are checksummed: a corrupt or truncated tail (e.g. after a crash) is cut
+ * off while loading, and a record that fails its checksum on read is treated as missing.
+ * Once the file grows beyond its size limit it is compacted to the newest live records.
+ * <p>
+ * Compaction runs on a background thread: it copies the live records to a new file without holding the lock,
+ * then takes the write lock only to copy the records appended meanwhile and swap the files, so reads and writes
+ * pause for the tail only. Bodies larger than the compaction target (half the size limit) are not stored at all,
+ * an earlier body of their key is kept.
+ */
+public class RawgResponseStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RawgResponseStore.class);
+
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;  // key length, value length, written at
+    private static final int CHECKSUM_BYTES = Integer.BYTES;
+    private static final int MAX_KEY_BYTES = 8 * 1024;
+
+    private final Path file;
+    private final long maxBytes;
+    private final Duration retention;
+    private final Clock clock;
+    private final Executor compactor;
+
+    private final Map<String, Entry> index = new HashMap<>();  // guarded by lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel channel;  // guarded by lock
+    private boolean compacting;  // guarded by lock
+    private volatile boolean enabled;
+    private volatile boolean loaded;
+
+    /**
+     * A stored response body.
+     *
+     * @param body      the raw response body
+     * @param writtenAt when the body was stored
+     */
+    public record StoredResponse(byte[] body, Instant writtenAt) {
+    }
+
+    /**
+     * Location of the latest record of a key inside the file.
+     */
+    private record Entry(long offset, int length, int keyLength, long writtenAt) {
+    }
+
+    /**
+     * Creates a store backed by the given file.
+     *
+     * @param file      the append-only file, created on first use
+     * @param maxBytes  file size that triggers a compaction
+     * @param retention records older than this are dropped on compaction
+     * @param enabled   a disabled store keeps nothing and never touches the disk
+     * @param clock     the clock used to timestamp records
+     */
+    public RawgResponseStore(Path file, long maxBytes, Duration retention, boolean enabled, Clock clock) {
+        this(file, maxBytes, retention, enabled, clock,
+                Executors.newSingleThreadExecutor(Thread.ofPlatform().name("rawg-cache-compaction").daemon().factory()));
+    }
+
+    /**
+     * Creates a store backed by the given file, compacting on the given executor.
+     *
+     * @param file      the append-only file, created on first use
+     * @param maxBytes  file size that triggers a compaction
+     * @param retention records older than this are dropped on compaction
+     * @param enabled   a disabled store keeps nothing and never touches the disk
+     * @param clock     the clock used to timestamp records
+     * @param compactor runs the compactions
+     */
+    public RawgResponseStore(Path file, long maxBytes, Duration retention, boolean enabled, Clock clock, Executor compactor) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.retention = retention;
+        this.enabled = enabled;
+        this.clock = clock;
+        this.compactor = compactor;
+    }
+
+    /**
+     * Look up the latest stored response for a key.
+     *
+     * @param key the request path
+     * @return the stored response, or empty if none is stored or the record is corrupt
+     */
+    public Optional<StoredResponse> get(String key) {
+        if (!ensureLoaded()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            Entry entry = index.get(key);
+            if (entry == null) {
+                return Optional.empty();
+            }
+
+            ByteBuffer record = readRecord(channel, entry.offset(), entry.length());
+            if (record == null) {
+                log.warn("Ignoring corrupt RAWG cache record for {}", key);
+                return Optional.empty();
+            }
+
+            byte[] body = new byte[entry.length() - HEADER_BYTES - entry.keyLength() - CHECKSUM_BYTES];
+            record.get(HEADER_BYTES + entry.keyLength(), body);
+            return Optional.of(new StoredResponse(body, Instant.ofEpochMilli(entry.writtenAt())));
+        } catch (IOException e) {
+            log.warn("Could not read RAWG cache record for {}", key, e);
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Append a response body for a key, replacing any earlier one.
+     * Bodies that would not fit into a compacted file are skipped, see the class comment.
+     *
+     * @param key  the request path
+     * @param body the raw response body
+     */
+    public void put(String key, byte[] body) {
+        if (!ensureLoaded()) {
+            return;
+        }
+
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_BYTES) {
+            return;
+        }
+        long writtenAt = clock.millis();
+        long length = (long) HEADER_BYTES + keyBytes.length + body.length + CHECKSUM_BYTES;
+        if (length > maxBytes / 2) {
+            log.debug("Not storing RAWG response of {}, {} bytes exceed the compaction target", key, length);
+            return;
+        }
+        ByteBuffer record = encode(keyBytes, body, writtenAt);
+
+        boolean compact = false;
+        lock.writeLock().lock();
+        try {
+            long offset = channel.size();
+            writeFully(channel, record, offset);
+            index.put(key, new Entry(offset, record.capacity(), keyBytes.length, writtenAt));
+
+            if (channel.size() > maxBytes && !compacting) {
+                compacting = true;
+                compact = true;
+            }
+        } catch (IOException e) {
+            log.warn("Could not write RAWG cache record for {}", key, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (compact) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    /**
+     * Current size of the backing file in bytes.
+     *
+     * @return the file size, 0 if the store has not been used yet
+     */
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return channel != null ? channel.size() : 0;
+        } catch (IOException e) {
+            return 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Release the backing file.
+     */
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Could not close RAWG cache file {}", file, e);
+        } finally {
+            channel = null;
+            loaded = false;
+            index.clear();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Open the file and build the index on first use.
+     *
+     * @return whether the store can be used
+     */
+    private boolean ensureLoaded() {
+        if (!enabled) {
+            return false;
+        }
+        if (loaded) {
+            return true;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+                long validBytes = loadIndex();
+                if (validBytes < channel.size()) {
+                    log.warn("Truncating corrupt tail of RAWG cache file {} at byte {}", file, validBytes);
+                    channel.truncate(validBytes);
+                }
+                loaded = true;
+                log.info("Loaded {} RAWG cache records from {}", index.size(), file);
+            }
+            return true;
+        } catch (IOException e) {
+            // The store is an optimization only, requests keep working without it
+            log.warn("Disabling RAWG cache file {}", file, e);
+            enabled = false;
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Scan the file and index the latest valid record of every key.
+     *
+     * @return the number of bytes up to the first invalid record
+     */
+    private long loadIndex() throws IOException {
+        index.clear();
+        long size = channel.size();
+        long offset = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+
+        while (offset + HEADER_BYTES + CHECKSUM_BYTES <= size) {
+            header.clear();
+            readFully(channel, header, offset);
+            header.flip();
+            int keyLength = header.getInt();
+            int valueLength = header.getInt();
+            long writtenAt = header.getLong();
+
+            long length = (long) HEADER_BYTES + keyLength + valueLength + CHECKSUM_BYTES;
+            if (keyLength <= 0 || keyLength > MAX_KEY_BYTES || valueLength < 0 || offset + length > size) {
+                break;
+            }
+
+            ByteBuffer record = readRecord(channel, offset, (int) length);
+            if (record == null) {
+                break;
+            }
+
+            String key = new String(record.array(), HEADER_BYTES, keyLength, StandardCharsets.UTF_8);
+            index.put(key, new Entry(offset, (int) length, keyLength, writtenAt));
+            offset += length;
+        }
+        return offset;
+    }
+
+    /**
+     * Rewrite the file with the newest live records only, dropping overwritten and expired records
+     * and keeping the result at half the size limit so compaction does not run on every write.
+     * Records appended while the live records are copied are added under the write lock before the files are swapped.
+     */
+    private void compact() {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        try {
+            FileChannel source;
+            long copiedUpTo;
+            List<Map.Entry<String, Entry>> live;
+            lock.readLock().lock();
+            try {
+                if (channel == null) {
+                    return;  // Closed meanwhile
+                }
+                source = channel;
+                copiedUpTo = source.size();
+                live = new ArrayList<>(index.entrySet());
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            long oldest = clock.millis() - retention.toMillis();
+            // Newest first, records written later in the file win ties
+            live.sort(Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().writtenAt())
+                    .thenComparingLong(e -> e.getValue().offset())
+                    .reversed());
+
+            Map<String, Entry> compactedIndex = new HashMap<>();
+            long offset = 0;
+
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (Map.Entry<String, Entry> liveEntry : live) {
+                    Entry entry = liveEntry.getValue();
+                    if (entry.writtenAt() < oldest || offset + entry.length() > maxBytes / 2) {
+                        break;
+                    }
+                    offset = copy(source, liveEntry.getKey(), entry, out, offset, compactedIndex);
+                }
+                out.force(false);
+
+                lock.writeLock().lock();
+                try {
+                    if (channel != source) {
+                        return;  // Closed meanwhile
+                    }
+
+                    // Latest records of the keys written since the snapshot, they replace the copied ones
+                    for (Map.Entry<String, Entry> written : index.entrySet()) {
+                        if (written.getValue().offset() >= copiedUpTo) {
+                            offset = copy(source, written.getKey(), written.getValue(), out, offset, compactedIndex);
+                        }
+                    }
+                    out.force(true);
+
+                    channel.close();
+                    Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+                    index.clear();
+                    index.putAll(compactedIndex);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            log.info("Compacted RAWG cache file {} to {} records ({} bytes)", file, compactedIndex.size(), offset);
+        } catch (IOException e) {
+            log.warn("Could not compact RAWG cache file {}", file, e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                compacting = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                Files.deleteIfExists(compacted);
+            } catch (IOException e) {
+                log.warn("Could not delete {}", compacted, e);
+            }
+        }
+    }
+
+    /**
+     * Append a record to the compacted file, skipping it if its checksum does not match.
+     *
+     * @return the offset after the appended record
+     */
+    private static long copy(FileChannel source, String key, Entry entry, FileChannel out, long offset,
+                             Map<String, Entry> compactedIndex) throws IOException {
+        ByteBuffer record = readRecord(source, entry.offset(), entry.length());
+        if (record == null) {
+            return offset;
+        }
+        writeFully(out, record, offset);
+        compactedIndex.put(key, new Entry(offset, entry.length(), entry.keyLength(), entry.writtenAt()));
+        return offset + entry.length();
+    }
+
+    /**
+     * Encode a record including its checksum.
+     */
+    private static ByteBuffer encode(byte[] key, byte[] value, long writtenAt) {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + key.length + value.length + CHECKSUM_BYTES);
+        record.putInt(key.length)
+                .putInt(value.length)
+                .putLong(writtenAt)
+                .put(key)
+                .put(value)
+                .putInt(checksum(record.array(), record.position()));
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Read a whole record and verify its checksum.
+     *
+     * @return the record, or null if the checksum does not match
+     */
+    private static ByteBuffer readRecord(FileChannel channel, long offset, int length) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(length);
+        readFully(channel, record, offset);
+        int stored = record.getInt(length - CHECKSUM_BYTES);
+        if (stored != checksum(record.array(), length - CHECKSUM_BYTES)) {
+            return null;
+        }
+        record.rewind();
+        return record;
+    }
+
+    private static int checksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of RAWG cache file");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        buffer.rewind();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+    }
+}
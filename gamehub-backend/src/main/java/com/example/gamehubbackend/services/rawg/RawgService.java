@@ -1,103 +1,204 @@
 package com.example.gamehubbackend.services.rawg;
 
-import com.example.gamehubbackend.models.Game;
+import com.example.gamehubbackend.exceptions.GameNotFoundException;
 import com.example.gamehubbackend.models.rawg.RawgGameDetail;
 import com.example.gamehubbackend.models.rawg.RawgGameList;
-import com.example.gamehubbackend.models.rawg.RawgGameResponse;
-import com.example.gamehubbackend.models.rawg.RawgGenre;
-import org.springframework.beans.factory.annotation.Value;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
+import org.springframework.web.client.HttpClientErrorException;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.Collections;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 @Service
 public class RawgService {
 
-    private final RestClient restClient;
+    private static final Pattern GAME_ID = Pattern.compile("[A-Za-z0-9-]{1,100}");  // RAWG accepts numeric IDs and slugs
+    private static final String MISSING_GAMES_CACHE = "gameDetailMissing";
 
-    @Value("${rawg.api.key}")  // Injects the RAWG API key from application properties
-    private String apiKey;
+    private final RawgClient rawgClient;
+    private final RawgCatalogService rawgCatalogService;
+    private final CacheManager cacheManager;
+    private final Counter invalidIds;
+    private final Counter notFoundIds;
+    private final Counter knownMissingIds;
+    private final SingleFlight<String, RawgGameList> gameListCalls;  // Shares concurrent list requests per URI
+    private final SingleFlight<String, RawgGameDetail> gameDetailCalls;  // Shares concurrent detail requests per URI
 
     /**
-     * Constructs a RawgService with the specified base URL for the REST client.
+     * Constructs a RawgService on top of the RAWG HTTP client.
      *
-     * @param basicUrl The base URL for the REST client.
+     * @param rawgClient         The client performing the RAWG API calls.
+     * @param rawgCatalogService The local catalog mirror, consulted before RAWG.
+     * @param cacheManager       The cache manager, holding the IDs RAWG does not know.
+     * @param meterRegistry      The registry for the coalesced call counters.
      */
-    public RawgService(@Value("${basic.url}") String basicUrl) {
-        this.restClient = RestClient.builder()
-                .baseUrl(basicUrl)  // Sets the base URL for the REST client
-                .build();
+    public RawgService(RawgClient rawgClient, RawgCatalogService rawgCatalogService, CacheManager cacheManager,
+                       MeterRegistry meterRegistry) {
+        this.rawgClient = rawgClient;
+        this.rawgCatalogService = rawgCatalogService;
+        this.cacheManager = cacheManager;
+        this.invalidIds = meterRegistry.counter("rawg.games.missing", "outcome", "invalid");
+        this.notFoundIds = meterRegistry.counter("rawg.games.missing", "outcome", "not_found");
+        this.knownMissingIds = meterRegistry.counter("rawg.games.missing", "outcome", "cached");
+        this.gameListCalls = new SingleFlight<>(meterRegistry.counter("rawg.requests.coalesced", "type", "list"));
+        this.gameDetailCalls = new SingleFlight<>(meterRegistry.counter("rawg.requests.coalesced", "type", "detail"));
     }
 
     /**
      * Loads a list of games from the RAWG API, optionally filtered by a search term.
-     * The result is cached to improve performance.
+     * The result is cached to improve performance, under the canonical RawgPageKey of the request.
      *
      * @param page  The page number to retrieve (defaults to 1 if null).
      * @param search The search term to filter games (null or empty means no filter).
      * @return A RawgGameList object containing the list of games and pagination details.
      */
-    @Cacheable("games")  // Caches the result of this method to avoid repeated API calls
+    @Cacheable(value = "games", keyGenerator = "rawgPageKeyGenerator")  // Caches the result of this method to avoid repeated API calls
     public RawgGameList loadAllGames(String page, String search) {
+        return loadGameList(RawgPageKey.of(page, search));
+    }
+
+    /**
+     * Loads the list of games for a cache key, on a cache miss or refresh.
+     * Searches always go to the catalog mirror or RAWG: RAWG matches search terms by tokens, slugs and
+     * alternative names, so a cached broader search cannot be filtered down to the result of a narrower one.
+     *
+     * @param key The canonical key of the list.
+     * @return A RawgGameList object containing the list of games and pagination details.
+     */
+    public RawgGameList loadGameList(RawgPageKey key) {
+        return fetchGameList(key.page(), key.search());
+    }
+
+    /**
+     * Loads detailed information about a specific game from the RAWG API.
+     * The result is cached to improve performance.
+     *
+     * @param gameId The ID of the game to retrieve.
+     * @return A RawgGameDetail object containing detailed information about the game.
+     */
+    @Cacheable("gameDetail")  // Caches the result of this method to avoid repeated API calls
+    public RawgGameDetail loadGameDetail(String gameId) {
+        return fetchGameDetail(gameId);
+    }
+
+    /**
+     * Reloads the list of games for a cache key from RAWG, used by RawgCacheLoader to refresh stale entries.
+     * Unlike a cache miss it does not take a stored response of RawgClient, however young.
+     *
+     * @param key The canonical key of the list.
+     * @return A RawgGameList object containing the list of games and pagination details.
+     */
+    public RawgGameList refreshGameList(RawgPageKey key) {
+        return fetchGameList(key.page(), key.search(), true);
+    }
+
+    /**
+     * Fetches a list of games from the RAWG API without consulting the cache.
+     * Used on cache misses.
+     *
+     * @param page  The page number to retrieve (defaults to 1 if null).
+     * @param search The search term to filter games (null or empty means no filter).
+     * @return A RawgGameList object containing the list of games and pagination details.
+     */
+    public RawgGameList fetchGameList(String page, String search) {
+        return fetchGameList(page, search, false);
+    }
+
+    private RawgGameList fetchGameList(String page, String search, boolean refresh) {
+        // Serve from the local catalog mirror if it has the page
+        Optional<RawgGameList> mirrored = rawgCatalogService.findGameList(page, search);
+        if (mirrored.isPresent()) {
+            return mirrored.get();
+        }
+
         // Build the URI for the API request
-        String uri = "api/games?page_size=40&page=" + (page != null ? page : 1) +
-                "&key=" + apiKey;
+        String uri = "api/games?page_size=40&page=" + (page != null ? page : 1);
 
         // Add search parameter if provided
         if (search != null && !search.trim().isEmpty()) {
             uri += "&search=" + URLEncoder.encode(search, StandardCharsets.UTF_8);
         }
 
-        // Make the API request and retrieve the response
-        RawgGameResponse body = restClient.get()
-                .uri(uri)
-                .retrieve()
-                .body(RawgGameResponse.class);
-
-        // Return an empty list if the response body is null
-        if (body == null) {
-            return new RawgGameList(0, null, null, Collections.emptyList());
+        // Make the API request and read the response straight into games, concurrent misses for the same URI share one request
+        String requestUri = uri;
+        if (refresh) {
+            return gameListCalls.execute("refresh:" + requestUri,
+                    () -> RawgGameListReader.read(rawgClient.refresh(requestUri)));
         }
+        return gameListCalls.execute(requestUri,
+                () -> RawgGameListReader.read(rawgClient.get(requestUri)));
+    }
 
-        // Map the RAWG game response to a list of Game objects
-        return new RawgGameList(
-                body.count(),
-                body.next(),
-                body.previous(),
-                body.results()
-                        .stream()
-                        .map(game -> new Game(
-                                String.valueOf(game.id()),
-                                game.name(),
-                                game.genres().stream()
-                                        .map(RawgGenre::name)  // Map RAWG genres to their names
-                                        .toList(),
-                                game.released(),  // Release date
-                                game.platforms().stream()
-                                        .map(wrapper -> wrapper.platform().name())  // Map RAWG platforms to their names
-                                        .toList(),
-                                game.background_image()
-                        ))
-                        .toList());
+    /**
+     * Reloads the detail of a game from RAWG, used by RawgCacheLoader to refresh stale entries.
+     * Unlike a cache miss it does not take a stored response of RawgClient, however young.
+     *
+     * @param gameId The ID of the game to retrieve.
+     * @return A RawgGameDetail object containing detailed information about the game.
+     * @throws GameNotFoundException if the ID is invalid or RAWG has no game with it
+     */
+    public RawgGameDetail refreshGameDetail(String gameId) {
+        return fetchGameDetail(gameId, true);
     }
 
     /**
-     * Loads detailed information about a specific game from the RAWG API.
-     * The result is cached to improve performance.
+     * Fetches detailed information about a specific game from the RAWG API without consulting the cache.
+     * Used on cache misses.
+     * Invalid IDs are rejected without calling RAWG; IDs RAWG does not know are kept in the short lived
+     * "gameDetailMissing" cache, so repeated requests for them do not reach RAWG again until it expires.
      *
      * @param gameId The ID of the game to retrieve.
      * @return A RawgGameDetail object containing detailed information about the game.
+     * @throws GameNotFoundException if the ID is invalid or RAWG has no game with it
      */
-    @Cacheable("gameDetail")  // Caches the result of this method to avoid repeated API calls
-    public RawgGameDetail loadGameDetail(String gameId) {
-        // Make the API request and retrieve the game details
-        return restClient.get()
-                .uri("/api/games/" + gameId + "?key=" + apiKey)
-                .retrieve()
-                .body(RawgGameDetail.class);
+    public RawgGameDetail fetchGameDetail(String gameId) {
+        return fetchGameDetail(gameId, false);
+    }
+
+    private RawgGameDetail fetchGameDetail(String gameId, boolean refresh) {
+        if (gameId == null || !GAME_ID.matcher(gameId).matches()) {
+            invalidIds.increment();
+            throw new GameNotFoundException("No Game found with id: " + gameId);
+        }
+
+        Cache missingGames = cacheManager.getCache(MISSING_GAMES_CACHE);
+        if (missingGames != null && missingGames.get(gameId) != null) {
+            knownMissingIds.increment();
+            throw new GameNotFoundException("No Game found with id: " + gameId);
+        }
+
+        // Serve from the local catalog mirror if it has the detail
+        Optional<RawgGameDetail> mirrored = rawgCatalogService.findGameDetail(gameId);
+        if (mirrored.isPresent()) {
+            return mirrored.get();
+        }
+
+        // Make the API request and retrieve the game details, concurrent misses for the same URI share one request
+        String uri = "/api/games/" + gameId;
+        RawgGameDetail detail;
+        try {
+            detail = refresh
+                    ? gameDetailCalls.execute("refresh:" + uri, () -> rawgClient.refresh(uri, RawgGameDetail.class))
+                    : gameDetailCalls.execute(uri, () -> rawgClient.get(uri, RawgGameDetail.class));
+        } catch (HttpClientErrorException.NotFound e) {
+            notFoundIds.increment();
+            if (missingGames != null) {
+                missingGames.put(gameId, Boolean.TRUE);
+            }
+            throw new GameNotFoundException("No Game found with id: " + gameId);
+        }
+
+        // Keep the detail in the mirror for the next read
+        if (detail != null) {
+            rawgCatalogService.saveGameDetail(gameId, detail);
+        }
+        return detail;
     }
 }
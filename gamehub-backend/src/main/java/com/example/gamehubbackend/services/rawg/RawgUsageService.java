@@ -0,0 +1,72 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.models.RawgUsage;
+import jakarta.annotation.PreDestroy;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the RAWG calls per hour in the "rawgUsage" collection, so RawgRateLimiter can take the calls
+ * of the last 24 hours from its daily budget after a restart.
+ * <p>
+ * Calls are counted in memory and added to the current hour with $inc every flush interval and on shutdown,
+ * so RAWG calls do not wait for MongoDB; a crash loses at most one interval of calls. Hours older than two days
+ * are removed on flush.
+ */
+@Service
+public class RawgUsageService implements RawgRateLimiter.UsageStore {
+
+    private static final DateTimeFormatter HOUR = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH").withZone(ZoneOffset.UTC);
+
+    private final MongoTemplate mongoTemplate;
+    private final AtomicLong pending = new AtomicLong();  // Calls not added to MongoDB yet
+
+    public RawgUsageService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * @return The calls of the current hour and the 23 hours before, including those not flushed yet.
+     */
+    @Override
+    public long callsInLastDay() {
+        Query lastDay = Query.query(Criteria.where("_id").gte(hour(Instant.now().minus(Duration.ofHours(23)))));
+        return pending.get() + mongoTemplate.find(lastDay, RawgUsage.class).stream()
+                .mapToLong(RawgUsage::calls)
+                .sum();
+    }
+
+    @Override
+    public void callMade() {
+        pending.incrementAndGet();
+    }
+
+    /**
+     * Add the counted calls to the current hour.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${rawg.rate-limit.usage-flush-interval:PT1M}",
+            initialDelayString = "${rawg.rate-limit.usage-flush-interval:PT1M}")
+    public void flush() {
+        long calls = pending.getAndSet(0);
+        Instant now = Instant.now();
+        if (calls > 0) {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(hour(now))), new Update().inc("calls", calls), RawgUsage.class);
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").lt(hour(now.minus(Duration.ofDays(2))))), RawgUsage.class);
+    }
+
+    private static String hour(Instant instant) {
+        return HOUR.format(instant);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.gamehubbackend.services.rawg;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ * The first caller for a key runs the loader, every caller arriving while it is running
+ * waits for that result (or that error) instead of starting its own.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCalls;  // Number of calls that joined an already running execution
+
+    public SingleFlight(Counter coalescedCalls) {
+        this.coalescedCalls = coalescedCalls;
+    }
+
+    /**
+     * Execute the loader for the given key, or join the execution that is already in flight.
+     *
+     * @param key    the key identifying the call
+     * @param loader the call to execute
+     * @return the result of the (shared) execution
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+
+        if (running != null) {
+            coalescedCalls.increment();
+            return await(running);
+        }
+
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Later callers start a fresh execution
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Wait for an in-flight execution and rethrow its original error.
+     */
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
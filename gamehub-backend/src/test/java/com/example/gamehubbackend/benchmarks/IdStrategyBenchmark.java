@@ -0,0 +1,123 @@
+package com.example.gamehubbackend.benchmarks;
+
+import com.example.gamehubbackend.config.IdProperties;
+import com.example.gamehubbackend.models.Note;
+import com.example.gamehubbackend.services.IdService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ID strategies of IdService (see IdProperties.Strategy): the cost of generating one ID,
+ * single-threaded and from 4 threads, and the throughput of inserting notes with those IDs in batches.
+ * The note collection keeps growing over the measurement, so the insert scores include the _id index
+ * growing past the cache, where random IDs touch pages all over it and time-ordered ones only its right edge.
+ * Run the main method (e.g. from the IDE); the insert benchmark starts an embedded MongoDB.
+ * Not a test, so it is not picked up by surefire.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IdStrategyBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"RANDOM", "UUID_V7", "OBJECT_ID"})
+    IdProperties.Strategy strategy;
+
+    private IdService idService;
+
+    @Setup
+    public void setUp() {
+        idService = new IdService(new IdProperties(strategy));
+    }
+
+    /**
+     * An embedded MongoDB, only started for the insert benchmark.
+     */
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+        private MongoClient client;
+        private MongoTemplate mongoTemplate;
+
+        @Setup
+        public void setUp() {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+            ServerAddress address = mongod.current().getServerAddress();
+            client = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+            mongoTemplate = new MongoTemplate(client, "benchmark");
+        }
+
+        @TearDown
+        public void tearDown() {
+            client.close();
+            mongod.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String generate() {
+        return idService.randomId();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Threads(4)
+    public String generateContended() {
+        return idService.randomId();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public int insert(Database database) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Note> notes = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            notes.add(new Note(idService.randomId(), "Game " + i, "user" + (i % 10), "game" + i, "Note " + i,
+                    "A note of average length about the progress in the game", "progress", now, now));
+        }
+        return database.mongoTemplate.insert(notes, Note.class).size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdStrategyBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.gamehubbackend.benchmarks;
+
+import com.example.gamehubbackend.config.PaginationProperties;
+import com.example.gamehubbackend.dto.ImportReport;
+import com.example.gamehubbackend.dto.NoteDTO;
+import com.example.gamehubbackend.models.Note;
+import com.example.gamehubbackend.repositories.NoteRepository;
+import com.example.gamehubbackend.services.BulkImporter;
+import com.example.gamehubbackend.services.IdService;
+import com.example.gamehubbackend.services.KeysetPager;
+import com.example.gamehubbackend.services.NoteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares importing notes one save per note, as clients had to through POST /api/notes,
+ * against the batched bulk import. Scores are notes per second.
+ * Run the main method (e.g. from the IDE); starts an embedded MongoDB.
+ * Not a test, so it is not picked up by surefire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoteImportBenchmark {
+
+    private static final int NOTES = 1000;
+
+    @Param({"100", "500", "1000"})
+    int batchSize;
+
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private NoteService noteService;
+    private List<NoteDTO> notes;
+    private byte[] ndjson;
+
+    @Setup
+    public void setUp() throws IOException {
+        mongod = Mongod.instance().start(Version.Main.V7_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        client = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "benchmark");
+
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        NoteRepository noteRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(NoteRepository.class);
+        noteService = new NoteService(noteRepository, new IdService(), null,
+                new KeysetPager(mongoTemplate, new PaginationProperties(20, 100)),
+                new BulkImporter(mongoTemplate, objectMapper, batchSize));
+
+        notes = IntStream.range(0, NOTES)
+                .mapToObj(i -> new NoteDTO("user0", "Game " + i, "game" + i, "Note " + i,
+                        "Imported from another tracker, note number " + i, "progress", null, null))
+                .toList();
+        ndjson = notes.stream()
+                .map(note -> {
+                    try {
+                        return objectMapper.writeValueAsString(note);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .collect(Collectors.joining("\n"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearNotes() {
+        mongoTemplate.dropCollection(Note.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        mongod.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOTES)
+    public int singleSaves() {
+        int saved = 0;
+        for (NoteDTO note : notes) {
+            noteService.createNote(note);
+            saved++;
+        }
+        return saved;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NOTES)
+    public ImportReport bulkImport() throws IOException {
+        return noteService.importNotes("user0", new ByteArrayInputStream(ndjson));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NoteImportBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.gamehubbackend.benchmarks;
+
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import com.example.gamehubbackend.models.rawg.RawgGameResponse;
+import com.example.gamehubbackend.services.rawg.RawgGameListReader;
+import com.example.gamehubbackend.services.rawg.RawgGameMapper;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a 40 game RAWG list page through RawgGameResponse + RawgGameMapper against RawgGameListReader.
+ * Run the main method (e.g. from the IDE); the GC profiler reports the allocated bytes per page as gc.alloc.rate.norm.
+ * Not a test, so it is not picked up by surefire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RawgGameListReaderBenchmark {
+
+    private static final int GAMES_PER_PAGE = 40;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private byte[] page;
+
+    @Setup
+    public void setUp() {
+        page = page().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public RawgGameList objectMapping() throws IOException {
+        return RawgGameMapper.toGameList(objectMapper.readValue(page, RawgGameResponse.class));
+    }
+
+    @Benchmark
+    public RawgGameList streaming() {
+        return RawgGameListReader.read(page);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RawgGameListReaderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    /**
+     * A page shaped like a real RAWG response, including the fields the gallery does not use.
+     */
+    private static String page() {
+        StringBuilder json = new StringBuilder("""
+                {"count": 872869, "next": "https://api.rawg.io/api/games?page=2", "previous": null, "results": [""");
+        for (int i = 0; i < GAMES_PER_PAGE; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("""
+                    {
+                      "id": %d, "slug": "game-%d", "name": "Game %d", "released": "2013-09-17", "tba": false,
+                      "background_image": "https://media.rawg.io/media/games/%d.jpg",
+                      "rating": 4.47, "rating_top": 5, "ratings_count": 6864, "metacritic": 92, "playtime": 74,
+                      "ratings": [{"id": 5, "title": "exceptional", "count": 4121, "percent": 59.12},
+                                  {"id": 4, "title": "recommended", "count": 2269, "percent": 32.47}],
+                      "added_by_status": {"yet": 533, "owned": 12169, "beaten": 5986, "toplay": 610, "dropped": 1109, "playing": 730},
+                      "updated": "2024-09-04T13:53:37",
+                      "platforms": [
+                        {"platform": {"id": 4, "name": "PC", "slug": "pc", "games_count": 535509},
+                         "released_at": "2013-09-17",
+                         "requirements_en": {"minimum": "Minimum: 4 GB RAM, 72 GB available space", "recommended": "Recommended: 8 GB RAM"}},
+                        {"platform": {"id": 187, "name": "PlayStation 5", "slug": "playstation5", "games_count": 1071}},
+                        {"platform": {"id": 1, "name": "Xbox One", "slug": "xbox-one", "games_count": 5614}}
+                      ],
+                      "genres": [{"id": 4, "name": "Action", "slug": "action", "games_count": 182068},
+                                 {"id": 3, "name": "Adventure", "slug": "adventure", "games_count": 137546}],
+                      "stores": [{"id": 290375, "store": {"id": 3, "name": "PlayStation Store", "slug": "playstation-store"}}],
+                      "tags": [{"id": 31, "name": "Singleplayer", "slug": "singleplayer", "language": "eng", "games_count": 229580},
+                               {"id": 40847, "name": "Steam Achievements", "slug": "steam-achievements", "language": "eng", "games_count": 39851}],
+                      "esrb_rating": {"id": 4, "name": "Mature", "slug": "mature"},
+                      "short_screenshots": [{"id": -1, "image": "https://media.rawg.io/media/screenshots/%d-1.jpg"},
+                                            {"id": 1827221, "image": "https://media.rawg.io/media/screenshots/%d-2.jpg"}]
+                    }""".formatted(i + 1, i, i, i, i, i));
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.gamehubbackend.benchmarks;
+
+import com.example.gamehubbackend.config.PaginationProperties;
+import com.example.gamehubbackend.dto.LibraryGameDTO;
+import com.example.gamehubbackend.models.User;
+import com.example.gamehubbackend.models.UserIdentity;
+import com.example.gamehubbackend.models.UserResponse;
+import com.example.gamehubbackend.repositories.LibraryRepository;
+import com.example.gamehubbackend.repositories.UserRepository;
+import com.example.gamehubbackend.services.IdService;
+import com.example.gamehubbackend.services.IndexService;
+import com.example.gamehubbackend.services.KeysetPager;
+import com.example.gamehubbackend.services.LibraryService;
+import com.example.gamehubbackend.services.UserService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the lookup the note and review ownership checks used to do, the full user with its library,
+ * against the id and role projection, for users with large libraries.
+ * Run the main method (e.g. from the IDE). Starts an embedded MongoDB and prints the bytes each lookup
+ * reads from the database; the GC profiler reports the allocated bytes per lookup as gc.alloc.rate.norm.
+ * Not a test, so it is not picked up by surefire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    private static final String GITHUB_ID = "42";
+
+    @Param({"100", "2000"})
+    int librarySize;
+
+    private TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private MongoClient client;
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        mongod = Mongod.instance().start(Version.Main.V7_0);
+        ServerAddress address = mongod.current().getServerAddress();
+        client = MongoClients.create("mongodb://" + address.getHost() + ":" + address.getPort());
+        MongoTemplate mongoTemplate = new MongoTemplate(client, "benchmark");
+
+        MongoRepositoryFactory repositories = new MongoRepositoryFactory(mongoTemplate);
+        UserRepository userRepository = repositories.getRepository(UserRepository.class);
+        PaginationProperties paginationProperties = new PaginationProperties(20, 100);
+        LibraryService libraryService = new LibraryService(repositories.getRepository(LibraryRepository.class), mongoTemplate, paginationProperties);
+        new IndexService(mongoTemplate).ensureIndexes();  // The repositories registered their document classes
+        // Without the identity cache, so every lookup goes to the database
+        KeysetPager keysetPager = new KeysetPager(mongoTemplate, paginationProperties);
+        userService = new UserService(userRepository, new IdService(), null, libraryService, new NoOpCacheManager(), keysetPager);
+
+        // A password hash as long as a bcrypt one
+        userRepository.save(new User("1", "TestUser", "$2a$10$" + "x".repeat(53), GITHUB_ID, "https://avatars.example.com/1",
+                "USER", null, LocalDateTime.now(), LocalDateTime.now()));
+        libraryService.replaceLibrary("1", IntStream.range(0, librarySize)
+                .mapToObj(i -> new LibraryGameDTO(String.valueOf(i), "Game " + i, List.of("PC", "PlayStation 5", "Xbox Series S/X"),
+                        "https://media.rawg.io/media/games/" + i + "/cover.jpg"))
+                .toList());
+
+        long identityBytes = bytesRead("users", Filters.eq("gitHubId", GITHUB_ID), Projections.include("role"));
+        long fullBytes = bytesRead("users", Filters.eq("gitHubId", GITHUB_ID), null)
+                + bytesRead("library", Filters.eq("userId", "1"), null);
+        System.out.printf("%nLibrary of %d games: full user %d bytes, identity %d bytes%n", librarySize, fullBytes, identityBytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        mongod.close();
+    }
+
+    @Benchmark
+    public UserResponse fullUser() {
+        return userService.getUserByGitHubId(GITHUB_ID);
+    }
+
+    @Benchmark
+    public UserIdentity identity() {
+        return userService.getIdentityByGitHubId(GITHUB_ID);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserLookupBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    private long bytesRead(String collection, Bson filter, Bson projection) {
+        long bytes = 0;
+        for (RawBsonDocument document : client.getDatabase("benchmark").getCollection(collection, RawBsonDocument.class)
+                .find(filter).projection(projection)) {
+            bytes += document.getByteBuffer().remaining();
+        }
+        return bytes;
+    }
+}
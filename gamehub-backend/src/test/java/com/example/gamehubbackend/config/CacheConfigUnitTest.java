@@ -0,0 +1,129 @@
+package com.example.gamehubbackend.config;
+
+import com.example.gamehubbackend.models.Game;
+import com.example.gamehubbackend.models.rawg.RawgGameDetail;
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Policy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CacheConfigUnitTest {
+
+    private static final List<String> CACHE_NAMES = List.of("games", "gameDetail", "gameDetailMissing", "userIdentities");
+
+    private final CacheConfig cacheConfig = new CacheConfig();
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<CacheLoader<Object, Object>> noLoader = mock(ObjectProvider.class);
+
+    private static CacheSpecProperties.Spec sizeSpec(long maximumSize, Duration expireAfterWrite) {
+        return new CacheSpecProperties.Spec(maximumSize, null, expireAfterWrite, null, null, null);
+    }
+
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+
+    private static Policy.Eviction<Object, Object> eviction(Cache<Object, Object> cache) {
+        return cache.policy().eviction().orElseThrow();
+    }
+
+    private static RawgGameList gameList(int games) {
+        Game game = new Game("1", "Portal 2", List.of("Puzzle"), "2011-04-18", List.of("PC"), "portal.jpg");
+        return new RawgGameList(games, null, null, Collections.nCopies(games, game));
+    }
+
+    @Test
+    void cacheManager_ConfiguredCaches_GetTheirSpec() {
+        CacheSpecProperties properties = new CacheSpecProperties(100L, Map.of(
+                "games", sizeSpec(10, Duration.ofMinutes(1)),
+                "gameDetail", sizeSpec(20, Duration.ofMinutes(2)),
+                "gameDetailMissing", sizeSpec(30, Duration.ofMinutes(3)),
+                "userIdentities", sizeSpec(40, Duration.ofMinutes(4))));
+
+        CacheManager cacheManager = cacheConfig.cacheManager(properties, noLoader);
+
+        for (int i = 0; i < CACHE_NAMES.size(); i++) {
+            Cache<Object, Object> cache = nativeCache(cacheManager, CACHE_NAMES.get(i));
+            assertFalse(eviction(cache).isWeighted());
+            assertEquals(10L * (i + 1), eviction(cache).getMaximum());
+            assertEquals(Duration.ofMinutes(i + 1), cache.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+        }
+    }
+
+    @Test
+    void cacheManager_CachesWithoutSpec_AreRegisteredWithDefaultSize() {
+        CacheManager cacheManager = cacheConfig.cacheManager(new CacheSpecProperties(100L, null), noLoader);
+
+        assertTrue(cacheManager.getCacheNames().containsAll(CACHE_NAMES));
+        for (String name : CACHE_NAMES) {
+            Cache<Object, Object> cache = nativeCache(cacheManager, name);
+            assertEquals(100, eviction(cache).getMaximum());
+            assertTrue(cache.policy().expireAfterWrite().isEmpty());
+        }
+    }
+
+    @Test
+    void cacheManager_UnknownCacheName_FallsBackToDefaultSpec() {
+        CacheSpecProperties properties = new CacheSpecProperties(50L, Map.of("games", sizeSpec(10, Duration.ofMinutes(1))));
+
+        CacheManager cacheManager = cacheConfig.cacheManager(properties, noLoader);
+        Cache<Object, Object> cache = nativeCache(cacheManager, "somethingElse");
+
+        assertFalse(eviction(cache).isWeighted());
+        assertEquals(50, eviction(cache).getMaximum());
+        assertTrue(cache.policy().expireAfterWrite().isEmpty());
+        assertTrue(cache.policy().isRecordingStats());
+    }
+
+    @Test
+    void cacheManager_MaximumWeight_BoundsByCacheEntryWeigher() {
+        CacheSpecProperties.Spec weightSpec = new CacheSpecProperties.Spec(5L, 12L, null, null, null, false);
+        CacheManager cacheManager = cacheConfig.cacheManager(new CacheSpecProperties(100L, Map.of("games", weightSpec)), noLoader);
+        Cache<Object, Object> cache = nativeCache(cacheManager, "games");
+
+        // The weight bound wins over the size bound
+        assertTrue(eviction(cache).isWeighted());
+        assertEquals(12, eviction(cache).getMaximum());
+        assertFalse(cache.policy().isRecordingStats());
+
+        cache.put("page1", gameList(4));
+        cache.put("page2", gameList(4));
+        cache.cleanUp();
+        assertEquals(10, eviction(cache).weightedSize().orElseThrow());
+
+        cache.put("page3", gameList(4));
+        cache.cleanUp();
+        assertTrue(eviction(cache).weightedSize().orElseThrow() <= 12);
+        assertTrue(cache.estimatedSize() < 3);
+    }
+
+    @Test
+    void cacheManager_RefreshWithoutLoader_Fails() {
+        CacheSpecProperties.Spec refreshSpec = new CacheSpecProperties.Spec(10L, null, null, null, Duration.ofMinutes(1), null);
+
+        assertThrows(IllegalStateException.class,
+                () -> cacheConfig.cacheManager(new CacheSpecProperties(100L, Map.of("games", refreshSpec)), noLoader));
+    }
+
+    @Test
+    void weigh_CountsGamesAndDescriptionKilobytes() {
+        CacheEntryWeigher weigher = new CacheEntryWeigher();
+        RawgGameDetail detail = new RawgGameDetail(1, "Portal 2", "x".repeat(3 * 1024), "2011-04-18", "", List.of(), List.of(), List.of(), List.of());
+
+        assertEquals(5, weigher.weigh("page1", gameList(4)));
+        assertEquals(4, weigher.weigh("1", detail));
+        assertEquals(1, weigher.weigh("user", "identity"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.gamehubbackend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawgConfigUnitTest {
+
+    private static MockWebServer mockWebServer;
+
+    private final RawgConfig rawgConfig = new RawgConfig();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    private static RawgHttpProperties properties(RawgHttpProperties.Client client, boolean compression) {
+        return new RawgHttpProperties(client, 20, 10, Duration.ofSeconds(2), Duration.ofSeconds(1),
+                Duration.ofSeconds(10), Duration.ofSeconds(30), Duration.ofMinutes(5), compression);
+    }
+
+    private RestClient restClient(RawgHttpProperties properties) {
+        return rawgConfig.rawgRestClient(mockWebServer.url("/").toString(), properties,
+                rawgConfig.rawgRequestFactory(properties, meterRegistry));
+    }
+
+    private static MockResponse gzipped(String body) throws IOException {
+        Buffer buffer = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+            sink.writeUtf8(body);
+        }
+        return new MockResponse()
+                .setBody(buffer)
+                .addHeader("Content-Encoding", "gzip")
+                .addHeader("Content-Type", "application/json");
+    }
+
+    @Test
+    void apacheClient_GzipResponse_IsDecoded() throws Exception {
+        mockWebServer.enqueue(gzipped("{\"count\": 1}"));
+
+        String actual = restClient(properties(RawgHttpProperties.Client.APACHE, true)).get()
+                .uri("api/games")
+                .retrieve()
+                .body(String.class);
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals("{\"count\": 1}", actual);
+        assertTrue(request.getHeader("Accept-Encoding").contains("gzip"));
+        assertTrue(request.getHeader("Accept-Encoding").contains("br"));
+    }
+
+    @Test
+    void apacheClient_CompressionDisabled_DoesNotRequestCompression() throws Exception {
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+
+        restClient(properties(RawgHttpProperties.Client.APACHE, false)).get()
+                .uri("api/games")
+                .retrieve()
+                .body(String.class);
+
+        assertNull(mockWebServer.takeRequest().getHeader("Accept-Encoding"));
+    }
+
+    @Test
+    void apacheClient_ExposesPoolMetrics() {
+        rawgConfig.rawgRequestFactory(properties(RawgHttpProperties.Client.APACHE, true), meterRegistry);
+
+        assertEquals(20, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "rawg")
+                .gauge()
+                .value());
+        assertEquals(10, meterRegistry.get("httpcomponents.httpclient.pool.route.max.default")
+                .tag("httpclient", "rawg")
+                .gauge()
+                .value());
+    }
+
+    @Test
+    void jdkClient_GzipResponse_IsDecoded() throws Exception {
+        mockWebServer.enqueue(gzipped("{\"count\": 2}"));
+
+        String actual = restClient(properties(RawgHttpProperties.Client.JDK, true)).get()
+                .uri("api/games")
+                .retrieve()
+                .body(String.class);
+
+        assertEquals("{\"count\": 2}", actual);
+        assertEquals("gzip", mockWebServer.takeRequest().getHeader("Accept-Encoding"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.gamehubbackend.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,metrics,caches")
+@AutoConfigureMockMvc
+class ActuatorSecurityIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void health_Anonymous_Ok() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void cachesAndMetrics_Anonymous_Unauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/caches"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/actuator/caches"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(username = "TestUser", authorities = {"USER"})
+    void caches_LoggedIn_Ok() throws Exception {
+        mockMvc.perform(get("/actuator/caches"))
+                .andExpect(status().isOk());
+    }
+}
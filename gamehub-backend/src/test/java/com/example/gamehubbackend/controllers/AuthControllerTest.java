@@ -4,6 +4,7 @@ import com.example.gamehubbackend.dto.LibraryGameDTO;
 import com.example.gamehubbackend.models.User;
 import com.example.gamehubbackend.dto.UserDTO;
 import com.example.gamehubbackend.repositories.UserRepository;
+import com.example.gamehubbackend.services.LibraryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +31,9 @@ class AuthControllerTest {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    LibraryService libraryService;
+
     @Autowired
     ObjectMapper objectMapper;
 
@@ -43,7 +47,8 @@ class AuthControllerTest {
         LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
         LibraryGameDTO game2 = new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2");
 
-        userRepository.save(new User("1", "TestUser", "Test", "githubId123", "avatarLink", "USER", List.of(game1, game2), localDate, createdDate));
+        userRepository.save(new User("1", "TestUser", "Test", "githubId123", "avatarLink", "USER", null, localDate, createdDate));
+        libraryService.replaceLibrary("1", List.of(game1, game2));
 
         mockMvc.perform(get("/api/auth/me")
                         .with(oidcLogin().idToken(token -> token.subject("1"))
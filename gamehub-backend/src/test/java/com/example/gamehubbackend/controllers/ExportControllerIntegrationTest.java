@@ -0,0 +1,167 @@
+package com.example.gamehubbackend.controllers;
+
+import com.example.gamehubbackend.models.Note;
+import com.example.gamehubbackend.models.Review;
+import com.example.gamehubbackend.models.User;
+import com.example.gamehubbackend.repositories.NoteRepository;
+import com.example.gamehubbackend.repositories.ReviewRepository;
+import com.example.gamehubbackend.repositories.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportControllerIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    NoteRepository noteRepository;
+
+    @Autowired
+    ReviewRepository reviewRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private final LocalDateTime localDateTime = LocalDateTime.parse("2020-01-01T01:00:00");
+
+    @BeforeEach
+    void setUp() {
+        noteRepository.deleteAll();
+        reviewRepository.deleteAll();
+        // The logged-in user of the tests, @WithMockUser(username = "exporter")
+        userRepository.save(new User("user1", "exporter", "password", null, "", "USER", null, localDateTime, localDateTime));
+    }
+
+    @AfterEach
+    void tearDown() {
+        noteRepository.deleteAll();
+        reviewRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private byte[] export(String path, String... params) throws Exception {
+        MockHttpServletRequestBuilder builder = get(path);
+        for (int i = 0; i < params.length; i += 2) {
+            builder.param(params[i], params[i + 1]);
+        }
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private List<JsonNode> lines(byte[] ndjson) throws IOException {
+        String body = new String(ndjson, StandardCharsets.UTF_8);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    @WithMockUser(username = "exporter")
+    void exportNotes_FilteredByUser_OneNotePerLine() throws Exception {
+        noteRepository.save(new Note("1", "Game", "user1", "game1", "Title 1", "Content", "Category", localDateTime, localDateTime));
+        noteRepository.save(new Note("2", "Game", "user2", "game1", "Title 2", "Content", "Category", localDateTime, localDateTime));
+        noteRepository.save(new Note("3", "Game", "user1", "game2", "Title 3", "Content", "Category", localDateTime, localDateTime));
+
+        List<JsonNode> notes = lines(export("/api/export/notes", "userId", "user1"));
+
+        assertEquals(List.of("1", "3"), notes.stream().map(note -> note.get("id").asText()).toList());
+        assertEquals("2020-01-01T01:00:00", notes.getFirst().get("created").asText());
+    }
+
+    @Test
+    @WithMockUser(username = "exporter")
+    void exportNotes_WithoutUserId_ExportsOnlyCallersNotes() throws Exception {
+        noteRepository.save(new Note("1", "Game", "user1", "game1", "Title 1", "Content", "Category", localDateTime, localDateTime));
+        noteRepository.save(new Note("2", "Game", "user2", "game1", "Title 2", "Content", "Category", localDateTime, localDateTime));
+
+        List<JsonNode> notes = lines(export("/api/export/notes"));
+
+        assertEquals(List.of("1"), notes.stream().map(note -> note.get("id").asText()).toList());
+    }
+
+    @Test
+    @WithMockUser(username = "exporter")
+    void exportNotes_OtherUser_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/export/notes").param("userId", "user2"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void export_Anonymous_Unauthorized() throws Exception {
+        mockMvc.perform(get("/api/export/notes"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/export/reviews"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/export/library"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(username = "exporter")
+    void exportReviews_Gzip_CompressesResponse() throws Exception {
+        reviewRepository.save(new Review("1", "Game", "user1", "game1", "username1", 4.5, "Great game!", "2020-01-01"));
+        reviewRepository.save(new Review("2", "Game", "user2", "game2", "username2", 3.0, "Okay game", "2020-01-01"));
+        reviewRepository.save(new Review("3", "Game", "user2", "game1", "username2", 2.0, "Not for me", "2020-01-01"));
+
+        MvcResult started = mockMvc.perform(get("/api/export/reviews").param("gameId", "game1").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] compressed = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] ndjson;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            ndjson = in.readAllBytes();
+        }
+        List<JsonNode> reviews = lines(ndjson);
+        assertEquals(1, reviews.size());
+        assertEquals("Great game!", reviews.getFirst().get("content").asText());
+    }
+
+    @Test
+    @WithMockUser(username = "exporter")
+    void exportLibrary_Empty_NoLines() throws Exception {
+        assertEquals(0, export("/api/export/library").length);
+    }
+}
@@ -991,4 +991,18 @@ class GameControllerIntegrationTests {
                         """
                 ));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "TestUser", roles = {"USER"})
+    void loadGameDetails_UnknownId_ReturnsNotFound() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setBody("{\"detail\": \"Not found.\"}")
+                .addHeader("Content-Type", "application/json"));
+
+        mockMvc.perform(get("/api/games/fetch/99999999"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("No Game found with id: 99999999"))
+                .andExpect(jsonPath("$.statusCode").value(404));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.gamehubbackend.controllers;
 
 import com.example.gamehubbackend.models.Note;
 import com.example.gamehubbackend.repositories.NoteRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 
+import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -54,6 +56,33 @@ class NoteControllerIntegrationTests {
                 .andExpect(content().json("[]"));
     }
 
+    @Test
+    @DirtiesContext
+    void getNotesPage_FollowsCursorToLastPage() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            noteRepository.save(new Note(String.valueOf(i), "Test", "user1", "game1", "Title " + i, "Content", "Category", createdDateTime, updatedDateTime));
+        }
+        noteRepository.save(new Note("4", "Test", "user2", "game1", "Title 4", "Content", "Category", createdDateTime, updatedDateTime));
+
+        String firstPage = mockMvc.perform(get("/api/notes/page").param("userId", "user1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id").value(contains("1", "2")))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        mockMvc.perform(get("/api/notes/page").param("userId", "user1").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id").value(contains("3")))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getNotesPage_InvalidCursor_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/notes/page").param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DirtiesContext
     void getNoteById() throws Exception {
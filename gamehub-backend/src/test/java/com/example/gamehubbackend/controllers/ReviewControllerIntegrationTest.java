@@ -1,7 +1,9 @@
 package com.example.gamehubbackend.controllers;
 
 import com.example.gamehubbackend.models.Review;
+import com.example.gamehubbackend.models.User;
 import com.example.gamehubbackend.repositories.ReviewRepository;
+import com.example.gamehubbackend.repositories.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -11,6 +13,8 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -24,6 +28,9 @@ class ReviewControllerIntegrationTest {
     @Autowired
     ReviewRepository reviewRepository;
 
+    @Autowired
+    UserRepository userRepository;
+
     @Test
     @WithMockUser
     void getAllReviews() throws Exception {
@@ -32,6 +39,107 @@ class ReviewControllerIntegrationTest {
                 .andExpect(content().json("[]"));
     }
 
+    @Test
+    @WithMockUser
+    @DirtiesContext
+    void getRatingStats() throws Exception {
+        mockMvc.perform(post("/api/reviews")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"gameTitle": "Test", "userId": "user1", "gameId": "game1", "username": "username1", "rating": 4.5, "content": "Great game!", "date": "2020-01-01"}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/reviews/stats/game1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(
+                        """
+                        {
+                            "id": "game1",
+                            "count": 1,
+                            "sum": 4.5,
+                            "mean": 4.5,
+                            "histogram": { "9": 1 },
+                            "lastReviewDate": "2020-01-01"
+                        }
+                        """
+                ));
+    }
+
+    @Test
+    @WithMockUser
+    @DirtiesContext
+    void getLeaderboards() throws Exception {
+        mockMvc.perform(post("/api/reviews")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"gameTitle": "Ranked", "userId": "user1", "gameId": "ranked1", "username": "username1", "rating": 4.5, "content": "Great game!", "date": "2020-01-01"}
+                                """))
+                .andExpect(status().isOk());
+
+        // The boards are kept in memory and may hold reviews of other tests, so only the new game is checked
+        mockMvc.perform(get("/api/leaderboards/most-reviewed").param("window", "all"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.board").value("most-reviewed"))
+                .andExpect(jsonPath("$.window").value("all"))
+                .andExpect(jsonPath("$.games[?(@.gameId == 'ranked1')].reviews").value(1))
+                .andExpect(jsonPath("$.games[?(@.gameId == 'ranked1')].meanRating").value(4.5));
+
+        mockMvc.perform(get("/api/leaderboards/most-reviewed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.window").value("7d"))
+                .andExpect(jsonPath("$.games[?(@.gameId == 'ranked1')]").isEmpty());
+
+        mockMvc.perform(get("/api/leaderboards/top-rated").param("window", "1y"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "username1")
+    @DirtiesContext
+    void importReviews() throws Exception {
+        userRepository.save(new User("user1", "username1", "password", null, "", "USER", null, LocalDateTime.now(), LocalDateTime.now()));
+
+        mockMvc.perform(post("/api/reviews/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(
+                                """
+                                {"gameTitle": "Test", "userId": "user1", "gameId": "game1", "username": "username1", "rating": 4.5, "content": "Great game!", "date": "2020-01-01"}
+                                {"gameTitle": "Test", "userId": "user1", "username": "username1", "rating": 4.5, "content": "No game", "date": "2020-01-01"}
+                                {"gameTitle": "Test", "userId": "user2", "gameId": "game1", "username": "username2", "rating": 1, "content": "Not mine", "date": "2020-01-01"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].id").isString())
+                .andExpect(jsonPath("$.results[1].error").value("gameId is required"))
+                .andExpect(jsonPath("$.results[2].error").value("userId must be your own"));
+
+        mockMvc.perform(get("/api/reviews/game1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].content").value("Great game!"));
+
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void importReviews_Anonymous_Unauthorized() throws Exception {
+        mockMvc.perform(post("/api/reviews/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"gameTitle": "Test", "userId": "user1", "gameId": "game1", "username": "username1", "rating": 4.5, "content": "Great game!", "date": "2020-01-01"}
+                                """))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/api/notes/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"userId": "user1", "gameId": "game1", "title": "Title"}
+                                """))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @WithMockUser
     @DirtiesContext
@@ -3,6 +3,8 @@ package com.example.gamehubbackend.controllers;
 import com.example.gamehubbackend.dto.LibraryGameDTO;
 import com.example.gamehubbackend.models.User;
 import com.example.gamehubbackend.repositories.UserRepository;
+import com.example.gamehubbackend.services.LibraryService;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -28,9 +30,17 @@ class UserControllerIntegrationTests {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    LibraryService libraryService;
+
     private final LocalDateTime localDateTime = LocalDateTime.parse("2020-01-01T01:00:00");
     private final LocalDateTime updateDateTime = LocalDateTime.parse("2020-01-01T02:00:00");
 
+    private void saveWithLibrary(User user) {
+        userRepository.save(user.withGameLibrary(null));
+        libraryService.replaceLibrary(user.id(), user.gameLibrary());
+    }
+
     @Test
     @WithMockUser
     void getAllUsers() throws Exception {
@@ -47,7 +57,7 @@ class UserControllerIntegrationTests {
         LibraryGameDTO game2 = new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2");
         LibraryGameDTO game3 = new LibraryGameDTO("game3", "Game 3", List.of("Platform3"), "coverImage3");
 
-        userRepository.save(new User("1", "TestUser1", "Test","1", "link", "USER", List.of(game1, game2, game3), localDateTime, updateDateTime));
+        saveWithLibrary(new User("1", "TestUser1", "Test","1", "link", "USER", List.of(game1, game2, game3), localDateTime, updateDateTime));
 
         mockMvc.perform(get("/api/users/1"))
                 .andExpect(status().isOk())
@@ -89,7 +99,7 @@ class UserControllerIntegrationTests {
         LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
         LibraryGameDTO game2 = new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2");
 
-        userRepository.save(new User("1", "TestUser1","Test", "1", "link", "USER", List.of(game1, game2), localDateTime, updateDateTime));
+        saveWithLibrary(new User("1", "TestUser1","Test", "1", "link", "USER", List.of(game1, game2), localDateTime, updateDateTime));
 
         mockMvc.perform(get("/api/users/g/1"))
                 .andExpect(status().isOk())
@@ -157,7 +167,7 @@ class UserControllerIntegrationTests {
         LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
         LibraryGameDTO game2 = new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2");
 
-        userRepository.save(new User("1", "TestUser1","Test", "1", "link", "USER", List.of(game1, game2), localDateTime, updateDateTime));
+        saveWithLibrary(new User("1", "TestUser1","Test", "1", "link", "USER", List.of(game1, game2), localDateTime, updateDateTime));
 
         mockMvc.perform(put("/api/users/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -207,7 +217,7 @@ class UserControllerIntegrationTests {
         LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
         LibraryGameDTO game2 = new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2");
 
-        userRepository.save(new User("1", "TestUser1","Test", "1", "link", "USER", List.of(game1, game2), localDateTime, updateDateTime));
+        saveWithLibrary(new User("1", "TestUser1","Test", "1", "link", "USER", List.of(game1, game2), localDateTime, updateDateTime));
 
         mockMvc.perform(delete("/api/users/1"))
                 .andExpect(status().isNoContent());
@@ -221,7 +231,7 @@ class UserControllerIntegrationTests {
     @WithMockUser
     @DirtiesContext
     void addGameToLibrary() throws Exception {
-        userRepository.save(new User("1", "TestUser1", "Test", "1", "link", "USER", List.of(), localDateTime, updateDateTime));
+        saveWithLibrary(new User("1", "TestUser1", "Test", "1", "link", "USER", List.of(), localDateTime, updateDateTime));
 
         mockMvc.perform(put("/api/users/addGame")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -242,17 +252,10 @@ class UserControllerIntegrationTests {
                 .andExpect(content().json(
                         """
                         {
-                            "id": "1",
-                            "username": "TestUser1",
-                            "role": "USER",
-                            "gameLibrary": [
-                              {
-                                "id": "game1",
-                                "title": "Game 1",
-                                "platforms": ["Platform1"],
-                                "coverImage": "coverImage1"
-                              }
-                            ]
+                            "id": "game1",
+                            "title": "Game 1",
+                            "platforms": ["Platform1"],
+                            "coverImage": "coverImage1"
                         }
                         """
                 ));
@@ -264,7 +267,7 @@ class UserControllerIntegrationTests {
     void deleteGameFromLibrary() throws Exception {
         LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
 
-        userRepository.save(new User("1", "TestUser1","Test", "1", "link", "USER", List.of(game1), localDateTime, updateDateTime));
+        saveWithLibrary(new User("1", "TestUser1","Test", "1", "link", "USER", List.of(game1), localDateTime, updateDateTime));
 
         mockMvc.perform(put("/api/users/deleteGame")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -287,13 +290,17 @@ class UserControllerIntegrationTests {
                 .andExpect(content().json(
                         """
                         {
-                            "id": "1",
-                            "username": "TestUser1",
-                            "role": "USER",
-                            "gameLibrary": []
+                            "id": "game1",
+                            "title": "Game 1",
+                            "platforms": ["Platform1"],
+                            "coverImage": "coverImage1"
                         }
                         """
                 ));
+
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gameLibrary").isEmpty());
     }
 
     @Test
@@ -314,7 +321,7 @@ class UserControllerIntegrationTests {
     @WithMockUser
     @DirtiesContext
     void addDuplicateGameToLibrary() throws Exception {
-        userRepository.save(new User("1", "TestUser1", "Test", "1", "link", "USER", List.of(), localDateTime, updateDateTime));
+        saveWithLibrary(new User("1", "TestUser1", "Test", "1", "link", "USER", List.of(), localDateTime, updateDateTime));
 
         // Add the game once
         mockMvc.perform(put("/api/users/addGame")
@@ -336,17 +343,10 @@ class UserControllerIntegrationTests {
                 .andExpect(content().json(
                         """
                         {
-                            "id": "1",
-                            "username": "TestUser1",
-                            "role": "USER",
-                            "gameLibrary": [
-                              {
-                                "id": "game1",
-                                "title": "Game 1",
-                                "platforms": ["Platform1"],
-                                "coverImage": "coverImage1"
-                              }
-                            ]
+                            "id": "game1",
+                            "title": "Game 1",
+                            "platforms": ["Platform1"],
+                            "coverImage": "coverImage1"
                         }
                         """
                 ));
@@ -371,17 +371,10 @@ class UserControllerIntegrationTests {
                 .andExpect(content().json(
                         """
                         {
-                            "id": "1",
-                            "username": "TestUser1",
-                            "role": "USER",
-                            "gameLibrary": [
-                              {
-                                "id": "game1",
-                                "title": "Game 1",
-                                "platforms": ["Platform1"],
-                                "coverImage": "coverImage1"
-                              }
-                            ]
+                            "id": "game1",
+                            "title": "Game 1",
+                            "platforms": ["Platform1"],
+                            "coverImage": "coverImage1"
                         }
                         """
                 ));
@@ -393,7 +386,7 @@ class UserControllerIntegrationTests {
     void deleteNonExistentGameFromLibrary() throws Exception {
         LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
 
-        userRepository.save(new User("1", "TestUser1", "Test", "1", "link", "USER", List.of(game1), localDateTime, updateDateTime));
+        saveWithLibrary(new User("1", "TestUser1", "Test", "1", "link", "USER", List.of(game1), localDateTime, updateDateTime));
 
         mockMvc.perform(put("/api/users/deleteGame")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -410,6 +403,10 @@ class UserControllerIntegrationTests {
                                 }
                                 """
                         ))
+                .andExpect(status().isNoContent())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/users/1"))
                 .andExpect(status().isOk())
                 .andExpect(content().json(
                         """
@@ -430,6 +427,94 @@ class UserControllerIntegrationTests {
                 ));
     }
 
+    @Test
+    @WithMockUser
+    @DirtiesContext
+    void getUserById_LibrarySummary() throws Exception {
+        LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
+        LibraryGameDTO game2 = new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2");
+
+        saveWithLibrary(new User("1", "TestUser1", "Test", "1", "link", "USER", List.of(game1, game2), localDateTime, updateDateTime));
+
+        mockMvc.perform(get("/api/users/1").param("library", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.librarySize").value(2))
+                .andExpect(jsonPath("$.gameLibrary").doesNotExist());
+
+        mockMvc.perform(get("/api/users").param("library", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("1"))
+                .andExpect(jsonPath("$[0].librarySize").doesNotExist())
+                .andExpect(jsonPath("$[0].gameLibrary").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser
+    void getUserById_UnknownLibraryView_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/users/1").param("library", "some"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    @DirtiesContext
+    void getLibraryPage() throws Exception {
+        LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
+        LibraryGameDTO game2 = new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2");
+        LibraryGameDTO game3 = new LibraryGameDTO("game3", "Game 3", List.of("Platform3"), "coverImage3");
+
+        saveWithLibrary(new User("1", "TestUser1", "Test", "1", "link", "USER", List.of(game1, game2, game3), localDateTime, updateDateTime));
+
+        mockMvc.perform(get("/api/users/1/library").param("page", "1").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(
+                        """
+                        {
+                          "games": [
+                            {
+                              "id": "game3",
+                              "title": "Game 3",
+                              "platforms": ["Platform3"],
+                              "coverImage": "coverImage3"
+                            }
+                          ],
+                          "page": 1,
+                          "size": 2,
+                          "totalElements": 3,
+                          "totalPages": 2
+                        }
+                        """
+                ));
+    }
+
+    @Test
+    @WithMockUser
+    @DirtiesContext
+    void getLibraryAfterCursor() throws Exception {
+        LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
+        LibraryGameDTO game2 = new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2");
+        LibraryGameDTO game3 = new LibraryGameDTO("game3", "Game 3", List.of("Platform3"), "coverImage3");
+
+        saveWithLibrary(new User("1", "TestUser1", "Test", "1", "link", "USER", List.of(game1, game2, game3), localDateTime, updateDateTime));
+
+        String firstPage = mockMvc.perform(get("/api/users/1/library/cursor").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value("game1"))
+                .andExpect(jsonPath("$.items[1].id").value("game2"))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        mockMvc.perform(get("/api/users/1/library/cursor").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value("game3"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/users/1/library/cursor").param("cursor", "invalid"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser
     void addUserWithInvalidData() throws Exception {
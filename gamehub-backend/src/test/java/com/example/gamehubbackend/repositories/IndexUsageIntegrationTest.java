@@ -0,0 +1,232 @@
+package com.example.gamehubbackend.repositories;
+
+import com.example.gamehubbackend.dto.LibraryGameDTO;
+import com.example.gamehubbackend.dto.UserDTO;
+import com.example.gamehubbackend.exceptions.InvalidRequestException;
+import com.example.gamehubbackend.models.CatalogGame;
+import com.example.gamehubbackend.models.Note;
+import com.example.gamehubbackend.models.Review;
+import com.example.gamehubbackend.models.User;
+import com.example.gamehubbackend.services.IndexService;
+import com.example.gamehubbackend.services.LibraryService;
+import com.example.gamehubbackend.services.NoteService;
+import com.example.gamehubbackend.services.ReviewService;
+import com.example.gamehubbackend.services.UserService;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every finder, explains the queries it sent to MongoDB and fails if one of them scans a whole collection.
+ */
+@SpringBootTest
+class IndexUsageIntegrationTest {
+
+    private static final Set<String> QUERY_COMMANDS = Set.of("find", "aggregate", "count");
+    // Fields the driver adds to a command, which explain does not accept inside the explained command
+    private static final Set<String> DRIVER_FIELDS = Set.of("$db", "lsid", "$clusterTime", "$readPreference", "txnNumber", "apiVersion");
+
+    @TestConfiguration
+    static class QueryRecorderConfig {
+
+        @Bean
+        QueryRecorder queryRecorder() {
+            return new QueryRecorder();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer queryRecorderCustomizer(QueryRecorder queryRecorder) {
+            return settings -> settings.addCommandListener(queryRecorder);
+        }
+    }
+
+    /**
+     * Records the queries sent while a finder runs.
+     */
+    static class QueryRecorder implements CommandListener {
+
+        private final List<BsonDocument> queries = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            if (recording && QUERY_COMMANDS.contains(event.getCommandName())) {
+                queries.add(event.getCommand().clone());  // The event's document is only valid during the call
+            }
+        }
+
+        List<BsonDocument> record(Runnable finder) {
+            queries.clear();
+            recording = true;
+            try {
+                finder.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(queries);
+        }
+    }
+
+    @Autowired
+    QueryRecorder queryRecorder;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Autowired
+    IndexService indexService;
+
+    @Autowired
+    NoteRepository noteRepository;
+
+    @Autowired
+    ReviewRepository reviewRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    LibraryRepository libraryRepository;
+
+    @Autowired
+    CatalogGameRepository catalogGameRepository;
+
+    @Autowired
+    NoteService noteService;
+
+    @Autowired
+    ReviewService reviewService;
+
+    @Autowired
+    LibraryService libraryService;
+
+    @Autowired
+    UserService userService;
+
+    private final LocalDateTime localDateTime = LocalDateTime.parse("2020-01-01T01:00:00");
+
+    @BeforeEach
+    void setUp() {
+        // Explain plans an empty or missing collection without looking at its indexes
+        userRepository.save(new User("1", "user1", "password", "42", "", "USER", null, localDateTime, localDateTime));
+        noteRepository.save(new Note("1", "Game", "1", "game1", "Title", "Content", "category", localDateTime, localDateTime));
+        reviewRepository.save(new Review("1", "Game", "1", "game1", "user1", 4.0, "Good game", "2020-01-01"));
+        libraryService.addGame("1", new LibraryGameDTO("game1", "Game", List.of("PC"), "cover.jpg"));
+        catalogGameRepository.save(new CatalogGame("game1", "Game", List.of(), "2020-01-01", List.of(), "", 1, null, null, localDateTime));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The context is shared with the other integration tests, which expect empty collections
+        userRepository.deleteAll();
+        noteRepository.deleteAll();
+        reviewRepository.deleteAll();
+        libraryRepository.deleteAll();
+        catalogGameRepository.deleteAll();
+    }
+
+    @Test
+    void ensureIndexes_CreatesAllDeclaredIndexes() {
+        assertEquals(List.of(), indexService.ensureIndexes());
+    }
+
+    @Test
+    void finders_UseIndexes() {
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        finders.put("NoteRepository.findByUserId", () -> noteRepository.findByUserId("1"));
+        finders.put("NoteService.getNotesPage by user", () -> noteService.getNotesPage("1", null, null, 10));
+        finders.put("NoteService.getNotesPage by game", () -> noteService.getNotesPage(null, "game1", null, 10));
+        finders.put("ReviewRepository.findByGameId", () -> reviewRepository.findByGameId("game1"));
+        finders.put("ReviewRepository.findByUserId", () -> reviewRepository.findByUserId("1"));
+        finders.put("ReviewRepository.findFirstByGameIdAndDateNotNullOrderByDateDesc",
+                () -> reviewRepository.findFirstByGameIdAndDateNotNullOrderByDateDesc("game1"));
+        finders.put("ReviewRepository.tallyDaysFrom", () -> reviewRepository.tallyDaysFrom("2020-01-01"));
+        finders.put("ReviewService.getReviewsPage by user", () -> reviewService.getReviewsPage("1", null, null, 10));
+        finders.put("ReviewService.getReviewsPage by game", () -> reviewService.getReviewsPage(null, "game1", null, 10));
+        finders.put("UserRepository.findByGitHubId", () -> userRepository.findByGitHubId("42"));
+        finders.put("UserRepository.findByUsername", () -> userRepository.findByUsername("user1"));
+        finders.put("UserRepository.findIdentityByGitHubId", () -> userRepository.findIdentityByGitHubId("42"));
+        finders.put("UserRepository.findIdentityByUsername", () -> userRepository.findIdentityByUsername("user1"));
+        finders.put("LibraryRepository.findByUserId", () -> libraryRepository.findByUserId("1", PageRequest.of(0, 10, Sort.by("addedAt", "id"))));
+        finders.put("LibraryRepository.findByUserIdOrderByAddedAtAscIdAsc", () -> libraryRepository.findByUserIdOrderByAddedAtAscIdAsc("1"));
+        finders.put("LibraryRepository.findByUserIdInOrderByAddedAtAscIdAsc", () -> libraryRepository.findByUserIdInOrderByAddedAtAscIdAsc(List.of("1", "2")));
+        finders.put("LibraryRepository.countByUserId", () -> libraryRepository.countByUserId("1"));
+        finders.put("LibraryRepository.countByUserIds", () -> libraryRepository.countByUserIds(List.of("1", "2")));
+        finders.put("LibraryService.getLibraryAfter", () -> libraryService.getLibraryAfter("1", null, 10));
+
+        List<String> collectionScans = new ArrayList<>();
+        finders.forEach((finder, run) -> {
+            List<BsonDocument> queries = queryRecorder.record(run);
+            assertFalse(queries.isEmpty(), finder + " sent no query");
+            for (BsonDocument query : queries) {
+                if (scansCollection(explain(query))) {
+                    collectionScans.add(finder + ": " + query.toJson());
+                }
+            }
+        });
+
+        assertEquals(List.of(), collectionScans);
+    }
+
+    @Test
+    void saveUser_TakenUsername_Throws() {
+        UserDTO user = new UserDTO("user1", "password", null, null, "USER", List.of(), localDateTime, localDateTime);
+
+        assertThrows(InvalidRequestException.class, () -> userService.saveUser(user));
+        assertEquals(1, userRepository.count());
+    }
+
+    private BsonDocument explain(BsonDocument query) {
+        BsonDocument command = new BsonDocument();
+        query.forEach((field, value) -> {
+            if (!DRIVER_FIELDS.contains(field)) {
+                command.put(field, value);
+            }
+        });
+        return mongoTemplate.getDb().runCommand(
+                new BsonDocument("explain", command).append("verbosity", new BsonString("queryPlanner")), BsonDocument.class);
+    }
+
+    /**
+     * Whether any stage of the chosen plans, however deeply nested, is a collection scan.
+     */
+    private static boolean scansCollection(BsonValue plan) {
+        if (plan.isDocument()) {
+            BsonDocument document = plan.asDocument();
+            BsonValue stage = document.get("stage");
+            if (stage != null && stage.isString() && stage.asString().getValue().equals("COLLSCAN")) {
+                return true;
+            }
+            return document.entrySet().stream()
+                    .filter(entry -> !entry.getKey().equals("rejectedPlans"))
+                    .anyMatch(entry -> scansCollection(entry.getValue()));
+        }
+        if (plan.isArray()) {
+            return plan.asArray().stream().anyMatch(IndexUsageIntegrationTest::scansCollection);
+        }
+        return false;
+    }
+}
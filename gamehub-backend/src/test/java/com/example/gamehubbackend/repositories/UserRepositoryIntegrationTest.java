@@ -0,0 +1,40 @@
+package com.example.gamehubbackend.repositories;
+
+import com.example.gamehubbackend.models.User;
+import com.example.gamehubbackend.models.UserIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class UserRepositoryIntegrationTest {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findIdentity_ReturnsIdAndRoleOnly() {
+        userRepository.save(new User("1", "TestUser1", "password", "42", "link", "ADMIN", List.of(), LocalDateTime.now(), LocalDateTime.now()));
+
+        assertEquals(Optional.of(new UserIdentity("1", "ADMIN")), userRepository.findIdentityByGitHubId("42"));
+        assertEquals(Optional.of(new UserIdentity("1", "ADMIN")), userRepository.findIdentityByUsername("TestUser1"));
+    }
+
+    @Test
+    void findIdentity_UnknownUser_ReturnsEmpty() {
+        assertTrue(userRepository.findIdentityByGitHubId("42").isEmpty());
+        assertTrue(userRepository.findIdentityByUsername("nobody").isEmpty());
+    }
+}
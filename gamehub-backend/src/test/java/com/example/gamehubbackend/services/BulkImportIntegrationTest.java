@@ -0,0 +1,127 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.dto.ImportReport;
+import com.example.gamehubbackend.dto.ImportResult;
+import com.example.gamehubbackend.models.Note;
+import com.example.gamehubbackend.models.Review;
+import com.example.gamehubbackend.repositories.NoteRepository;
+import com.example.gamehubbackend.repositories.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Imports with a batch size of 2, so the imports span several bulk inserts.
+ */
+@SpringBootTest(properties = "gamehub.import.batch-size=2")
+class BulkImportIntegrationTest {
+
+    @Autowired
+    NoteService noteService;
+
+    @Autowired
+    ReviewService reviewService;
+
+    @Autowired
+    NoteRepository noteRepository;
+
+    @Autowired
+    ReviewRepository reviewRepository;
+
+    @BeforeEach
+    void setUp() {
+        noteRepository.deleteAll();
+        reviewRepository.deleteAll();
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importNotes_Ndjson_StoresValidNotesAndReportsInvalidOnes() throws IOException {
+        ImportReport report = noteService.importNotes("user1", body("""
+                {"userId": "user1", "gameId": "game1", "title": "First", "content": "Content", "created": "2020-01-01T01:00:00"}
+                {"userId": "user1", "gameId": "game1", "content": "No title"}
+                {"userId": "user1", "gameId": "game2", "title": "Second"}
+                {"userId": "user1", "gameId": "game3", "title": "Bad date", "created": "yesterday"}
+                {"userId": "user1", "gameId": "game3", "title": "Third"}
+                """));
+
+        assertEquals(3, report.imported());
+        assertEquals(2, report.failed());
+        assertEquals(List.of(0, 1, 2, 3, 4), report.results().stream().map(ImportResult::index).toList());
+        assertEquals(List.of(true, false, true, false, true), report.results().stream().map(ImportResult::succeeded).toList());
+        assertEquals("title is required", report.results().get(1).error());
+
+        Note first = noteRepository.findById(report.results().getFirst().id()).orElseThrow();
+        assertEquals("First", first.title());
+        assertEquals(LocalDateTime.parse("2020-01-01T01:00:00"), first.created());
+        assertEquals(first.created(), first.updated());
+        assertEquals(3, noteRepository.count());
+    }
+
+    @Test
+    void importReviews_JsonArray_ValidatesRating() throws IOException {
+        ImportReport report = reviewService.importReviews("user1", body("""
+                [
+                  {"userId": "user1", "gameId": "game1", "username": "User", "rating": 4.5, "content": "Great"},
+                  {"userId": "user1", "gameId": "game2", "username": "User", "rating": 7, "content": "Too good"},
+                  {"userId": "user1", "gameId": "game3", "username": "User", "rating": 1, "content": "Bad"}
+                ]
+                """));
+
+        assertEquals(2, report.imported());
+        assertEquals("rating must be between 0.0 and 5.0", report.results().get(1).error());
+        Review review = reviewRepository.findById(report.results().get(2).id()).orElseThrow();
+        assertEquals("Bad", review.content());
+    }
+
+    @Test
+    void importNotes_OtherUsersNotes_AreRejected() throws IOException {
+        ImportReport report = noteService.importNotes("user1", body("""
+                {"userId": "user2", "gameId": "game1", "title": "Not mine"}
+                {"gameId": "game1", "title": "Without userId"}
+                """));
+
+        assertEquals(1, report.imported());
+        assertEquals("userId must be your own", report.results().getFirst().error());
+        assertEquals("user1", noteRepository.findById(report.results().get(1).id()).orElseThrow().userId());
+    }
+
+    @Test
+    void importReviews_OtherUsersReviews_AreRejected() throws IOException {
+        ImportReport report = reviewService.importReviews("user1", body("""
+                {"userId": "user2", "gameId": "game1", "username": "Other", "rating": 4, "content": "Not mine"}
+                {"gameId": "game2", "username": "User", "rating": 3, "content": "Without userId"}
+                """));
+
+        assertEquals(1, report.imported());
+        assertEquals("userId must be your own", report.results().getFirst().error());
+        assertEquals("user1", reviewRepository.findById(report.results().get(1).id()).orElseThrow().userId());
+        assertEquals(1, reviewRepository.count());
+    }
+
+    @Test
+    void importNotes_MalformedJson_KeepsNotesBeforeIt() throws IOException {
+        ImportReport report = noteService.importNotes("user1", body("""
+                {"userId": "user1", "gameId": "game1", "title": "First"}
+                {"userId": "user1", "gameId": "game1", "title":
+                """));
+
+        assertEquals(1, report.imported());
+        assertEquals(1, report.failed());
+        assertTrue(report.results().get(1).error().startsWith("Malformed JSON"));
+        assertEquals(1, noteRepository.count());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.repositories.NoteRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Exports more notes than fit into the heap. Surefire runs the "heap-capped" tests in a separate JVM
+ * with -Xmx96m (see pom.xml); reading the notes into a list first would fail there with an OutOfMemoryError.
+ */
+@Tag("heap-capped")
+@SpringBootTest
+class ExportServiceLargeDatasetTest {
+
+    private static final int NOTES = 128_000;
+    private static final String CONTENT = "x".repeat(1024);
+
+    @Autowired
+    ExportService exportService;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Autowired
+    NoteRepository noteRepository;
+
+    /**
+     * Discards what is written and counts the bytes and lines.
+     */
+    static class CountingOutputStream extends OutputStream {
+
+        long bytes;
+        long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        noteRepository.deleteAll();
+
+        // Inserted in batches, so seeding does not need the whole dataset in memory either
+        LocalDateTime now = LocalDateTime.now();
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < NOTES; i++) {
+            batch.add(new Document("_id", String.format("%07d", i))
+                    .append("gameTitle", "Game")
+                    .append("userId", "user" + (i % 100))
+                    .append("gameId", "game" + (i % 1000))
+                    .append("title", "Note " + i)
+                    .append("content", CONTENT)
+                    .append("category", "category")
+                    .append("created", now)
+                    .append("updated", now));
+            if (batch.size() == 5000) {
+                mongoTemplate.getCollection("notes").insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.getCollection("notes").insertMany(batch);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        noteRepository.deleteAll();
+    }
+
+    @Test
+    void exportNotes_MoreThanFitsIntoHeap_StreamsAllNotes() throws IOException {
+        long datasetBytes = (long) NOTES * CONTENT.length();
+        assumeTrue(datasetBytes > Runtime.getRuntime().maxMemory(), "Only meaningful with a heap smaller than the dataset");
+
+        CountingOutputStream out = new CountingOutputStream();
+        long exported = exportService.exportNotes(null, null, out);
+
+        assertEquals(NOTES, exported);
+        assertEquals(NOTES, out.lines);
+        assertTrue(out.bytes > datasetBytes);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.dto.LeaderboardEntry;
+import com.example.gamehubbackend.dto.LeaderboardWindow;
+import com.example.gamehubbackend.dto.RatingStatsCheck;
+import com.example.gamehubbackend.dto.ReviewDTO;
+import com.example.gamehubbackend.models.GameRatingStats;
+import com.example.gamehubbackend.models.Review;
+import com.example.gamehubbackend.repositories.GameRatingStatsRepository;
+import com.example.gamehubbackend.repositories.ReviewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GameRatingStatsServiceIntegrationTest {
+
+    @Autowired
+    GameRatingStatsService ratingStatsService;
+
+    @Autowired
+    ReviewService reviewService;
+
+    @Autowired
+    ReviewRepository reviewRepository;
+
+    @Autowired
+    GameRatingStatsRepository statsRepository;
+
+    @Autowired
+    LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        statsRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reviewRepository.deleteAll();
+        statsRepository.deleteAll();
+    }
+
+    private static ReviewDTO review(String gameId, double rating, String date) {
+        return new ReviewDTO("Game", "user1", gameId, "User", rating, "Content", date);
+    }
+
+    private Review stored(String gameId, double rating) {
+        return reviewRepository.findByGameId(gameId).orElseThrow().stream()
+                .filter(review -> review.rating() == rating)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Test
+    void addReview_UpdatesStats() {
+        reviewService.addReview(review("game1", 4.5, "2020-01-01"));
+        reviewService.addReview(review("game1", 3.0, "2020-03-01"));
+        reviewService.addReview(review("game1", 4.5, "2020-02-01"));
+
+        GameRatingStats stats = ratingStatsService.getStats("game1");
+        assertEquals(3, stats.count());
+        assertEquals(12.0, stats.sum());
+        assertEquals(4.0, stats.mean());
+        assertEquals(Map.of("9", 2L, "6", 1L), stats.histogram());
+        assertEquals("2020-03-01", stats.lastReviewDate());
+    }
+
+    @Test
+    void updateReview_AppliesRatingDelta() {
+        reviewService.addReview(review("game1", 4.5, "2020-01-01"));
+        reviewService.addReview(review("game1", 2.0, "2020-02-01"));
+
+        reviewService.updateReview(review("game1", 5.0, "2020-01-01"), stored("game1", 2.0).id());
+
+        GameRatingStats stats = ratingStatsService.getStats("game1");
+        assertEquals(2, stats.count());
+        assertEquals(4.75, stats.mean());
+        assertEquals(Map.of("9", 1L, "10", 1L, "4", 0L), stats.histogram());
+        assertEquals("2020-01-01", stats.lastReviewDate());
+        assertTrue(ratingStatsService.check().consistent());
+    }
+
+    @Test
+    void updateReview_ParallelUpdaters_StatsAndLeaderboardsMatchStoredReview() throws Exception {
+        reviewService.addReview(review("race1", 1.0, "2020-01-01"));
+        reviewService.addReview(review("race1", 3.0, "2020-01-01"));
+        String reviewId = stored("race1", 1.0).id();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            List<Callable<Object>> updates = IntStream.range(0, 100)
+                    .mapToObj(i -> (Callable<Object>) () -> {
+                        reviewService.updateReview(review(i % 3 == 0 ? "race2" : "race1", i % 11 * 0.5, "2020-01-01"), reviewId);
+                        return null;
+                    })
+                    .toList();
+            for (Future<Object> future : executor.invokeAll(updates)) {
+                future.get();
+            }
+        }
+
+        assertTrue(ratingStatsService.check().consistent());
+        Review review = reviewRepository.findById(reviewId).orElseThrow();
+        Map<String, LeaderboardEntry> board = leaderboardService.mostReviewed(LeaderboardWindow.ALL_TIME, null).games().stream()
+                .collect(Collectors.toMap(LeaderboardEntry::gameId, Function.identity()));
+        for (String gameId : List.of("race1", "race2")) {
+            GameRatingStats stats = ratingStatsService.getStats(gameId);
+            if (stats.count() == 0) {
+                assertFalse(board.containsKey(gameId));
+            } else {
+                assertEquals(stats.count(), board.get(gameId).reviews());
+                assertEquals(stats.mean(), board.get(gameId).meanRating(), 1e-9);
+            }
+        }
+        boolean movedAway = review.gameId().equals("race2");
+        assertEquals(movedAway ? 1 : 2, ratingStatsService.getStats("race1").count());
+        assertEquals(movedAway ? 1 : 0, ratingStatsService.getStats("race2").count());
+        assertEquals(3.0 + (movedAway ? 0 : review.rating()), ratingStatsService.getStats("race1").sum(), 1e-9);
+    }
+
+    @Test
+    void updateReview_OtherGame_MovesReview() {
+        reviewService.addReview(review("game1", 4.0, "2020-01-01"));
+
+        reviewService.updateReview(review("game2", 4.0, "2020-01-01"), stored("game1", 4.0).id());
+
+        assertEquals(0, ratingStatsService.getStats("game1").count());
+        assertEquals(1, ratingStatsService.getStats("game2").count());
+        assertFalse(statsRepository.existsById("game1"));
+    }
+
+    @Test
+    void reviewRemoved_LowersCountAndLastReviewDate() {
+        reviewService.addReview(review("game1", 4.0, "2020-01-01"));
+        reviewService.addReview(review("game1", 2.0, "2020-02-01"));
+        Review latest = stored("game1", 2.0);
+
+        reviewRepository.deleteById(latest.id());
+        ratingStatsService.reviewRemoved(latest);
+
+        GameRatingStats stats = ratingStatsService.getStats("game1");
+        assertEquals(1, stats.count());
+        assertEquals(4.0, stats.mean());
+        assertEquals("2020-01-01", stats.lastReviewDate());
+        assertTrue(ratingStatsService.check().consistent());
+    }
+
+    @Test
+    void check_DriftedStats_ReportsGame() {
+        reviewService.addReview(review("game1", 4.0, "2020-01-01"));
+        reviewService.addReview(review("game2", 3.0, "2020-01-01"));
+        statsRepository.save(ratingStatsService.getStats("game2").withCount(5));
+        reviewRepository.save(new Review("3", "Game", "user1", "game3", "User", 1.0, "Not counted", "2020-01-01"));
+
+        RatingStatsCheck check = ratingStatsService.check();
+
+        assertEquals(3, check.checkedGames());
+        assertEquals(List.of("game2", "game3"), check.mismatchedGameIds().stream().sorted().toList());
+    }
+
+    @Test
+    void rebuild_MatchesIncrementalStats() {
+        reviewService.addReview(review("game1", 4.5, "2020-01-01"));
+        reviewService.addReview(review("game1", 3.0, "2020-03-01"));
+        reviewService.addReview(review("game2", 1.0, null));
+        GameRatingStats incremental = ratingStatsService.getStats("game1");
+        statsRepository.deleteAll();
+
+        assertEquals(2, ratingStatsService.rebuild());
+
+        GameRatingStats rebuilt = ratingStatsService.getStats("game1");
+        assertEquals(incremental.count(), rebuilt.count());
+        assertEquals(incremental.mean(), rebuilt.mean());
+        assertEquals(incremental.lastReviewDate(), rebuilt.lastReviewDate());
+        assertNull(ratingStatsService.getStats("game2").lastReviewDate());
+        assertTrue(ratingStatsService.check().consistent());
+    }
+}
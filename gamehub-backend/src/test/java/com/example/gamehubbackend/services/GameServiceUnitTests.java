@@ -1,10 +1,12 @@
 package com.example.gamehubbackend.services;
 
+import com.example.gamehubbackend.dto.CursorPage;
 import com.example.gamehubbackend.exceptions.GameNotFoundException;
 import com.example.gamehubbackend.models.Game;
 import com.example.gamehubbackend.dto.GameDTO;
 import com.example.gamehubbackend.repositories.GameRepository;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
 
 
 import java.util.List;
@@ -16,7 +18,8 @@ import static org.mockito.Mockito.*;
 class GameServiceUnitTests {
     private final GameRepository gameRepo = mock(GameRepository.class);
     private final IdService idService = mock(IdService.class);
-    private final GameService gameService = new GameService(gameRepo, idService);
+    private final KeysetPager keysetPager = mock(KeysetPager.class);
+    private final GameService gameService = new GameService(gameRepo, idService, keysetPager);
 
     @Test
     void getAllGames_Test() {
@@ -46,6 +49,16 @@ class GameServiceUnitTests {
         assertEquals(allGames, actualGames);
     }
 
+    @Test
+    void getGamesPage_DelegatesToKeysetPager() {
+        Game game = new Game("1", "Super Mario World", List.of("Jump and Run"), "2020-01-01", List.of("NES", "SNES"), "linkToImg");
+        CursorPage<Game> page = new CursorPage<>(List.of(game), "next");
+        when(keysetPager.page(any(Query.class), eq("cursor"), eq(10), eq(Game.class), any())).thenReturn(page);
+
+        assertEquals(page, gameService.getGamesPage("cursor", 10));
+        verifyNoInteractions(gameRepo);
+    }
+
     @Test
     void getGameById_Test() {
         Game game = new Game("1", "Super Mario World", List.of("Jump and Run"), "2020-01-01", List.of("NES", "SNES"), "linkToImg");
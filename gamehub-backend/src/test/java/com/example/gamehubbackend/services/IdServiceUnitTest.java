@@ -1,5 +1,7 @@
 package com.example.gamehubbackend.services;
 
+import com.example.gamehubbackend.config.IdProperties;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 
@@ -27,4 +29,21 @@ class IdServiceUnitTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void randomId_UuidV7Strategy_ReturnsIncreasingVersion7Uuids() {
+        IdService uuidV7 = new IdService(new IdProperties(IdProperties.Strategy.UUID_V7));
+
+        String first = uuidV7.randomId();
+        String second = uuidV7.randomId();
+
+        assertEquals(7, UUID.fromString(first).version());
+        assertTrue(second.compareTo(first) > 0);
+    }
+
+    @Test
+    void randomId_ObjectIdStrategy_ReturnsObjectIds() {
+        IdService objectIds = new IdService(new IdProperties(IdProperties.Strategy.OBJECT_ID));
+
+        assertTrue(ObjectId.isValid(objectIds.randomId()));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.dto.CursorPage;
+import com.example.gamehubbackend.exceptions.InvalidRequestException;
+import com.example.gamehubbackend.models.Game;
+import com.example.gamehubbackend.repositories.GameRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "gamehub.pagination.default-page-size=10",
+        "gamehub.pagination.max-page-size=20"
+})
+class KeysetPagerIntegrationTest {
+
+    @Autowired
+    KeysetPager keysetPager;
+
+    @Autowired
+    GameRepository gameRepository;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository.deleteAll();
+    }
+
+    private static Game game(int i) {
+        return new Game(String.format("%03d", i), "Game " + i, List.of("Action"), "2020-01-01", List.of("PC"), "cover.jpg");
+    }
+
+    private CursorPage<Game> page(String cursor, Integer size) {
+        return keysetPager.page(new Query(), cursor, size, Game.class, Game::id);
+    }
+
+    @Test
+    void page_WalksWholeCollectionOnceInIdOrder() {
+        gameRepository.saveAll(IntStream.range(0, 25).mapToObj(KeysetPagerIntegrationTest::game).toList());
+
+        List<Game> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<Game> page = page(cursor, null);
+            walked.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(IntStream.range(0, 25).mapToObj(KeysetPagerIntegrationTest::game).toList(), walked);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void page_DocumentsDeletedBeforeCursor_DoNotShiftNextPage() {
+        gameRepository.saveAll(IntStream.range(0, 20).mapToObj(KeysetPagerIntegrationTest::game).toList());
+
+        CursorPage<Game> first = page(null, 10);
+        gameRepository.deleteById("000");
+        gameRepository.deleteById("001");
+        CursorPage<Game> second = page(first.nextCursor(), 10);
+
+        assertEquals(IntStream.range(10, 20).mapToObj(KeysetPagerIntegrationTest::game).toList(), second.items());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void page_StringAndObjectIds_WalksStringsThenObjectIds() {
+        List<Game> strings = IntStream.range(0, 5).mapToObj(KeysetPagerIntegrationTest::game).toList();
+        List<Game> objectIds = IntStream.range(5, 10).mapToObj(i -> game(i).withId(new ObjectId().toHexString())).toList();
+        gameRepository.saveAll(objectIds);
+        gameRepository.saveAll(strings);
+
+        List<Game> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Game> page = page(cursor, 3);
+            walked.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        List<Game> expected = new ArrayList<>(strings);
+        expected.addAll(objectIds);
+        assertEquals(expected, walked);
+    }
+
+    @Test
+    void page_SizeAboveMaximum_IsCapped() {
+        gameRepository.saveAll(IntStream.range(0, 30).mapToObj(KeysetPagerIntegrationTest::game).toList());
+
+        assertEquals(20, page(null, 1000).items().size());
+    }
+
+    @Test
+    void page_NonPositiveSize_Throws() {
+        assertThrows(InvalidRequestException.class, () -> page(null, 0));
+    }
+
+    @Test
+    void page_InvalidCursor_Throws() {
+        assertThrows(InvalidRequestException.class, () -> page("not a cursor", 10));
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.dto.LeaderboardEntry;
+import com.example.gamehubbackend.dto.LeaderboardWindow;
+import com.example.gamehubbackend.exceptions.InvalidRequestException;
+import com.example.gamehubbackend.models.GameTally;
+import com.example.gamehubbackend.models.LeaderboardSnapshot;
+import com.example.gamehubbackend.models.Review;
+import com.example.gamehubbackend.repositories.LeaderboardSnapshotRepository;
+import com.example.gamehubbackend.repositories.ReviewRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LeaderboardServiceUnitTest {
+
+    private final LeaderboardSnapshotRepository snapshotRepository = mock(LeaderboardSnapshotRepository.class);
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final LeaderboardService leaderboardService = new LeaderboardService(snapshotRepository, reviewRepository, 100, 10, 2);
+
+    private static final LocalDate TODAY = LocalDate.now(ZoneOffset.UTC);
+
+    private static Review review(String id, String gameId, double rating, LocalDate date) {
+        return new Review(id, "Title " + gameId, "user1", gameId, "User", rating, "Content", date != null ? date.toString() : null);
+    }
+
+    private static List<String> gameIds(List<LeaderboardEntry> entries) {
+        return entries.stream().map(LeaderboardEntry::gameId).toList();
+    }
+
+    private List<String> mostReviewed(LeaderboardWindow window) {
+        return gameIds(leaderboardService.mostReviewed(window, null).games());
+    }
+
+    @Test
+    void mostReviewed_CountsReviewsPerWindow() {
+        leaderboardService.reviewsAdded(List.of(
+                review("1", "today", 4, TODAY),
+                review("2", "week", 4, TODAY.minusDays(3)),
+                review("3", "week", 4, TODAY.minusDays(6)),
+                review("4", "old", 4, TODAY.minusDays(30)),
+                review("5", "old", 4, TODAY.minusDays(40)),
+                review("6", "old", 4, TODAY.minusDays(50)),
+                review("7", "undated", 4, null)
+        ));
+
+        assertEquals(List.of("today"), mostReviewed(LeaderboardWindow.DAY));
+        assertEquals(List.of("week", "today"), mostReviewed(LeaderboardWindow.WEEK));
+        assertEquals(List.of("old", "week", "today", "undated"), mostReviewed(LeaderboardWindow.ALL_TIME));
+        assertEquals(new LeaderboardEntry("old", "Title old", 3, 4.0),
+                leaderboardService.mostReviewed(LeaderboardWindow.ALL_TIME, 1).games().getFirst());
+    }
+
+    @Test
+    void topRated_NeedsMinimumReviews() {
+        leaderboardService.reviewsAdded(List.of(
+                review("1", "single", 5, TODAY),
+                review("2", "good", 4, TODAY),
+                review("3", "good", 5, TODAY),
+                review("4", "bad", 1, TODAY),
+                review("5", "bad", 2, TODAY)
+        ));
+
+        List<LeaderboardEntry> games = leaderboardService.topRated(LeaderboardWindow.DAY, null).games();
+
+        assertEquals(List.of("good", "bad"), gameIds(games));
+        assertEquals(4.5, games.getFirst().meanRating());
+    }
+
+    @Test
+    void reviewChanged_MovesReviewToNewDate() {
+        Review before = review("1", "game1", 2, TODAY.minusDays(10));
+        leaderboardService.reviewAdded(before);
+        assertEquals(List.of(), mostReviewed(LeaderboardWindow.DAY));
+
+        leaderboardService.reviewChanged(before, review("1", "game1", 5, TODAY));
+
+        assertEquals(List.of(new LeaderboardEntry("game1", "Title game1", 1, 5.0)),
+                leaderboardService.mostReviewed(LeaderboardWindow.DAY, null).games());
+        assertEquals(List.of(new LeaderboardEntry("game1", "Title game1", 1, 5.0)),
+                leaderboardService.mostReviewed(LeaderboardWindow.ALL_TIME, null).games());
+    }
+
+    @Test
+    void reviewRemoved_UncountsReview() {
+        Review review = review("1", "game1", 4, TODAY);
+        leaderboardService.reviewAdded(review);
+        leaderboardService.reviewAdded(review("2", "game2", 4, TODAY));
+
+        leaderboardService.reviewRemoved(review);
+
+        assertEquals(List.of("game2"), mostReviewed(LeaderboardWindow.DAY));
+        assertEquals(List.of("game2"), mostReviewed(LeaderboardWindow.ALL_TIME));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reviewsAdded_MoreGamesThanCapacity_KeepsMostReviewed() {
+        for (int i = 0; i < 500; i++) {
+            leaderboardService.reviewAdded(review(String.valueOf(i), "game" + i, 3, TODAY));
+        }
+        leaderboardService.reviewsAdded(List.of(review("a", "popular", 3, TODAY), review("b", "popular", 3, TODAY)));
+        for (int i = 500; i < 1000; i++) {
+            leaderboardService.reviewAdded(review(String.valueOf(i), "game" + i, 3, TODAY));
+        }
+
+        assertEquals("popular", mostReviewed(LeaderboardWindow.DAY).getFirst());
+        leaderboardService.snapshot();
+        ArgumentCaptor<List<LeaderboardSnapshot>> saved = ArgumentCaptor.forClass(List.class);
+        verify(snapshotRepository).saveAll(saved.capture());
+        assertTrue(saved.getValue().stream().allMatch(snapshot -> snapshot.games().size() <= 100));
+    }
+
+    @Test
+    void reviewRemoved_GameDropsOffFullBoard_NextGameMovesUp() {
+        List<Review> reviews = new ArrayList<>();
+        for (int game = 0; game < 11; game++) {
+            for (int i = 0; i <= game; i++) {
+                reviews.add(review(game + "-" + i, "game" + game, 3, TODAY));
+            }
+        }
+        leaderboardService.reviewsAdded(reviews);
+        assertFalse(mostReviewed(LeaderboardWindow.DAY).contains("game0"));
+
+        // game10 falls from 11 reviews to 0, game0 takes the last place
+        reviews.stream().filter(review -> review.gameId().equals("game10")).forEach(leaderboardService::reviewRemoved);
+
+        List<String> board = mostReviewed(LeaderboardWindow.DAY);
+        assertEquals(10, board.size());
+        assertEquals("game9", board.getFirst());
+        assertEquals("game0", board.getLast());
+    }
+
+    @Test
+    void reviewChanges_RandomWrites_BoardsMatchFullRecount() {
+        Random random = new Random(42);
+        Map<String, Review> live = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            String id = String.valueOf(random.nextInt(300));
+            Review next = review(id, "game" + random.nextInt(40), 1 + random.nextInt(5), TODAY.minusDays(random.nextInt(10)));
+            Review before = live.get(id);
+            if (before == null) {
+                leaderboardService.reviewAdded(next);
+                live.put(id, next);
+            } else if (random.nextBoolean()) {
+                leaderboardService.reviewChanged(before, next);
+                live.put(id, next);
+            } else {
+                leaderboardService.reviewRemoved(before);
+                live.remove(id);
+            }
+        }
+
+        Map<String, List<Review>> byGame = live.values().stream().collect(Collectors.groupingBy(Review::gameId));
+        List<LeaderboardEntry> expected = byGame.entrySet().stream()
+                .map(game -> new LeaderboardEntry(game.getKey(), "Title " + game.getKey(), game.getValue().size(),
+                        game.getValue().stream().mapToDouble(Review::rating).sum() / game.getValue().size()))
+                .sorted(Comparator.comparingLong(LeaderboardEntry::reviews).reversed()
+                        .thenComparing(Comparator.comparingDouble(LeaderboardEntry::meanRating).reversed())
+                        .thenComparing(LeaderboardEntry::gameId))
+                .limit(10)
+                .toList();
+        List<LeaderboardEntry> actual = leaderboardService.mostReviewed(LeaderboardWindow.ALL_TIME, null).games();
+
+        assertEquals(gameIds(expected), gameIds(actual));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).reviews(), actual.get(i).reviews());
+            assertEquals(expected.get(i).meanRating(), actual.get(i).meanRating(), 1e-9);
+        }
+    }
+
+    @Test
+    void mostReviewed_BoardSizeIsCapped() {
+        for (int i = 0; i < 20; i++) {
+            leaderboardService.reviewAdded(review(String.valueOf(i), "game" + i, 3, TODAY));
+        }
+
+        assertEquals(10, mostReviewed(LeaderboardWindow.DAY).size());
+        assertEquals(3, leaderboardService.mostReviewed(LeaderboardWindow.DAY, 3).games().size());
+        assertThrows(InvalidRequestException.class, () -> leaderboardService.mostReviewed(LeaderboardWindow.DAY, 0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void snapshot_RestoresSameBoards() {
+        leaderboardService.reviewsAdded(List.of(
+                review("1", "game1", 4, TODAY),
+                review("2", "game1", 5, TODAY.minusDays(2)),
+                review("3", "game2", 3, TODAY.minusDays(20))
+        ));
+        leaderboardService.snapshot();
+
+        ArgumentCaptor<List<LeaderboardSnapshot>> saved = ArgumentCaptor.forClass(List.class);
+        verify(snapshotRepository).saveAll(saved.capture());
+        verify(snapshotRepository).deleteByIdNotIn(List.of("all", TODAY.minusDays(2).toString(), TODAY.toString()));
+
+        LeaderboardService restored = new LeaderboardService(snapshotRepository, reviewRepository, 100, 10, 2);
+        when(snapshotRepository.findAll()).thenReturn(saved.getValue());
+        restored.restore();
+
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            assertEquals(leaderboardService.mostReviewed(window, null), restored.mostReviewed(window, null));
+            assertEquals(leaderboardService.topRated(window, null), restored.topRated(window, null));
+        }
+        verifyNoInteractions(reviewRepository);
+    }
+
+    @Test
+    void snapshot_Unchanged_SavesNothing() {
+        leaderboardService.snapshot();
+
+        verifyNoInteractions(snapshotRepository);
+    }
+
+    @Test
+    void restore_WithoutSnapshots_BuildsFromReviews() {
+        when(snapshotRepository.findAll()).thenReturn(List.of());
+        when(reviewRepository.tallyAllTime()).thenReturn(List.of(
+                new GameTally("game1", "Game 1", 10, 40),
+                new GameTally("game2", "Game 2", 2, 10)
+        ));
+        when(reviewRepository.tallyDaysFrom(TODAY.minusDays(6).toString())).thenReturn(List.of(
+                new LeaderboardSnapshot(TODAY.toString(), List.of(new GameTally("game2", "Game 2", 2, 10)))
+        ));
+
+        assertEquals(2, leaderboardService.restore());
+
+        assertEquals(List.of("game1", "game2"), mostReviewed(LeaderboardWindow.ALL_TIME));
+        assertEquals(List.of("game2"), gameIds(leaderboardService.topRated(LeaderboardWindow.WEEK, null).games()));
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.dto.CursorPage;
+import com.example.gamehubbackend.dto.LibraryGameDTO;
+import com.example.gamehubbackend.dto.LibraryPage;
+import com.example.gamehubbackend.exceptions.InvalidRequestException;
+import com.example.gamehubbackend.models.LibraryEntry;
+import com.example.gamehubbackend.models.User;
+import com.example.gamehubbackend.repositories.LibraryRepository;
+import com.example.gamehubbackend.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class LibraryServiceIntegrationTest {
+
+    @Autowired
+    LibraryService libraryService;
+
+    @Autowired
+    LibraryRepository libraryRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    IndexService indexService;
+
+    @BeforeEach
+    void setUp() {
+        libraryRepository.deleteAll();
+        userRepository.deleteAll();
+        indexService.ensureIndexes();
+    }
+
+    private static LibraryGameDTO game(String id) {
+        return new LibraryGameDTO(id, "Game " + id, List.of("PC"), "cover.jpg");
+    }
+
+    private static List<LibraryGameDTO> games(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> game(prefix + i)).toList();
+    }
+
+    private static User user(String id, List<LibraryGameDTO> games) {
+        return new User(id, "user" + id, "password", null, "", "USER", new ArrayList<>(games),
+                LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    private static void runConcurrently(List<Callable<Object>> tasks) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (Future<Object> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        }
+    }
+
+    @Test
+    void addGame_KeepsOrderOfAdding() {
+        libraryService.addGame("1", game("b"));
+        libraryService.addGame("1", game("a"));
+        libraryService.addGame("1", game("b"));
+        libraryService.addGame("2", game("c"));
+
+        assertEquals(List.of(game("b"), game("a")), libraryService.getLibrary("1"));
+        assertEquals(Map.of("1", List.of(game("b"), game("a")), "2", List.of(game("c")), "3", List.of()),
+                libraryService.getLibraries(List.of("1", "2", "3")));
+        assertEquals(Map.of("1", 2L, "2", 1L, "3", 0L), libraryService.countLibraries(List.of("1", "2", "3")));
+    }
+
+    @Test
+    void addGame_ParallelWriters_LoseNoUpdate() throws Exception {
+        runConcurrently(IntStream.range(0, 100)
+                .mapToObj(i -> (Callable<Object>) () -> {
+                    libraryService.addGame("1", game(String.valueOf(i)));
+                    return null;
+                })
+                .toList());
+
+        assertEquals(100, libraryService.countLibrary("1"));
+    }
+
+    @Test
+    void addGame_ParallelDuplicates_AddGameOnce() throws Exception {
+        runConcurrently(IntStream.range(0, 50)
+                .mapToObj(i -> (Callable<Object>) () -> {
+                    libraryService.addGame("1", game("10"));
+                    return null;
+                })
+                .toList());
+
+        assertEquals(List.of(game("10")), libraryService.getLibrary("1"));
+    }
+
+    @Test
+    void addGame_ReturnsStoredEntry() {
+        assertEquals(game("10"), libraryService.addGame("1", game("10")));
+
+        LibraryGameDTO renamed = new LibraryGameDTO("10", "Renamed", List.of("Switch"), "other.jpg");
+        assertEquals(game("10"), libraryService.addGame("1", renamed));
+        assertEquals(List.of(game("10")), libraryService.getLibrary("1"));
+    }
+
+    @Test
+    void save_DuplicateUserAndGame_RejectedByUniqueIndex() {
+        LocalDateTime addedAt = LocalDateTime.now();
+        libraryRepository.save(new LibraryEntry(null, "1", "10", "Game 10", List.of("PC"), "cover.jpg", addedAt));
+
+        assertThrows(DuplicateKeyException.class, () ->
+                libraryRepository.save(new LibraryEntry(null, "1", "10", "Game 10", List.of("PC"), "cover.jpg", addedAt)));
+        libraryRepository.save(new LibraryEntry(null, "2", "10", "Game 10", List.of("PC"), "cover.jpg", addedAt));
+        assertEquals(2, libraryRepository.count());
+    }
+
+    @Test
+    void addGameToLibrary_ParallelDuplicates_AddGameOnceAndReturnIt() throws Exception {
+        userRepository.save(user("1", List.of()).withGameLibrary(null));
+        List<LibraryGameDTO> returned = new CopyOnWriteArrayList<>();
+
+        runConcurrently(IntStream.range(0, 50)
+                .mapToObj(i -> (Callable<Object>) () -> returned.add(userService.addGameToLibrary("1", game("10"))))
+                .toList());
+
+        assertEquals(List.of(game("10")), libraryService.getLibrary("1"));
+        assertEquals(50, returned.size());
+        assertTrue(returned.stream().allMatch(game("10")::equals));
+    }
+
+    @Test
+    void replaceLibrary_KeepsRemainingEntriesAndRemovesOnlyMissingGames() {
+        libraryService.replaceLibrary("1", games("g", 3));
+        LibraryEntry kept = libraryRepository.findByUserIdOrderByAddedAtAscIdAsc("1").get(1);
+
+        LibraryGameDTO renamed = new LibraryGameDTO("g1", "Renamed", List.of("Switch"), "other.jpg");
+        libraryService.replaceLibrary("1", List.of(game("new"), renamed, game("g2")));
+
+        assertEquals(List.of(renamed, game("g2"), game("new")), libraryService.getLibrary("1"));
+        LibraryEntry stored = libraryRepository.findByUserIdOrderByAddedAtAscIdAsc("1").getFirst();
+        assertEquals(kept.id(), stored.id());
+        assertEquals(kept.addedAt(), stored.addedAt());
+    }
+
+    @Test
+    void replaceLibrary_Null_EmptiesLibrary() {
+        libraryService.replaceLibrary("1", games("g", 3));
+        libraryService.replaceLibrary("2", games("g", 1));
+
+        libraryService.replaceLibrary("1", null);
+
+        assertEquals(List.of(), libraryService.getLibrary("1"));
+        assertEquals(games("g", 1), libraryService.getLibrary("2"));
+    }
+
+    @Test
+    void removeGame_ReturnsRemovedEntry() {
+        libraryService.replaceLibrary("1", games("g", 2));
+
+        assertEquals(Optional.of(game("g0")), libraryService.removeGame("1", "g0"));
+        assertEquals(Optional.empty(), libraryService.removeGame("1", "g0"));
+        assertEquals(List.of(game("g1")), libraryService.getLibrary("1"));
+    }
+
+    @Test
+    void removeGame_ParallelWithAdds_LoseNoUpdate() throws Exception {
+        libraryService.replaceLibrary("1", games("old", 50));
+
+        runConcurrently(IntStream.range(0, 50)
+                .mapToObj(i -> List.<Callable<Object>>of(
+                        () -> {
+                            libraryService.removeGame("1", "old" + i);
+                            return null;
+                        },
+                        () -> {
+                            libraryService.addGame("1", game("new" + i));
+                            return null;
+                        }))
+                .flatMap(List::stream)
+                .toList());
+
+        List<LibraryGameDTO> library = libraryService.getLibrary("1");
+        assertEquals(50, library.size());
+        assertTrue(library.stream().allMatch(game -> game.id().startsWith("new")));
+    }
+
+    @Test
+    void getLibraryPage_ReturnsPageAndTotals() {
+        libraryService.replaceLibrary("1", games("g", 25));
+
+        LibraryPage page = libraryService.getLibraryPage("1", 1, 10);
+
+        assertEquals(games("g", 25).subList(10, 20), page.games());
+        assertEquals(25, page.totalElements());
+        assertEquals(3, page.totalPages());
+    }
+
+    @Test
+    void getLibraryAfter_WalksWholeLibraryOnce() {
+        libraryService.replaceLibrary("1", games("g", 25));
+        libraryService.addGame("2", game("other"));
+
+        List<LibraryGameDTO> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<LibraryGameDTO> page = libraryService.getLibraryAfter("1", cursor, 10);
+            walked.addAll(page.items());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(games("g", 25), walked);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void getLibraryAfter_GamesRemovedBeforeCursor_DoNotShiftNextPage() {
+        libraryService.replaceLibrary("1", games("g", 20));
+
+        CursorPage<LibraryGameDTO> first = libraryService.getLibraryAfter("1", null, 10);
+        libraryService.removeGame("1", "g0");
+        libraryService.removeGame("1", "g1");
+        CursorPage<LibraryGameDTO> second = libraryService.getLibraryAfter("1", first.nextCursor(), 10);
+
+        assertEquals(games("g", 20).subList(10, 20), second.items());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void getLibraryAfter_InvalidCursor_Throws() {
+        assertThrows(InvalidRequestException.class, () -> libraryService.getLibraryAfter("1", "not a cursor", 10));
+    }
+
+    @Test
+    void migrateEmbeddedLibraries_MovesLibrariesAndRemovesThemFromUsers() {
+        userRepository.saveAll(List.of(
+                user("1", games("g", 3)),
+                user("2", List.of())
+        ));
+        libraryService.addGame("1", game("g1"));  // Already moved by an earlier, interrupted migration
+
+        assertEquals(2, libraryService.migrateEmbeddedLibraries());
+
+        assertEquals(List.of(game("g1"), game("g0"), game("g2")), libraryService.getLibrary("1"));
+        assertNull(userRepository.findById("1").orElseThrow().gameLibrary());
+        assertNull(userRepository.findById("2").orElseThrow().gameLibrary());
+        assertEquals("password", userRepository.findById("1").orElseThrow().password());
+        assertEquals(0, libraryService.migrateEmbeddedLibraries());
+    }
+
+    @Test
+    void findMostLibrariedGameIds_ReturnsGamesByLibraryCount() {
+        libraryService.replaceLibrary("1", List.of(game("10"), game("20"), game("30")));
+        libraryService.replaceLibrary("2", List.of(game("20"), game("30")));
+        libraryService.replaceLibrary("3", List.of(game("30")));
+
+        assertEquals(List.of("30", "20"), libraryRepository.findMostLibrariedGameIds(2));
+        assertEquals(List.of("30", "20", "10"), libraryRepository.findMostLibrariedGameIds(10));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.gamehubbackend.services;
 
 import com.example.gamehubbackend.exceptions.NoteNotFoundException;
 import com.example.gamehubbackend.models.Note;
+import com.example.gamehubbackend.models.UserIdentity;
 import com.example.gamehubbackend.dto.NoteDTO;
 import com.example.gamehubbackend.repositories.NoteRepository;
 import org.junit.jupiter.api.Test;
@@ -18,7 +19,9 @@ class NoteServiceUnitTests {
     private final NoteRepository noteRepository = mock(NoteRepository.class);
     private final IdService idService = mock(IdService.class);
     private final UserService userService = mock(UserService.class);
-    private final NoteService noteService = new NoteService(noteRepository, idService, userService);
+    private final KeysetPager keysetPager = mock(KeysetPager.class);
+    private final BulkImporter bulkImporter = mock(BulkImporter.class);
+    private final NoteService noteService = new NoteService(noteRepository, idService, userService, keysetPager, bulkImporter);
 
     private final LocalDateTime localDateTime = LocalDateTime.parse("2020-01-01T01:00:00");
     private final LocalDateTime updateDateTime = LocalDateTime.parse("2020-01-01T02:00:00");
@@ -70,42 +73,74 @@ class NoteServiceUnitTests {
         assertEquals(noteToSave, actualNote);
     }
 
-//    @Test
-//    void updateNote_Test() throws AccessDeniedException {
-//        String noteId = "1";
-//        Note existingNote = new Note("1", "Test","user1", "game1", "Old Title", "Old Content", "category1", localDateTime, updateDateTime);
-//        NoteDTO updatedNoteDTO = new NoteDTO("user1", "Test","game1", "Updated Title", "Updated Content", "category1", localDateTime, updateDateTime);
-//        Note updatedNote = new Note("1", "Test","user1", "game1", "Updated Title", "Updated Content", "category1", localDateTime, LocalDateTime.now());
-//
-//        when(noteRepository.findById(noteId)).thenReturn(Optional.of(existingNote));
-//        when(noteRepository.save(any(Note.class))).thenReturn(updatedNote);
-//
-//        Note actualNote = noteService.updateNote(noteId, updatedNoteDTO);
-//
-//        verify(noteRepository).findById(noteId);
-//        verify(noteRepository).save(any(Note.class));
-//        assertEquals(updatedNote, actualNote);
-//    }
+    @Test
+    void updateNote_Test() throws AccessDeniedException {
+        String noteId = "1";
+        NoteDTO updatedNoteDTO = new NoteDTO("user1", "Test","game1", "Updated Title", "Updated Content", "category1", localDateTime, updateDateTime);
+        Note updatedNote = new Note("1", "Test","user1", "game1", "Updated Title", "Updated Content", "category1", localDateTime, updateDateTime);
+
+        when(userService.getCurrentIdentity()).thenReturn(new UserIdentity("user1", "USER"));
+        when(noteRepository.updateIfOwner(noteId, "user1", updatedNoteDTO)).thenReturn(Optional.of(updatedNote));
+
+        Note actualNote = noteService.updateNote(noteId, updatedNoteDTO);
+
+        // One database call, the ownership check is part of the update
+        verify(noteRepository).updateIfOwner(noteId, "user1", updatedNoteDTO);
+        verifyNoMoreInteractions(noteRepository);
+        assertEquals(updatedNote, actualNote);
+    }
 
     @Test
     void updateNote_NoteNotFound_Test() {
         String noteId = "1";
         NoteDTO updatedNoteDTO = new NoteDTO("user1", "Test","game1", "Updated Title", "Updated Content", "category1", localDateTime, updateDateTime);
 
-        when(noteRepository.findById(noteId)).thenReturn(Optional.empty());
+        when(userService.getCurrentIdentity()).thenReturn(new UserIdentity("user1", "USER"));
+        when(noteRepository.updateIfOwner(noteId, "user1", updatedNoteDTO)).thenReturn(Optional.empty());
+        when(noteRepository.existsById(noteId)).thenReturn(false);
 
         assertThrows(NoteNotFoundException.class, () -> noteService.updateNote(noteId, updatedNoteDTO));
-        verify(noteRepository).findById(noteId);
+        verify(noteRepository, never()).findById(any());
         verify(noteRepository, never()).save(any());
     }
 
-//    @Test
-//    void deleteNote_Test() throws AccessDeniedException {
-//        String noteId = "1";
-//
-//        doNothing().when(noteRepository).deleteById(noteId);
-//        noteService.deleteNote(noteId);
-//
-//        verify(noteRepository).deleteById(noteId);
-//    }
-}
\ No newline at end of file
+    @Test
+    void updateNote_OtherUsersNote_Test() {
+        String noteId = "1";
+        NoteDTO updatedNoteDTO = new NoteDTO("user1", "Test","game1", "Updated Title", "Updated Content", "category1", localDateTime, updateDateTime);
+
+        when(userService.getCurrentIdentity()).thenReturn(new UserIdentity("user2", "USER"));
+        when(noteRepository.updateIfOwner(noteId, "user2", updatedNoteDTO)).thenReturn(Optional.empty());
+        when(noteRepository.existsById(noteId)).thenReturn(true);
+
+        assertThrows(AccessDeniedException.class, () -> noteService.updateNote(noteId, updatedNoteDTO));
+        verify(noteRepository).updateIfOwner(noteId, "user2", updatedNoteDTO);
+        verify(noteRepository).existsById(noteId);
+        verifyNoMoreInteractions(noteRepository);
+    }
+
+    @Test
+    void deleteNote_Test() throws AccessDeniedException {
+        String noteId = "1";
+
+        when(userService.getCurrentIdentity()).thenReturn(new UserIdentity("user1", "USER"));
+        when(noteRepository.deleteIfOwner(noteId, "user1")).thenReturn(true);
+
+        noteService.deleteNote(noteId);
+
+        verify(noteRepository).deleteIfOwner(noteId, "user1");
+        verifyNoMoreInteractions(noteRepository);
+    }
+
+    @Test
+    void deleteNote_OtherUsersNote_Test() {
+        String noteId = "1";
+
+        when(userService.getCurrentIdentity()).thenReturn(new UserIdentity("user2", "USER"));
+        when(noteRepository.deleteIfOwner(noteId, "user2")).thenReturn(false);
+        when(noteRepository.existsById(noteId)).thenReturn(true);
+
+        assertThrows(AccessDeniedException.class, () -> noteService.deleteNote(noteId));
+        verify(noteRepository, never()).deleteById(any());
+    }
+}
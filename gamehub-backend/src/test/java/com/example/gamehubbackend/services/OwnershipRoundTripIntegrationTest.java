@@ -0,0 +1,183 @@
+package com.example.gamehubbackend.services;
+
+import com.example.gamehubbackend.dto.NoteDTO;
+import com.example.gamehubbackend.exceptions.NoteNotFoundException;
+import com.example.gamehubbackend.models.Note;
+import com.example.gamehubbackend.models.Review;
+import com.example.gamehubbackend.models.User;
+import com.example.gamehubbackend.repositories.NoteRepository;
+import com.example.gamehubbackend.repositories.ReviewRepository;
+import com.example.gamehubbackend.repositories.UserRepository;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.file.AccessDeniedException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the MongoDB commands of ownership-checked note and review writes.
+ */
+@SpringBootTest
+class OwnershipRoundTripIntegrationTest {
+
+    private static final Set<String> COUNTED_COLLECTIONS = Set.of("notes", "reviews", "users");
+
+    @TestConfiguration
+    static class CommandCounterConfig {
+
+        @Bean
+        CommandCounter commandCounter() {
+            return new CommandCounter();
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandCounterCustomizer(CommandCounter commandCounter) {
+            return settings -> settings.addCommandListener(commandCounter);
+        }
+    }
+
+    /**
+     * Records the commands sent to the note, review and user collections.
+     */
+    static class CommandCounter implements CommandListener {
+
+        private final List<String> commands = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+            // The collection is the value of the command name, e.g. { find: "notes", ... }
+            BsonValue collection = event.getCommand().get(event.getCommandName());
+            if (collection != null && collection.isString() && COUNTED_COLLECTIONS.contains(collection.asString().getValue())) {
+                commands.add(event.getCommandName());
+            }
+        }
+
+        List<String> commands() {
+            return List.copyOf(commands);
+        }
+
+        void reset() {
+            commands.clear();
+        }
+    }
+
+    @Autowired
+    NoteService noteService;
+
+    @Autowired
+    ReviewService reviewService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    NoteRepository noteRepository;
+
+    @Autowired
+    ReviewRepository reviewRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CommandCounter commandCounter;
+
+    private final LocalDateTime localDateTime = LocalDateTime.parse("2020-01-01T01:00:00");
+
+    @BeforeEach
+    void setUp() {
+        noteRepository.deleteAll();
+        reviewRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(new User("owner", "Owner", "password", null, "", "USER", null, localDateTime, localDateTime));
+        userRepository.save(new User("other", "Other", "password", null, "", "USER", null, localDateTime, localDateTime));
+        noteRepository.save(new Note("1", "Game", "owner", "game1", "Title", "Content", "category", localDateTime, localDateTime));
+        reviewRepository.save(new Review("1", "Game", "owner", "game1", "Owner", 4.0, "Good game", "2020-01-01"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        // The context is shared with the controller tests, which expect empty collections
+        noteRepository.deleteAll();
+        reviewRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private void logInAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(username, null, List.of()));
+        userService.getIdentityByUsername(username);  // Resolve once, later checks hit the identity cache
+        commandCounter.reset();
+    }
+
+    @Test
+    void updateNote_Owner_OneRoundTrip() throws AccessDeniedException {
+        logInAs("Owner");
+
+        Note updated = noteService.updateNote("1", new NoteDTO("owner", "Game", "game1", "New title", "New content", "category", localDateTime, localDateTime));
+
+        assertEquals("New title", updated.title());
+        assertEquals(List.of("findAndModify"), commandCounter.commands());
+    }
+
+    @Test
+    void updateNote_OtherUser_TwoRoundTripsAndForbidden() {
+        logInAs("Other");
+
+        assertThrows(AccessDeniedException.class, () -> noteService.updateNote("1",
+                new NoteDTO("other", "Game", "game1", "Taken over", "Content", "category", localDateTime, localDateTime)));
+        assertEquals(2, commandCounter.commands().size());
+        assertEquals("Title", noteRepository.findById("1").orElseThrow().title());
+    }
+
+    @Test
+    void deleteNote_Owner_OneRoundTrip() throws AccessDeniedException {
+        logInAs("Owner");
+
+        noteService.deleteNote("1");
+
+        assertEquals(List.of("delete"), commandCounter.commands());
+        assertFalse(noteRepository.existsById("1"));
+    }
+
+    @Test
+    void deleteNote_Missing_NotFound() {
+        logInAs("Owner");
+
+        assertThrows(NoteNotFoundException.class, () -> noteService.deleteNote("missing"));
+    }
+
+    @Test
+    void deleteReview_Owner_OneRoundTrip() throws AccessDeniedException {
+        logInAs("Owner");
+
+        reviewService.deleteReview("1");
+
+        assertEquals(List.of("findAndModify"), commandCounter.commands());
+        assertFalse(reviewRepository.existsById("1"));
+    }
+
+    @Test
+    void deleteReview_OtherUser_Forbidden() {
+        logInAs("Other");
+
+        assertThrows(AccessDeniedException.class, () -> reviewService.deleteReview("1"));
+        assertTrue(reviewRepository.existsById("1"));
+    }
+}
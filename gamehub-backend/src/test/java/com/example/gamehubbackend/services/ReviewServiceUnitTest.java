@@ -2,6 +2,7 @@ package com.example.gamehubbackend.services;
 
 import com.example.gamehubbackend.exceptions.ReviewNotFoundException;
 import com.example.gamehubbackend.models.Review;
+import com.example.gamehubbackend.models.UserIdentity;
 import com.example.gamehubbackend.dto.ReviewDTO;
 import com.example.gamehubbackend.repositories.ReviewRepository;
 import org.junit.jupiter.api.Test;
@@ -19,7 +20,12 @@ class ReviewServiceUnitTest {
     private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
     private final IdService idService = mock(IdService.class);
     private final UserService userService = mock(UserService.class);
-    private final ReviewService reviewService = new ReviewService(userService, reviewRepository, idService);
+    private final KeysetPager keysetPager = mock(KeysetPager.class);
+    private final BulkImporter bulkImporter = mock(BulkImporter.class);
+    private final GameRatingStatsService ratingStatsService = mock(GameRatingStatsService.class);
+    private final LeaderboardService leaderboardService = mock(LeaderboardService.class);
+    private final ReviewService reviewService = new ReviewService(userService, reviewRepository, idService, keysetPager, bulkImporter,
+            ratingStatsService, leaderboardService);
 
     @Test
     void getAllReviews_Test() {
@@ -63,6 +69,8 @@ class ReviewServiceUnitTest {
 
         verify(idService).randomId();
         verify(reviewRepository).save(reviewToSave);
+        verify(ratingStatsService).reviewAdded(reviewToSave);
+        verify(leaderboardService).reviewAdded(reviewToSave);
     }
 
     @Test
@@ -72,12 +80,13 @@ class ReviewServiceUnitTest {
         ReviewDTO updatedReviewDTO = new ReviewDTO("Test","user1", "game1", "username1", 4.5, "Great game!", "2020-01-01");
         Review updatedReview = new Review(reviewId, "Test","user1", "game1", "username1", 4.5, "Great game!", "2020-01-01");
 
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(existingReview));
-        when(reviewRepository.save(updatedReview)).thenReturn(updatedReview);
+        when(reviewRepository.replace(updatedReview)).thenReturn(Optional.of(existingReview));
 
         reviewService.updateReview(updatedReviewDTO, reviewId);
-        verify(reviewRepository).findById(reviewId);
-        verify(reviewRepository).save(updatedReview);
+        verify(reviewRepository).replace(updatedReview);
+        verify(reviewRepository, never()).findById(any());
+        verify(ratingStatsService).reviewChanged(existingReview, updatedReview);
+        verify(leaderboardService).reviewChanged(existingReview, updatedReview);
     }
 
     @Test
@@ -85,20 +94,51 @@ class ReviewServiceUnitTest {
         String reviewId = "1";
         ReviewDTO updatedReviewDTO = new ReviewDTO("Test","user1", "game1", "username1", 4.5, "Great game!", "2020-01-01");
 
-        when(reviewRepository.findById(reviewId)).thenReturn(Optional.empty());
+        when(reviewRepository.replace(any())).thenReturn(Optional.empty());
 
         assertThrows(ReviewNotFoundException.class, () -> reviewService.updateReview(updatedReviewDTO, reviewId));
-        verify(reviewRepository).findById(reviewId);
         verify(reviewRepository, never()).save(any());
+        verifyNoInteractions(ratingStatsService, leaderboardService);
     }
 
-//    @Test
-//    void deleteReview_Test() throws AccessDeniedException {
-//        String reviewId = "1";
-//
-//        doNothing().when(reviewRepository).deleteById(reviewId);
-//        reviewService.deleteReview(reviewId);
-//
-//        verify(reviewRepository).deleteById(reviewId);
-//    }
-}
\ No newline at end of file
+    @Test
+    void deleteReview_Test() throws AccessDeniedException {
+        String reviewId = "1";
+        Review review = new Review(reviewId, "Test","user1", "game1", "username1", 4.5, "Great game!", "2020-01-01");
+
+        when(userService.getCurrentIdentity()).thenReturn(new UserIdentity("user1", "USER"));
+        when(reviewRepository.deleteIfOwner(reviewId, "user1")).thenReturn(Optional.of(review));
+
+        reviewService.deleteReview(reviewId);
+
+        // One database call, the ownership check is part of the delete
+        verify(reviewRepository).deleteIfOwner(reviewId, "user1");
+        verifyNoMoreInteractions(reviewRepository);
+        verify(ratingStatsService).reviewRemoved(review);
+        verify(leaderboardService).reviewRemoved(review);
+    }
+
+    @Test
+    void deleteReview_ReviewNotFound_Test() {
+        String reviewId = "1";
+
+        when(userService.getCurrentIdentity()).thenReturn(new UserIdentity("user1", "USER"));
+        when(reviewRepository.deleteIfOwner(reviewId, "user1")).thenReturn(Optional.empty());
+        when(reviewRepository.existsById(reviewId)).thenReturn(false);
+
+        assertThrows(ReviewNotFoundException.class, () -> reviewService.deleteReview(reviewId));
+    }
+
+    @Test
+    void deleteReview_OtherUsersReview_Test() {
+        String reviewId = "1";
+
+        when(userService.getCurrentIdentity()).thenReturn(new UserIdentity("user2", "USER"));
+        when(reviewRepository.deleteIfOwner(reviewId, "user2")).thenReturn(Optional.empty());
+        when(reviewRepository.existsById(reviewId)).thenReturn(true);
+
+        assertThrows(AccessDeniedException.class, () -> reviewService.deleteReview(reviewId));
+        verify(reviewRepository, never()).deleteById(any());
+        verifyNoInteractions(ratingStatsService, leaderboardService);
+    }
+}
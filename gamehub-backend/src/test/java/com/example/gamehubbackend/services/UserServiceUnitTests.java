@@ -2,18 +2,21 @@ package com.example.gamehubbackend.services;
 
 import com.example.gamehubbackend.exceptions.UserNotFoundException;
 import com.example.gamehubbackend.dto.LibraryGameDTO;
+import com.example.gamehubbackend.dto.LibraryView;
 import com.example.gamehubbackend.models.User;
+import com.example.gamehubbackend.models.UserIdentity;
 import com.example.gamehubbackend.dto.UserDTO;
 import com.example.gamehubbackend.models.UserResponse;
 import com.example.gamehubbackend.repositories.UserRepository;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,7 +27,9 @@ class UserServiceUnitTests {
     private final IdService idService = mock(IdService.class);
     private final UserRepository userRepository = mock(UserRepository.class);
     private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
-    private final UserService userService = new UserService(userRepository, idService, passwordEncoder);
+    private final LibraryService libraryService = mock(LibraryService.class);
+    private final KeysetPager keysetPager = mock(KeysetPager.class);
+    private final UserService userService = new UserService(userRepository, idService, passwordEncoder, libraryService, new CaffeineCacheManager(), keysetPager);
     private final LocalDateTime localDateTime = LocalDateTime.parse("2020-01-01T01:00:00");
     private final LocalDateTime updateDateTime = LocalDateTime.parse("2020-01-01T02:00:00");
 
@@ -34,8 +39,8 @@ class UserServiceUnitTests {
         LibraryGameDTO game2 = new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2");
 
         List<User> users = List.of(
-                new User("1","TestUser1", "Test","1","link", "USER", List.of(game1, game2), localDateTime, localDateTime),
-                new User("2","TestUser2", "Test","2","link", "USER", List.of(game1), localDateTime, localDateTime)
+                new User("1","TestUser1", "Test","1","link", "USER", null, localDateTime, localDateTime),
+                new User("2","TestUser2", "Test","2","link", "USER", null, localDateTime, localDateTime)
         );
 
         List<UserResponse> expected = List.of(
@@ -44,10 +49,34 @@ class UserServiceUnitTests {
         );
 
         when(userRepository.findAll()).thenReturn(users);
+        when(libraryService.getLibraries(List.of("1", "2"))).thenReturn(Map.of("1", List.of(game1, game2), "2", List.of(game1)));
 
         List<UserResponse> actualUsers = userService.getAllUser();
 
         verify(userRepository).findAll();
+        verify(libraryService).getLibraries(List.of("1", "2"));
+        verify(libraryService, never()).getLibrary(any());
+        assertEquals(expected, actualUsers);
+    }
+
+    @Test
+    void getAllUsers_Summary_Test(){
+        List<User> users = List.of(
+                new User("1","TestUser1", "Test","1","link", "USER", null, localDateTime, localDateTime),
+                new User("2","TestUser2", "Test","2","link", "USER", null, localDateTime, localDateTime)
+        );
+
+        List<UserResponse> expected = List.of(
+                new UserResponse("1","1","TestUser1","link", "USER", null, 2L),
+                new UserResponse("2","2","TestUser2","link", "USER", null, 0L)
+        );
+
+        when(userRepository.findAll()).thenReturn(users);
+        when(libraryService.countLibraries(List.of("1", "2"))).thenReturn(Map.of("1", 2L, "2", 0L));
+
+        List<UserResponse> actualUsers = userService.getAllUser(LibraryView.SUMMARY);
+
+        verify(libraryService, never()).getLibraries(any());
         assertEquals(expected, actualUsers);
     }
 
@@ -65,18 +94,47 @@ class UserServiceUnitTests {
     @Test
     void getUserById_Test(){
         LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
-        User user = new User("1","TestUser1", "Test","1","link", "USER", List.of(game1), localDateTime, localDateTime);
+        User user = new User("1","TestUser1", "Test","1","link", "USER", null, localDateTime, localDateTime);
 
-        UserResponse expected = new UserResponse(user.id(), user.gitHubId(), user.username(), user.avatarUrl(), user.role(), user.gameLibrary());
+        UserResponse expected = new UserResponse(user.id(), user.gitHubId(), user.username(), user.avatarUrl(), user.role(), List.of(game1));
 
         when(userRepository.findById("1")).thenReturn(Optional.of(user));
+        when(libraryService.getLibrary("1")).thenReturn(List.of(game1));
 
         UserResponse actualUser = userService.getUserById("1");
 
         verify(userRepository).findById("1");
+        verify(libraryService, never()).migrateEmbeddedLibrary(any(), any());
         assertEquals(expected, actualUser);
     }
 
+    @Test
+    void getUserById_EmbeddedLibrary_DoesNotWrite_Test(){
+        LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
+        User user = new User("1","TestUser1", "Test","1","link", "USER", List.of(game1), localDateTime, localDateTime);
+
+        when(userRepository.findById("1")).thenReturn(Optional.of(user));
+        when(libraryService.getLibrary("1")).thenReturn(List.of(game1));
+
+        UserResponse actualUser = userService.getUserById("1");
+
+        // LibraryMigrationRunner moves embedded libraries on startup, reads never write
+        verify(libraryService, never()).migrateEmbeddedLibrary(any(), any());
+        verify(userRepository, never()).save(any(User.class));
+        assertEquals(List.of(game1), actualUser.gameLibrary());
+    }
+
+    @Test
+    void getUserById_WithoutLibrary_Test(){
+        User user = new User("1","TestUser1", "Test","1","link", "USER", null, localDateTime, localDateTime);
+        when(userRepository.findById("1")).thenReturn(Optional.of(user));
+
+        UserResponse actualUser = userService.getUserById("1", LibraryView.NONE);
+
+        assertEquals(new UserResponse("1","1","TestUser1","link","USER", null, null), actualUser);
+        verifyNoInteractions(libraryService);
+    }
+
     @Test
     void getUserById_NoUsers_Test(){
         when(userRepository.findById("1")).thenReturn(Optional.empty());
@@ -88,11 +146,12 @@ class UserServiceUnitTests {
     @Test
     void getUserByGitHubId_Test(){
         LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
-        User user = new User("1","TestUser1", "Test","1","link", "USER", List.of(game1), localDateTime, localDateTime);
+        User user = new User("1","TestUser1", "Test","1","link", "USER", null, localDateTime, localDateTime);
 
         UserResponse expected = new UserResponse("1","1","TestUser1","link","USER",List.of(game1));
 
         when(userRepository.findByGitHubId("1")).thenReturn(Optional.of(user));
+        when(libraryService.getLibrary("1")).thenReturn(List.of(game1));
 
         UserResponse actualUser = userService.getUserByGitHubId("1");
 
@@ -108,11 +167,69 @@ class UserServiceUnitTests {
         verify(userRepository).findByGitHubId("1");
     }
 
+    @Test
+    void getIdentityByGitHubId_Test(){
+        when(userRepository.findIdentityByGitHubId("1")).thenReturn(Optional.of(new UserIdentity("1", "USER")));
+
+        assertEquals(new UserIdentity("1", "USER"), userService.getIdentityByGitHubId("1"));
+        verify(userRepository, never()).findByGitHubId(any());
+        verifyNoInteractions(libraryService);
+    }
+
+    @Test
+    void getIdentityByGitHubId_Cached_Test(){
+        when(userRepository.findIdentityByGitHubId("1")).thenReturn(Optional.of(new UserIdentity("1", "USER")));
+
+        userService.getIdentityByGitHubId("1");
+        UserIdentity identity = userService.getIdentityByGitHubId("1");
+
+        assertEquals(new UserIdentity("1", "USER"), identity);
+        verify(userRepository, times(1)).findIdentityByGitHubId("1");
+    }
+
+    @Test
+    void getIdentityByUsername_AfterUpdate_ReadsAgain_Test(){
+        User user = new User("1", "TestUser1", "Test", "1", "link", "USER", null, localDateTime, localDateTime);
+        when(userRepository.findIdentityByUsername("TestUser1")).thenReturn(Optional.of(new UserIdentity("1", "USER")));
+        when(userRepository.findIdentityByGitHubId("1")).thenReturn(Optional.of(new UserIdentity("1", "USER")));
+        when(userRepository.findById("1")).thenReturn(Optional.of(user));
+        userService.getIdentityByUsername("TestUser1");
+        userService.getIdentityByGitHubId("1");
+
+        userService.updateUser("1", new UserDTO("TestUser1", "Test", "1", "link", "ADMIN", null, localDateTime, localDateTime));
+        when(userRepository.findIdentityByUsername("TestUser1")).thenReturn(Optional.of(new UserIdentity("1", "ADMIN")));
+        when(userRepository.findIdentityByGitHubId("1")).thenReturn(Optional.of(new UserIdentity("1", "ADMIN")));
+
+        assertEquals(new UserIdentity("1", "ADMIN"), userService.getIdentityByUsername("TestUser1"));
+        assertEquals(new UserIdentity("1", "ADMIN"), userService.getIdentityByGitHubId("1"));
+        verify(userRepository, times(2)).findIdentityByUsername("TestUser1");
+        verify(userRepository, times(2)).findIdentityByGitHubId("1");
+    }
+
+    @Test
+    void getIdentityByUsername_AfterDelete_ReadsAgain_Test(){
+        when(userRepository.findIdentityByUsername("TestUser1")).thenReturn(Optional.of(new UserIdentity("1", "USER")));
+        userService.getIdentityByUsername("TestUser1");
+
+        userService.deleteUser("1");
+        when(userRepository.findIdentityByUsername("TestUser1")).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.getIdentityByUsername("TestUser1"));
+    }
+
+    @Test
+    void getIdentityByUsername_NoUsers_Test(){
+        when(userRepository.findIdentityByUsername("TestUser1")).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.getIdentityByUsername("TestUser1"));
+        verifyNoInteractions(libraryService);
+    }
+
     @Test
     void createUser_Test(){
 
         UserDTO userDTO = new UserDTO("TestUser1","Test","1","", "USER", List.of(), localDateTime, localDateTime);
-        User userToSave = new User("1","TestUser1", "encodedPassword", "1","", "USER", List.of(), localDateTime, localDateTime); // Set the encoded password
+        User userToSave = new User("1","TestUser1", "encodedPassword", "1","", "USER", null, localDateTime, localDateTime); // Set the encoded password
 
         when(idService.randomId()).thenReturn("1");
         when(passwordEncoder.encode("Test")).thenReturn("encodedPassword"); // Mock password encoding
@@ -132,6 +249,7 @@ class UserServiceUnitTests {
         doNothing().when(userRepository).deleteById("1");
         userService.deleteUser("1");
         verify(userRepository).deleteById("1");
+        verify(libraryService).deleteLibrary("1");
     }
 
     @Test
@@ -139,18 +257,18 @@ class UserServiceUnitTests {
         String id = "1";
         LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
 
-        User existingUser = new User("1", "TestUser1", "Test","1","link", "USER", List.of(game1, new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2")), localDateTime, updateDateTime);
+        User existingUser = new User("1", "TestUser1", "Test","1","link", "USER", null, localDateTime, updateDateTime);
         UserDTO updateUserDTO = new UserDTO("TestUser1", "Test","1","link", "ADMIN", List.of(game1),localDateTime, updateDateTime); // Update user role and game library
 
         when(userRepository.findById(id)).thenReturn(Optional.of(existingUser));
+        when(libraryService.getLibrary(id)).thenReturn(List.of(game1));
 
         try (MockedStatic<LocalDateTime> mockedLocalDate = mockStatic(LocalDateTime.class)) {
             mockedLocalDate.when(LocalDateTime::now).thenReturn(updateDateTime);
 
             // Update existing user with the DTO values
             existingUser = existingUser.withUsername(updateUserDTO.username())
-                    .withRole(updateUserDTO.role())
-                    .withGameLibrary(updateUserDTO.gameLibrary());
+                    .withRole(updateUserDTO.role());
 
             UserResponse actualUser = userService.updateUser(id, updateUserDTO);
 
@@ -166,6 +284,7 @@ class UserServiceUnitTests {
 
             verify(userRepository).findById(id);
             verify(userRepository).save(existingUser); // Save the updated existingUser
+            verify(libraryService).replaceLibrary(id, List.of(game1));
             assertEquals(expectedUser, actualUser);
         }
     }
@@ -186,91 +305,63 @@ class UserServiceUnitTests {
 
         verify(userRepository).findById(id);
         verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(libraryService);
         assertEquals("No user found with id: 1", thrown.getMessage());
     }
 
     @Test
     void addGameToLibrary_Test() {
         String id = "1";
-        LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
         LibraryGameDTO game2 = new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2");
 
-        User existingUser = new User("1", "TestUser1", "Test", "1", "link", "USER", new ArrayList<>(List.of(game1)), localDateTime, localDateTime);
-
-        when(userRepository.findById(id)).thenReturn(Optional.of(existingUser));
+        when(userRepository.existsById(id)).thenReturn(true);
+        when(libraryService.addGame(id, game2)).thenReturn(game2);
 
-        try (MockedStatic<LocalDateTime> mockedLocalDate = mockStatic(LocalDateTime.class)) {
-            mockedLocalDate.when(LocalDateTime::now).thenReturn(localDateTime);
+        LibraryGameDTO actualGame = userService.addGameToLibrary(id, game2);
 
-            // Don't create a separate updated user, modify the existingUser
-            if (!existingUser.gameLibrary().contains(game2)) {
-                existingUser.gameLibrary().add(game2);
-            }
+        verify(libraryService).addGame(id, game2);
+        verify(libraryService, never()).getLibrary(any());
+        verify(userRepository, never()).findById(any());
+        verify(userRepository, never()).save(any(User.class));
+        assertEquals(game2, actualGame);
+    }
 
-            UserResponse actualUser = userService.addGameToLibrary(id, game2);
+    @Test
+    void addGameToLibrary_UserNotFound_Test() {
+        LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
+        when(userRepository.existsById("1")).thenReturn(false);
 
-            // Expected user should reflect the added game in the library
-            UserResponse expectedUser = new UserResponse(
-                    existingUser.id(),
-                    existingUser.gitHubId(),
-                    existingUser.username(),
-                    existingUser.avatarUrl(),
-                    existingUser.role(),
-                    existingUser.gameLibrary()
-            );
+        UserNotFoundException thrown = assertThrows(UserNotFoundException.class, () -> userService.addGameToLibrary("1", game1));
 
-            verify(userRepository).findById(id);
-            verify(userRepository).save(existingUser); // Save the modified existingUser
-            assertEquals(expectedUser, actualUser);
-        }
+        verifyNoInteractions(libraryService);
+        assertEquals("No user found with id: 1", thrown.getMessage());
     }
 
     @Test
     void deleteGameFromLibrary_Test() {
         String userId = "1";
-        LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
         LibraryGameDTO game2 = new LibraryGameDTO("game2", "Game 2", List.of("Platform2"), "coverImage2");
 
-        // Mocking an existing user with both games in their library
-        User existingUser = new User(
-                userId,
-                "TestUser1",
-                "TestPassword",
-                "1",
-                "avatarUrl",
-                "USER",
-                new ArrayList<>(List.of(game1, game2)),
-                LocalDateTime.now(),
-                LocalDateTime.now()
-        );
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(libraryService.removeGame(userId, "game2")).thenReturn(Optional.of(game2));
 
-        // Create expected user after removing game2
-        User updatedUser = existingUser.withGameLibrary(new ArrayList<>(List.of(game1))); // Only game1 remains
-
-        UserResponse expected = new UserResponse(
-                updatedUser.id(),
-                updatedUser.gitHubId(),
-                updatedUser.username(),
-                updatedUser.avatarUrl(),
-                updatedUser.role(),
-                updatedUser.gameLibrary()
-        );
+        Optional<LibraryGameDTO> result = userService.removeGameFromLibrary(userId, game2);
 
-        // Mock repository behavior
-        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        verify(libraryService).removeGame(userId, "game2");
+        verify(libraryService, never()).getLibrary(any());
+        verify(userRepository, never()).findById(any());
+        verify(userRepository, never()).save(any(User.class));
+        assertEquals(Optional.of(game2), result);
+    }
 
-        // Call service method to remove game from library
-        UserResponse result = userService.removeGameFromLibrary(userId, game2);
+    @Test
+    void deleteGameFromLibrary_UserNotFound_Test() {
+        LibraryGameDTO game1 = new LibraryGameDTO("game1", "Game 1", List.of("Platform1"), "coverImage1");
+        when(userRepository.existsById("1")).thenReturn(false);
 
-        // Verify that the game was removed and the user was saved
-        verify(userRepository).findById(userId);
-        verify(userRepository).save(argThat(user ->
-                user.gameLibrary().equals(updatedUser.gameLibrary()) &&
-                        user.id().equals(updatedUser.id())
-        ));
+        UserNotFoundException thrown = assertThrows(UserNotFoundException.class, () -> userService.removeGameFromLibrary("1", game1));
 
-        // Assert that the returned user matches the updated user
-        assertEquals(expected, result);
+        verifyNoInteractions(libraryService);
+        assertEquals("No user found with id: 1", thrown.getMessage());
     }
-}
\ No newline at end of file
+}
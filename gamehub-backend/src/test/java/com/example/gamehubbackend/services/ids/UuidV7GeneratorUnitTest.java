@@ -0,0 +1,88 @@
+package com.example.gamehubbackend.services.ids;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorUnitTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private static long millisOf(String id) {
+        return UUID.fromString(id).getMostSignificantBits() >>> 16;
+    }
+
+    @Test
+    void nextId_SetsTimestampVersionAndVariant() {
+        UUID uuid = UUID.fromString(new UuidV7Generator(() -> NOW).nextId());
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(NOW, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void nextId_ManyInOneMillisecond_IncreaseAndCarryIntoTimestamp() {
+        UuidV7Generator generator = new UuidV7Generator(() -> NOW);
+
+        List<String> ids = IntStream.range(0, 10_000).mapToObj(i -> generator.nextId()).toList();
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i).compareTo(ids.get(i - 1)) > 0, ids.get(i) + " after " + ids.get(i - 1));
+        }
+        assertEquals(NOW, millisOf(ids.getFirst()));
+        assertEquals(NOW + 2, millisOf(ids.getLast()));  // 4096 IDs per millisecond
+    }
+
+    @Test
+    void nextId_ClockGoesBack_StillIncreases() {
+        AtomicLong clock = new AtomicLong(NOW);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+        String before = generator.nextId();
+        clock.set(NOW - 1000);
+        String after = generator.nextId();
+
+        assertTrue(after.compareTo(before) > 0);
+        assertEquals(NOW, millisOf(after));
+    }
+
+    @Test
+    void nextId_ParallelCallers_GetUniqueIds() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        List<Callable<List<String>>> tasks = IntStream.range(0, 8)
+                .mapToObj(i -> (Callable<List<String>>) () -> IntStream.range(0, 10_000).mapToObj(j -> generator.nextId()).toList())
+                .toList();
+
+        Set<String> ids = new HashSet<>();
+        List<String> all = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (Future<List<String>> future : executor.invokeAll(tasks)) {
+                all.addAll(future.get());
+            }
+        }
+        ids.addAll(all);
+
+        assertEquals(all.size(), ids.size());
+    }
+
+    @Test
+    void nextId_TwoGeneratorsInOneMillisecond_DifferInRandomBits() {
+        String first = new UuidV7Generator(() -> NOW).nextId();
+        String second = new UuidV7Generator(() -> NOW).nextId();
+
+        assertNotEquals(first, second);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.models.rawg.RawgGameDetail;
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RawgCacheLoaderUnitTest {
+
+    private final RawgService rawgService = mock(RawgService.class);
+    private final RawgCacheLoader rawgCacheLoader = new RawgCacheLoader(rawgService);
+
+    @Test
+    void load_PageKey_RefreshesGameList() {
+        RawgGameList list = new RawgGameList(0, null, null, List.of());
+        when(rawgService.refreshGameList(new RawgPageKey("2", "zelda"))).thenReturn(list);
+
+        Object actual = rawgCacheLoader.load(new RawgPageKey("2", "zelda"));
+
+        verify(rawgService).refreshGameList(new RawgPageKey("2", "zelda"));
+        assertEquals(list, actual);
+    }
+
+    @Test
+    void load_GameId_RefreshesGameDetail() {
+        RawgGameDetail detail = new RawgGameDetail(3498, "Grand Theft Auto V", "", "2013-09-17", "", List.of(), List.of(), List.of(), List.of());
+        when(rawgService.refreshGameDetail("3498")).thenReturn(detail);
+
+        Object actual = rawgCacheLoader.load("3498");
+
+        verify(rawgService).refreshGameDetail("3498");
+        assertEquals(detail, actual);
+    }
+
+    @Test
+    void load_UnknownKey_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> rawgCacheLoader.load(42));
+        verifyNoInteractions(rawgService);
+    }
+}
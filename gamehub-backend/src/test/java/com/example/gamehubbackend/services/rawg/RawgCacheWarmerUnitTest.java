@@ -0,0 +1,78 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.exceptions.GameNotFoundException;
+import com.example.gamehubbackend.repositories.LibraryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RawgCacheWarmerUnitTest {
+
+    private final RawgService rawgService = mock(RawgService.class);
+    private final LibraryRepository libraryRepository = mock(LibraryRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RawgCacheWarmer warmer(Duration deadline) {
+        return new RawgCacheWarmer(rawgService, libraryRepository, meterRegistry, true, 2, 10, 2, deadline);
+    }
+
+    @Test
+    void warmUp_LoadsFirstPagesAndMostLibrariedGames() {
+        when(libraryRepository.findMostLibrariedGameIds(10)).thenReturn(List.of("3498", "4200"));
+
+        boolean finished = warmer(Duration.ofSeconds(5)).warmUp();
+
+        assertTrue(finished);
+        verify(rawgService).loadAllGames("1", null);
+        verify(rawgService).loadAllGames("2", null);
+        verify(rawgService).loadGameDetail("3498");
+        verify(rawgService).loadGameDetail("4200");
+        assertEquals(2, meterRegistry.counter("rawg.warmup.entries", "type", "list").count());
+        assertEquals(2, meterRegistry.counter("rawg.warmup.entries", "type", "detail").count());
+    }
+
+    @Test
+    void warmUp_FailingEntry_IsSkipped() {
+        when(libraryRepository.findMostLibrariedGameIds(10)).thenReturn(List.of("0", "4200"));
+        when(rawgService.loadGameDetail("0")).thenThrow(new GameNotFoundException("No Game found with id: 0"));
+
+        boolean finished = warmer(Duration.ofSeconds(5)).warmUp();
+
+        assertTrue(finished);
+        verify(rawgService).loadGameDetail("4200");
+        assertEquals(1, meterRegistry.counter("rawg.warmup.failures").count());
+        assertEquals(1, meterRegistry.counter("rawg.warmup.entries", "type", "detail").count());
+    }
+
+    @Test
+    void warmUp_DeadlineReached_ReturnsWithoutWaiting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(libraryRepository.findMostLibrariedGameIds(10)).thenReturn(List.of("3498"));
+        when(rawgService.loadGameDetail("3498")).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+
+        long start = System.nanoTime();
+        boolean finished = warmer(Duration.ofMillis(200)).warmUp();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertFalse(finished);
+        assertTrue(elapsedMillis < 5000);
+        release.countDown();
+    }
+
+    @Test
+    void run_Disabled_LoadsNothing() {
+        new RawgCacheWarmer(rawgService, libraryRepository, meterRegistry, false, 2, 10, 2, Duration.ofSeconds(5)).run(null);
+
+        verifyNoInteractions(rawgService, libraryRepository);
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.dto.CatalogSyncResult;
+import com.example.gamehubbackend.models.CatalogGame;
+import com.example.gamehubbackend.models.CatalogSyncCheckpoint;
+import com.example.gamehubbackend.models.Game;
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import com.example.gamehubbackend.repositories.CatalogGameRepository;
+import com.example.gamehubbackend.repositories.CatalogSyncCheckpointRepository;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "rawg.catalog.serve-reads=true",
+        "rawg.catalog.sync.page-concurrency=2"
+})
+class RawgCatalogSyncServiceIntegrationTest {
+
+    private static MockWebServer mockWebServer;
+    private static final List<String> requestedUrls = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    RawgCatalogSyncService rawgCatalogSyncService;
+
+    @Autowired
+    RawgService rawgService;
+
+    @Autowired
+    RawgClient rawgClient;
+
+    @Autowired
+    RawgCatalogService rawgCatalogService;
+
+    @Autowired
+    CatalogGameRepository catalogGameRepository;
+
+    @Autowired
+    CatalogSyncCheckpointRepository checkpointRepository;
+
+    @DynamicPropertySource
+    static void backendProperties(DynamicPropertyRegistry registry) {
+        registry.add("basic.url", () -> mockWebServer.url("/").toString());
+    }
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requestedUrls.add(request.getRequestUrl().toString());
+                String page = request.getRequestUrl().queryParameter("page");
+                if ("1".equals(page)) {
+                    return json(PAGE_1);
+                }
+                if ("2".equals(page)) {
+                    return json(PAGE_2);
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        mockWebServer.start();
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @BeforeEach
+    void resetCatalog() {
+        catalogGameRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        rawgCatalogService.reloadState();
+        requestedUrls.clear();
+    }
+
+    @Test
+    void syncAll_StoresAllPages_AndCompletesCheckpoint() {
+        CatalogSyncResult result = rawgCatalogSyncService.syncAll();
+
+        assertEquals(new CatalogSyncResult("full", 2, 3, true), result);
+        assertEquals(3, catalogGameRepository.count());
+
+        CatalogGame zelda = catalogGameRepository.findById("3").orElseThrow();
+        assertEquals("The Legend of Zelda", zelda.title());
+        assertEquals(List.of("Adventure"), zelda.genre());
+        assertEquals(List.of("Switch"), zelda.platforms());
+        assertEquals(40, zelda.rank());
+
+        CatalogSyncCheckpoint checkpoint = checkpointRepository.findById("full").orElseThrow();
+        assertEquals(1, checkpoint.nextPage());
+        assertNotNull(checkpoint.completedAt());
+        assertEquals(41, checkpoint.rankedGames());
+    }
+
+    @Test
+    void syncAll_PageLimitBelowPageCount_StaysIncompleteAndResumes() {
+        RawgCatalogSyncService limitedSync = new RawgCatalogSyncService(rawgClient, rawgCatalogService, checkpointRepository, 2, 1, "recent");
+
+        CatalogSyncResult first = limitedSync.syncAll();
+
+        assertEquals(new CatalogSyncResult("full", 1, 2, false), first);
+        CatalogSyncCheckpoint checkpoint = checkpointRepository.findById("full").orElseThrow();
+        assertEquals(2, checkpoint.nextPage());
+        assertNull(checkpoint.completedAt());
+        assertFalse(rawgCatalogService.isComplete());
+
+        CatalogSyncResult second = limitedSync.syncAll();
+
+        assertEquals(new CatalogSyncResult("full", 1, 1, true), second);
+        assertEquals(3, catalogGameRepository.count());
+        assertNotNull(checkpointRepository.findById("full").orElseThrow().completedAt());
+        assertTrue(rawgCatalogService.isComplete());
+    }
+
+    @Test
+    void syncAll_InterruptedRun_ResumesFromCheckpoint() {
+        checkpointRepository.save(new CatalogSyncCheckpoint("full", 2, null, null, null));
+
+        CatalogSyncResult result = rawgCatalogSyncService.syncAll();
+
+        assertEquals(1, result.pages());
+        assertEquals(1, catalogGameRepository.count());
+        assertTrue(requestedUrls.stream().noneMatch(url -> url.contains("page=1&") || url.endsWith("page=1")));
+    }
+
+    @Test
+    void syncRecentlyUpdated_RequestsOnlyUpdatedGames() {
+        rawgCatalogSyncService.syncRecentlyUpdated();
+
+        assertFalse(requestedUrls.isEmpty());
+        assertTrue(requestedUrls.stream().allMatch(url -> url.contains("ordering=-updated") && url.contains("updated=")));
+        assertEquals(Integer.MAX_VALUE, catalogGameRepository.findById("1").orElseThrow().rank());
+    }
+
+    @Test
+    void fetchGameList_AfterFullSync_IsServedFromCatalog() {
+        rawgCatalogSyncService.syncAll();
+        requestedUrls.clear();
+
+        // Ranks are positions in RAWG's listing, the short first page of the mock leaves ranks 2 to 39 empty
+        RawgGameList first = rawgService.fetchGameList("1", null);
+        RawgGameList second = rawgService.fetchGameList("2", null);
+
+        assertEquals(41, first.count());
+        assertEquals(List.of("Grand Theft Auto V", "Portal 2"), first.games().stream().map(Game::title).toList());
+        assertNotNull(first.next());
+        assertEquals(List.of("The Legend of Zelda"), second.games().stream().map(Game::title).toList());
+        assertNull(second.next());
+        assertNotNull(second.previous());
+        assertTrue(requestedUrls.isEmpty());
+    }
+
+    @Test
+    void fetchGameList_CheckpointResetAfterFullSync_FallsBackToRawgAfterReload() {
+        rawgCatalogSyncService.syncAll();
+        checkpointRepository.deleteAll();
+        requestedUrls.clear();
+
+        rawgService.fetchGameList("1", null);
+        assertTrue(requestedUrls.isEmpty());
+
+        rawgCatalogService.reloadState();
+        rawgService.fetchGameList("1", null);
+        assertEquals(1, requestedUrls.size());
+    }
+
+    @Test
+    void fetchGameList_SearchAfterFullSync_GoesToRawg() {
+        rawgCatalogSyncService.syncAll();
+        requestedUrls.clear();
+
+        rawgService.fetchGameList("1", "zelda");
+
+        assertEquals(1, requestedUrls.size());
+        assertTrue(requestedUrls.getFirst().contains("search=zelda"));
+    }
+
+    @Test
+    void fetchGameList_BeforeFullSync_FallsBackToRawg() {
+        RawgGameList actual = rawgService.fetchGameList("1", null);
+
+        assertEquals(2, actual.games().size());
+        assertEquals(1, requestedUrls.size());
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse()
+                .setBody(body)
+                .addHeader("Content-Type", "application/json");
+    }
+
+    private static final String PAGE_1 = """
+            {
+              "count": 3,
+              "next": "https://api.rawg.io/api/games?page=2",
+              "previous": null,
+              "results": [
+                {
+                  "id": 1,
+                  "name": "Grand Theft Auto V",
+                  "released": "2013-09-17",
+                  "background_image": "gta.jpg",
+                  "genres": [{"name": "Action"}],
+                  "platforms": [{"platform": {"name": "PC"}}],
+                  "updated": "2024-08-01T10:00:00"
+                },
+                {
+                  "id": 2,
+                  "name": "Portal 2",
+                  "released": "2011-04-18",
+                  "background_image": "portal.jpg",
+                  "genres": [{"name": "Puzzle"}],
+                  "platforms": [{"platform": {"name": "PC"}}],
+                  "updated": "2024-08-02T10:00:00"
+                }
+              ]
+            }
+            """;
+
+    private static final String PAGE_2 = """
+            {
+              "count": 3,
+              "next": null,
+              "previous": "https://api.rawg.io/api/games?page=1",
+              "results": [
+                {
+                  "id": 3,
+                  "name": "The Legend of Zelda",
+                  "released": "2017-03-03",
+                  "background_image": "zelda.jpg",
+                  "genres": [{"name": "Adventure"}],
+                  "platforms": [{"platform": {"name": "Switch"}}],
+                  "updated": "2024-08-03T10:00:00"
+                }
+              ]
+            }
+            """;
+}
@@ -0,0 +1,214 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.config.RawgConfig;
+import com.example.gamehubbackend.config.RawgHttpProperties;
+import com.example.gamehubbackend.exceptions.RawgUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawgClientUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MockWebServer mockWebServer;
+    private RawgResponseStore responseStore;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.of("rawg", CircuitBreakerConfig.custom()
+            .slidingWindowSize(2)
+            .minimumNumberOfCalls(2)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .recordException(e -> !(e instanceof HttpClientErrorException.NotFound))
+            .build());
+    private final Bulkhead bulkhead = Bulkhead.of("rawg", BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private final RateLimiter perSecond = RateLimiter.of("rawg-per-second", RateLimiterConfig.custom()
+            .limitForPeriod(100)
+            .limitRefreshPeriod(Duration.ofSeconds(1))
+            .timeoutDuration(Duration.ZERO)
+            .build());
+    private final RateLimiter perDay = RateLimiter.of("rawg-per-day", RateLimiterConfig.custom()
+            .limitForPeriod(3)
+            .limitRefreshPeriod(Duration.ofDays(1))
+            .timeoutDuration(Duration.ZERO)
+            .build());
+    private RestClient restClient;
+    private RawgClient rawgClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        responseStore = new RawgResponseStore(tempDir.resolve("rawg-cache.log"), 1024 * 1024, Duration.ofDays(7), true, Clock.systemUTC());
+        // The production JDK request factory with short timeouts; Apache HttpClient would retry a 503 after a second
+        // and the library defaults wait minutes for a response that is never enqueued
+        RawgHttpProperties httpProperties = new RawgHttpProperties(RawgHttpProperties.Client.JDK, 1, 1,
+                Duration.ofMillis(500), Duration.ofMillis(500), Duration.ofMillis(500), Duration.ofSeconds(30), Duration.ofMinutes(5), false);
+        restClient = RestClient.builder()
+                .baseUrl(mockWebServer.url("/").toString())
+                .requestFactory(new RawgConfig().rawgRequestFactory(httpProperties, meterRegistry))
+                .build();
+        // Max age zero: stored responses are only used as fallback
+        rawgClient = client(Duration.ZERO);
+    }
+
+    private RawgClient client(Duration maxAge) {
+        RawgClient client = new RawgClient(restClient, responseStore, maxAge, new ObjectMapper(), circuitBreaker, bulkhead,
+                new RawgRateLimiter(perSecond, perDay), meterRegistry);
+        ReflectionTestUtils.setField(client, "apiKey", "testkey");
+        return client;
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        responseStore.close();
+        mockWebServer.shutdown();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void get_RawgAnswers_ReturnsAndStoresBody() {
+        mockWebServer.enqueue(new MockResponse().setBody("{\"count\": 1}"));
+
+        byte[] actual = rawgClient.get("api/games?page=1");
+
+        assertArrayEquals(bytes("{\"count\": 1}"), actual);
+        assertArrayEquals(bytes("{\"count\": 1}"), responseStore.get("api/games?page=1").orElseThrow().body());
+    }
+
+    @Test
+    void get_RawgFails_ServesStoredResponse() {
+        responseStore.put("api/games?page=1", bytes("{\"count\": 1}"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(502));
+
+        byte[] actual = rawgClient.get("api/games?page=1");
+
+        assertArrayEquals(bytes("{\"count\": 1}"), actual);
+        assertEquals(1, meterRegistry.counter("rawg.fallback", "outcome", "stale").count());
+    }
+
+    @Test
+    void get_RawgFailsWithoutStoredResponse_ThrowsRawgUnavailable() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThrows(RawgUnavailableException.class, () -> rawgClient.get("api/games?page=1"));
+        assertEquals(1, meterRegistry.counter("rawg.fallback", "outcome", "unavailable").count());
+    }
+
+    @Test
+    void get_FreshStoredResponse_DoesNotCallRawg() {
+        responseStore.put("api/games?page=1", bytes("{\"count\": 1}"));
+
+        byte[] actual = client(Duration.ofHours(1)).get("api/games?page=1");
+
+        assertArrayEquals(bytes("{\"count\": 1}"), actual);
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void refresh_FreshStoredResponse_CallsRawgAndStoresBody() {
+        responseStore.put("api/games?page=1", bytes("{\"count\": 1}"));
+        mockWebServer.enqueue(new MockResponse().setBody("{\"count\": 2}"));
+
+        byte[] actual = client(Duration.ofHours(1)).refresh("api/games?page=1");
+
+        assertArrayEquals(bytes("{\"count\": 2}"), actual);
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertArrayEquals(bytes("{\"count\": 2}"), responseStore.get("api/games?page=1").orElseThrow().body());
+    }
+
+    @Test
+    void refresh_RawgFails_DoesNotServeStoredResponse() {
+        responseStore.put("api/games?page=1", bytes("{\"count\": 1}"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(502));
+
+        assertThrows(RawgUnavailableException.class, () -> client(Duration.ofHours(1)).refresh("api/games?page=1"));
+    }
+
+    @Test
+    void get_NotFound_IsRethrownAndNotCountedAsFailure() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+
+        assertThrows(HttpClientErrorException.NotFound.class, () -> rawgClient.get("/api/games/0"));
+        assertThrows(HttpClientErrorException.NotFound.class, () -> rawgClient.get("/api/games/0"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void get_CircuitOpen_DoesNotCallRawg() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        assertThrows(RawgUnavailableException.class, () -> rawgClient.get("api/games?page=1"));
+        assertThrows(RawgUnavailableException.class, () -> rawgClient.get("api/games?page=1"));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        responseStore.put("api/games?page=1", bytes("{\"count\": 1}"));
+        byte[] actual = rawgClient.get("api/games?page=1");
+
+        assertArrayEquals(bytes("{\"count\": 1}"), actual);
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void get_BulkheadFull_DoesNotCallRawg() {
+        bulkhead.acquirePermission();  // Occupies the only slot
+        try {
+            assertThrows(RawgUnavailableException.class, () -> rawgClient.get("api/games?page=1"));
+            assertEquals(0, mockWebServer.getRequestCount());
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    @Test
+    void get_DailyBudgetExhausted_ServesStoredResponseWithoutCallingRawg() {
+        responseStore.put("api/games?page=1", bytes("{\"count\": 1}"));
+        perDay.drainPermissions();
+
+        byte[] actual = rawgClient.get("api/games?page=1");
+
+        assertArrayEquals(bytes("{\"count\": 1}"), actual);
+        assertEquals(0, mockWebServer.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void get_DailyBudget_IsTakenPerRawgCall() {
+        mockWebServer.enqueue(new MockResponse().setBody("{}"));
+
+        rawgClient.get("api/games?page=1");
+
+        assertEquals(2, perDay.getMetrics().getAvailablePermissions());
+    }
+}
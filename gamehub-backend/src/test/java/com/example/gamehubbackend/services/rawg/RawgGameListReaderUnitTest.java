@@ -0,0 +1,111 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.models.Game;
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import com.example.gamehubbackend.models.rawg.RawgGameResponse;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawgGameListReaderUnitTest {
+
+    private static final String PAGE = """
+            {
+              "count": 872869,
+              "next": "https://api.rawg.io/api/games?page=2",
+              "previous": null,
+              "results": [
+                {
+                  "id": 3498,
+                  "slug": "grand-theft-auto-v",
+                  "name": "Grand Theft Auto V",
+                  "released": "2013-09-17",
+                  "tba": false,
+                  "background_image": "gta.jpg",
+                  "rating": 4.47,
+                  "ratings": [{"id": 5, "title": "exceptional", "count": 4121}],
+                  "added_by_status": {"yet": 533, "owned": 12169},
+                  "platforms": [
+                    {
+                      "platform": {"id": 4, "name": "PC", "slug": "pc", "image": null},
+                      "released_at": "2013-09-17",
+                      "requirements_en": {"minimum": "4 GB RAM", "recommended": "8 GB RAM"}
+                    },
+                    {
+                      "platform": {"id": 187, "name": "PlayStation 5"}
+                    }
+                  ],
+                  "genres": [
+                    {"id": 4, "name": "Action", "slug": "action"},
+                    {"id": 3, "name": "Adventure", "slug": "adventure"}
+                  ],
+                  "tags": [{"id": 31, "name": "Singleplayer"}],
+                  "short_screenshots": [{"id": -1, "image": "shot.jpg"}]
+                },
+                {
+                  "id": 4200,
+                  "name": "Portal 2",
+                  "released": null,
+                  "background_image": null,
+                  "platforms": [],
+                  "genres": []
+                }
+              ]
+            }
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void read_ReturnsSameListAsObjectMapping() throws Exception {
+        byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+        RawgGameList expected = RawgGameMapper.toGameList(objectMapper.readValue(body, RawgGameResponse.class));
+
+        RawgGameList actual = RawgGameListReader.read(body);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void read_MapsGameFields() {
+        RawgGameList actual = RawgGameListReader.read(PAGE.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(872869, actual.count());
+        assertEquals("https://api.rawg.io/api/games?page=2", actual.next());
+        assertNull(actual.previous());
+        assertEquals(List.of(
+                new Game("3498", "Grand Theft Auto V", List.of("Action", "Adventure"), "2013-09-17", List.of("PC", "PlayStation 5"), "gta.jpg"),
+                new Game("4200", "Portal 2", List.of(), null, List.of(), null)
+        ), actual.games());
+    }
+
+    @Test
+    void read_MissingArrays_ReturnsEmptyLists() {
+        RawgGameList actual = RawgGameListReader.read("""
+                {"count": 1, "results": [{"id": 1, "name": "Tetris", "genres": null}]}
+                """.getBytes(StandardCharsets.UTF_8));
+
+        Game game = actual.games().getFirst();
+        assertEquals(List.of(), game.genre());
+        assertEquals(List.of(), game.platforms());
+    }
+
+    @Test
+    void read_NullBody_ReturnsEmptyList() {
+        assertEquals(new RawgGameList(0, null, null, List.of()), RawgGameListReader.read(null));
+    }
+
+    @Test
+    void read_MalformedBody_Throws() {
+        byte[] body = "{\"count\": 1, \"results\": [".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(UncheckedIOException.class, () -> RawgGameListReader.read(body));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.gamehubbackend.services.rawg;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawgPageKeyUnitTest {
+
+    @Test
+    void of_EquivalentRequests_ShareOneKey() {
+        RawgPageKey expected = new RawgPageKey("1", "zelda");
+
+        assertEquals(expected, RawgPageKey.of(null, "Zelda"));
+        assertEquals(expected, RawgPageKey.of("1", "zelda "));
+        assertEquals(expected, RawgPageKey.of(" 01", "  ZELDA"));
+        assertEquals(expected, RawgPageKey.of("", "zelda"));
+    }
+
+    @Test
+    void of_BlankSearch_IsNoFilter() {
+        assertEquals(new RawgPageKey("1", null), RawgPageKey.of(null, ""));
+        assertEquals(new RawgPageKey("1", null), RawgPageKey.of("1", "   "));
+    }
+
+    @Test
+    void of_InnerWhitespace_IsCollapsed() {
+        assertEquals(new RawgPageKey("2", "breath of the wild"), RawgPageKey.of("2", "Breath  of\tthe Wild"));
+    }
+
+    @Test
+    void of_InvalidPage_IsKept() {
+        assertEquals(new RawgPageKey("abc", null), RawgPageKey.of(" abc ", null));
+    }
+
+    @Test
+    void matches_ComparesRawParameters() {
+        assertTrue(RawgPageKey.of("2", "zelda").matches("2", "zelda"));
+        assertFalse(RawgPageKey.of(null, "zelda").matches(null, "zelda"));
+        assertFalse(RawgPageKey.of("1", "Zelda").matches("1", "Zelda"));
+        assertFalse(RawgPageKey.of("1", "").matches("1", ""));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RawgPrefetcherUnitTest {
+
+    private static final RawgGameList PAGE_WITH_NEXT = new RawgGameList(80, "api/games?page=2", null, List.of());
+    private static final RawgGameList LAST_PAGE = new RawgGameList(80, null, "api/games?page=1", List.of());
+
+    private final RawgService rawgService = mock(RawgService.class);
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager("games");
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RawgPrefetcher prefetcher(boolean enabled, int maxInFlight, Executor executor) {
+        return new RawgPrefetcher(rawgService, cacheManager, meterRegistry, enabled, maxInFlight, executor);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter("rawg.prefetch", "outcome", outcome).count();
+    }
+
+    @Test
+    void pageServed_WithNextPage_PrefetchesNextPage() {
+        RawgPrefetcher prefetcher = prefetcher(true, 4, Runnable::run);
+
+        prefetcher.pageServed("1", "zelda", PAGE_WITH_NEXT);
+
+        verify(rawgService).loadAllGames("2", "zelda");
+        assertEquals(1, count("scheduled"));
+    }
+
+    @Test
+    void pageServed_NullPage_PrefetchesSecondPage() {
+        RawgPrefetcher prefetcher = prefetcher(true, 4, Runnable::run);
+
+        prefetcher.pageServed(null, null, PAGE_WITH_NEXT);
+
+        verify(rawgService).loadAllGames("2", null);
+    }
+
+    @Test
+    void pageServed_LastPage_DoesNotPrefetch() {
+        RawgPrefetcher prefetcher = prefetcher(true, 4, Runnable::run);
+
+        prefetcher.pageServed("2", null, LAST_PAGE);
+
+        verifyNoInteractions(rawgService);
+    }
+
+    @Test
+    void pageServed_NextPageCached_DoesNotPrefetch() {
+        cacheManager.getCache("games").put(new RawgPageKey("2", null), PAGE_WITH_NEXT);
+        RawgPrefetcher prefetcher = prefetcher(true, 4, Runnable::run);
+
+        prefetcher.pageServed("1", null, PAGE_WITH_NEXT);
+
+        verifyNoInteractions(rawgService);
+        assertEquals(1, count("cached"));
+    }
+
+    @Test
+    void pageServed_LimitReached_DropsPrefetch() {
+        List<Runnable> pending = new ArrayList<>();
+        RawgPrefetcher prefetcher = prefetcher(true, 1, pending::add);
+
+        prefetcher.pageServed("1", null, PAGE_WITH_NEXT);
+        prefetcher.pageServed("1", "mario", PAGE_WITH_NEXT);
+
+        assertEquals(1, pending.size());
+        assertEquals(1, count("scheduled"));
+        assertEquals(1, count("rejected"));
+
+        // The permit is released once the outstanding prefetch is done
+        pending.getFirst().run();
+        prefetcher.pageServed("1", "mario", PAGE_WITH_NEXT);
+        assertEquals(2, pending.size());
+    }
+
+    @Test
+    void pageServed_PrefetchedPageRequested_CountsHit() {
+        RawgPrefetcher prefetcher = prefetcher(true, 4, Runnable::run);
+
+        prefetcher.pageServed("1", null, PAGE_WITH_NEXT);
+        prefetcher.pageServed("2", null, LAST_PAGE);
+        prefetcher.pageServed("2", null, LAST_PAGE);
+
+        assertEquals(1, meterRegistry.counter("rawg.prefetch.hits").count());
+    }
+
+    @Test
+    void pageServed_PrefetchFails_CountsFailure() {
+        when(rawgService.loadAllGames("2", null)).thenThrow(new IllegalStateException("RAWG down"));
+        RawgPrefetcher prefetcher = prefetcher(true, 4, Runnable::run);
+
+        prefetcher.pageServed("1", null, PAGE_WITH_NEXT);
+        prefetcher.pageServed("2", null, LAST_PAGE);
+
+        assertEquals(1, count("failed"));
+        assertEquals(0, meterRegistry.counter("rawg.prefetch.hits").count());
+    }
+
+    @Test
+    void pageServed_Disabled_DoesNothing() {
+        RawgPrefetcher prefetcher = prefetcher(false, 4, Runnable::run);
+
+        prefetcher.pageServed("1", null, PAGE_WITH_NEXT);
+
+        verifyNoInteractions(rawgService);
+    }
+}
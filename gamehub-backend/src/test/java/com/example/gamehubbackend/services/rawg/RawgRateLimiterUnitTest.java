@@ -0,0 +1,80 @@
+package com.example.gamehubbackend.services.rawg;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawgRateLimiterUnitTest {
+
+    private final RateLimiter perSecond = RateLimiter.of("rawg-per-second", RateLimiterConfig.custom()
+            .limitForPeriod(10)
+            .limitRefreshPeriod(Duration.ofSeconds(1))
+            .timeoutDuration(Duration.ZERO)
+            .build());
+    private final RateLimiter perDay = RateLimiter.of("rawg-per-day", RateLimiterConfig.custom()
+            .limitForPeriod(5)
+            .limitRefreshPeriod(Duration.ofDays(1))
+            .timeoutDuration(Duration.ZERO)
+            .build());
+
+    private static class CountingStore implements RawgRateLimiter.UsageStore {
+        private final long callsInLastDay;
+        private int callsMade;
+
+        CountingStore(long callsInLastDay) {
+            this.callsInLastDay = callsInLastDay;
+        }
+
+        @Override
+        public long callsInLastDay() {
+            return callsInLastDay;
+        }
+
+        @Override
+        public void callMade() {
+            callsMade++;
+        }
+    }
+
+    @Test
+    void acquirePermission_DailyBudgetExhausted_DoesNotTakePerSecondPermit() {
+        RawgRateLimiter rateLimiter = new RawgRateLimiter(perSecond, perDay);
+        perDay.drainPermissions();
+
+        assertThrows(RequestNotPermitted.class, rateLimiter::acquirePermission);
+        assertEquals(10, perSecond.getMetrics().getAvailablePermissions());
+    }
+
+    @Test
+    void acquirePermission_TakesBothBudgetsAndCountsCall() {
+        CountingStore store = new CountingStore(0);
+        RawgRateLimiter rateLimiter = new RawgRateLimiter(perSecond, perDay, store);
+
+        rateLimiter.acquirePermission();
+
+        assertEquals(9, perSecond.getMetrics().getAvailablePermissions());
+        assertEquals(4, perDay.getMetrics().getAvailablePermissions());
+        assertEquals(1, store.callsMade);
+    }
+
+    @Test
+    void new_CallsInLastDay_AreTakenFromDailyBudget() {
+        new RawgRateLimiter(perSecond, perDay, new CountingStore(3));
+
+        assertEquals(2, perDay.getMetrics().getAvailablePermissions());
+    }
+
+    @Test
+    void new_CallsInLastDayExceedBudget_RejectsCalls() {
+        CountingStore store = new CountingStore(8);
+        RawgRateLimiter rateLimiter = new RawgRateLimiter(perSecond, perDay, store);
+
+        assertThrows(RequestNotPermitted.class, rateLimiter::acquirePermission);
+        assertEquals(0, store.callsMade);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.gamehubbackend.services.rawg;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawgResponseStoreUnitTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-08-26T10:00:00Z"), ZoneOffset.UTC);
+    private RawgResponseStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void get_AfterPut_ReturnsBody() {
+        store = newStore(1024 * 1024);
+
+        store.put("api/games?page=1", bytes("{\"count\":1}"));
+
+        Optional<RawgResponseStore.StoredResponse> actual = store.get("api/games?page=1");
+        assertTrue(actual.isPresent());
+        assertEquals("{\"count\":1}", text(actual.get().body()));
+        assertEquals(clock.instant(), actual.get().writtenAt());
+    }
+
+    @Test
+    void get_UnknownKey_ReturnsEmpty() {
+        store = newStore(1024 * 1024);
+
+        assertTrue(store.get("api/games/1").isEmpty());
+    }
+
+    @Test
+    void get_AfterReopen_ReturnsLatestBody() {
+        store = newStore(1024 * 1024);
+        store.put("api/games/1", bytes("old"));
+        store.put("api/games/1", bytes("new"));
+        store.put("api/games/2", bytes("other"));
+        store.close();
+
+        store = newStore(1024 * 1024);
+
+        assertEquals("new", text(store.get("api/games/1").orElseThrow().body()));
+        assertEquals("other", text(store.get("api/games/2").orElseThrow().body()));
+    }
+
+    @Test
+    void get_CorruptTail_IsTruncatedOnLoad() throws IOException {
+        store = newStore(1024 * 1024);
+        store.put("api/games/1", bytes("first"));
+        store.close();
+        long validSize = Files.size(file());
+
+        // Simulate a write that was interrupted half way
+        Files.write(file(), new byte[]{0, 0, 0, 5, 0, 0}, StandardOpenOption.APPEND);
+
+        store = newStore(1024 * 1024);
+
+        assertEquals("first", text(store.get("api/games/1").orElseThrow().body()));
+        assertEquals(validSize, store.sizeInBytes());
+    }
+
+    @Test
+    void get_ChecksumMismatch_DropsRecord() throws IOException {
+        store = newStore(1024 * 1024);
+        store.put("api/games/1", bytes("first"));
+        store.close();
+
+        // Flip one byte inside the stored body
+        byte[] content = Files.readAllBytes(file());
+        content[content.length - 6] ^= 1;
+        Files.write(file(), content);
+
+        store = newStore(1024 * 1024);
+
+        assertTrue(store.get("api/games/1").isEmpty());
+        assertEquals(0, store.sizeInBytes());
+    }
+
+    @Test
+    void put_BeyondMaxSize_CompactsToNewestRecords() {
+        store = newStore(4 * 1024);
+        byte[] body = new byte[512];
+
+        for (int i = 0; i < 20; i++) {
+            store.put("api/games/" + i, body);
+        }
+
+        assertTrue(store.sizeInBytes() <= 4 * 1024);
+        assertTrue(store.get("api/games/19").isPresent());
+        assertTrue(store.get("api/games/0").isEmpty());
+    }
+
+    @Test
+    void put_BodyLargerThanCompactionTarget_IsSkippedAndKeepsEarlierBody() {
+        store = newStore(4 * 1024);
+        store.put("api/games/1", bytes("old"));
+        store.put("api/games/2", bytes("other"));
+
+        store.put("api/games/1", new byte[3 * 1024]);
+
+        assertEquals("old", text(store.get("api/games/1").orElseThrow().body()));
+        assertEquals("other", text(store.get("api/games/2").orElseThrow().body()));
+        assertTrue(store.sizeInBytes() < 1024);
+    }
+
+    @Test
+    void put_BeyondMaxSize_CompactsInBackground() {
+        List<Runnable> compactions = new ArrayList<>();
+        store = new RawgResponseStore(file(), 4 * 1024, Duration.ofDays(1), true, clock, compactions::add);
+        byte[] body = new byte[512];
+
+        for (int i = 0; i < 20; i++) {
+            store.put("api/games/" + i, body);
+        }
+
+        // The writes did not wait for the compaction, and only one was scheduled
+        assertEquals(1, compactions.size());
+        assertTrue(store.sizeInBytes() > 4 * 1024);
+        assertTrue(store.get("api/games/0").isPresent());
+
+        compactions.getFirst().run();
+
+        assertTrue(store.sizeInBytes() <= 2 * 1024);
+        assertTrue(store.get("api/games/19").isPresent());
+        assertTrue(store.get("api/games/0").isEmpty());
+        assertFalse(Files.exists(tempDir.resolve("rawg-cache.log.compact")));
+    }
+
+    @Test
+    void disabledStore_KeepsNothing() {
+        store = new RawgResponseStore(file(), 1024, Duration.ofDays(1), false, clock);
+
+        store.put("api/games/1", bytes("first"));
+
+        assertTrue(store.get("api/games/1").isEmpty());
+        assertFalse(Files.exists(file()));
+    }
+
+    private RawgResponseStore newStore(long maxBytes) {
+        return new RawgResponseStore(file(), maxBytes, Duration.ofDays(1), true, clock, Runnable::run);
+    }
+
+    private Path file() {
+        return tempDir.resolve("rawg-cache.log");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.exceptions.GameNotFoundException;
+import com.example.gamehubbackend.models.Game;
+import com.example.gamehubbackend.models.rawg.RawgGameDetail;
+import com.example.gamehubbackend.models.rawg.RawgGameList;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RawgServiceUnitTest {
+
+    private static final Game BREATH_OF_THE_WILD = new Game("1", "The Legend of Zelda: Breath of the Wild", List.of("Adventure"), "2017-03-03", List.of("Switch"), "botw.jpg");
+    private static final Game OCARINA_OF_TIME = new Game("2", "The Legend of Zelda: Ocarina of Time", List.of("Adventure"), "1998-11-21", List.of("N64"), "oot.jpg");
+
+    private final RawgClient rawgClient = mock(RawgClient.class);
+    private final RawgCatalogService rawgCatalogService = mock(RawgCatalogService.class);
+    private final CaffeineCacheManager cacheManager = new CaffeineCacheManager("games", "gameDetailMissing");
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RawgService rawgService = new RawgService(rawgClient, rawgCatalogService, cacheManager, meterRegistry);
+
+    private void cache(RawgPageKey key, RawgGameList list) {
+        cacheManager.getCache("games").put(key, list);
+    }
+
+    @Test
+    void loadGameList_CompleteBroaderSearchCached_MultiTokenSearchGoesToRawg() {
+        // RAWG finds "zelda breath" by tokens, which a substring match over the cached titles would miss
+        cache(new RawgPageKey("1", "zelda"), new RawgGameList(2, null, null, List.of(BREATH_OF_THE_WILD, OCARINA_OF_TIME)));
+        when(rawgClient.get("api/games?page_size=40&page=1&search=zelda+breath"))
+                .thenReturn("{\"count\": 1, \"results\": [{\"id\": 1, \"name\": \"The Legend of Zelda: Breath of the Wild\"}]}".getBytes(StandardCharsets.UTF_8));
+
+        RawgGameList actual = rawgService.loadGameList(new RawgPageKey("1", "zelda breath"));
+
+        assertEquals(1, actual.count());
+        assertEquals("The Legend of Zelda: Breath of the Wild", actual.games().getFirst().title());
+        verify(rawgClient).get("api/games?page_size=40&page=1&search=zelda+breath");
+    }
+
+    @Test
+    void loadGameList_IncompleteBroaderSearchCached_FetchesFromRawg() {
+        cache(new RawgPageKey("1", "zelda"), new RawgGameList(120, "api/games?page=2", null, List.of(BREATH_OF_THE_WILD, OCARINA_OF_TIME)));
+        when(rawgClient.get("api/games?page_size=40&page=1&search=zelda+breath"))
+                .thenReturn("{\"count\": 0, \"results\": []}".getBytes(StandardCharsets.UTF_8));
+
+        RawgGameList actual = rawgService.loadGameList(new RawgPageKey("1", "zelda breath"));
+
+        assertEquals(0, actual.count());
+        verify(rawgClient).get("api/games?page_size=40&page=1&search=zelda+breath");
+    }
+
+    @Test
+    void loadAllGames_UsesCanonicalRequest() {
+        when(rawgClient.get("api/games?page_size=40&page=1&search=zelda"))
+                .thenReturn("{\"count\": 0, \"results\": []}".getBytes(StandardCharsets.UTF_8));
+
+        rawgService.loadAllGames(null, " Zelda ");
+
+        verify(rawgClient).get("api/games?page_size=40&page=1&search=zelda");
+    }
+
+    @Test
+    void fetchGameDetail_NotFound_ThrowsAndIsCachedAsMissing() {
+        when(rawgClient.get("/api/games/999999", RawgGameDetail.class))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        assertThrows(GameNotFoundException.class, () -> rawgService.fetchGameDetail("999999"));
+        assertThrows(GameNotFoundException.class, () -> rawgService.fetchGameDetail("999999"));
+
+        verify(rawgClient, times(1)).get("/api/games/999999", RawgGameDetail.class);
+        assertEquals(1, meterRegistry.counter("rawg.games.missing", "outcome", "not_found").count());
+        assertEquals(1, meterRegistry.counter("rawg.games.missing", "outcome", "cached").count());
+    }
+
+    @Test
+    void fetchGameDetail_InvalidId_ThrowsWithoutCallingRawg() {
+        assertThrows(GameNotFoundException.class, () -> rawgService.fetchGameDetail("../users"));
+        assertThrows(GameNotFoundException.class, () -> rawgService.fetchGameDetail(""));
+
+        verifyNoInteractions(rawgClient);
+    }
+
+    @Test
+    void fetchGameDetail_Slug_IsRequested() {
+        RawgGameDetail detail = new RawgGameDetail(3498, "Grand Theft Auto V", "", "2013-09-17", "", List.of(), List.of(), List.of(), List.of());
+        when(rawgClient.get("/api/games/grand-theft-auto-v", RawgGameDetail.class)).thenReturn(detail);
+
+        assertEquals(detail, rawgService.fetchGameDetail("grand-theft-auto-v"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.gamehubbackend.services.rawg;
+
+import com.example.gamehubbackend.models.RawgUsage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RawgUsageServiceIntegrationTest {
+
+    private static final DateTimeFormatter HOUR = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH").withZone(ZoneOffset.UTC);
+
+    @Autowired
+    RawgUsageService usageService;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        usageService.flush();
+        mongoTemplate.dropCollection(RawgUsage.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.dropCollection(RawgUsage.class);
+    }
+
+    private static String hoursAgo(long hours) {
+        return HOUR.format(Instant.now().minus(Duration.ofHours(hours)));
+    }
+
+    @Test
+    void flush_AddsCallsToCurrentHour() {
+        usageService.callMade();
+        usageService.callMade();
+        assertEquals(2, usageService.callsInLastDay());
+
+        usageService.flush();
+        usageService.callMade();
+        usageService.flush();
+
+        assertEquals(3, mongoTemplate.findById(hoursAgo(0), RawgUsage.class).calls());
+        assertEquals(3, usageService.callsInLastDay());
+    }
+
+    @Test
+    void callsInLastDay_CountsOnlyLast24Hours() {
+        mongoTemplate.save(new RawgUsage(hoursAgo(1), 5));
+        mongoTemplate.save(new RawgUsage(hoursAgo(20), 7));
+        mongoTemplate.save(new RawgUsage(hoursAgo(30), 11));
+
+        assertEquals(12, usageService.callsInLastDay());
+    }
+
+    @Test
+    void flush_RemovesHoursOlderThanTwoDays() {
+        mongoTemplate.save(new RawgUsage(hoursAgo(30), 11));
+        mongoTemplate.save(new RawgUsage(hoursAgo(60), 13));
+
+        usageService.flush();
+
+        assertNotNull(mongoTemplate.findById(hoursAgo(30), RawgUsage.class));
+        assertNull(mongoTemplate.findById(hoursAgo(60), RawgUsage.class));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.gamehubbackend.services.rawg;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightUnitTest {
+
+    private static final int CALLERS = 8;
+
+    private final Counter coalesced = new SimpleMeterRegistry().counter("rawg.requests.coalesced");
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>(coalesced);
+
+    @Test
+    void execute_ConcurrentCallsSameKey_ShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("api/games/1", () -> {
+                    executions.incrementAndGet();
+                    awaitQuietly(release);
+                    return "result";
+                })));
+            }
+
+            // Wait until every other caller has joined the running execution
+            waitForCoalescedCalls(CALLERS - 1);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("result", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(CALLERS - 1, coalesced.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ConcurrentCallsSameKey_ShareError() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("api/games/1", () -> {
+                    awaitQuietly(release);
+                    throw new IllegalStateException("upstream failed");
+                })));
+            }
+
+            waitForCoalescedCalls(CALLERS - 1);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+                assertEquals("upstream failed", e.getCause().getMessage());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_SequentialCalls_ExecuteEachTime() {
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("api/games/1", () -> "first" + executions.incrementAndGet());
+        String second = singleFlight.execute("api/games/1", () -> "second" + executions.incrementAndGet());
+
+        assertEquals("second2", second);
+        assertEquals(2, executions.get());
+        assertEquals(0, coalesced.count());
+    }
+
+    @Test
+    void execute_DifferentKeys_AreNotCoalesced() {
+        assertEquals("a", singleFlight.execute("api/games/1", () -> "a"));
+        assertEquals("b", singleFlight.execute("api/games/2", () -> "b"));
+        assertEquals(0, coalesced.count());
+    }
+
+    private void waitForCoalescedCalls(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced.count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}